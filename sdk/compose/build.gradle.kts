@@ -35,7 +35,7 @@ android {
         minSdk = minSdkVersionLocal
         targetSdk = targetSdkVersionLocal
 
-        gradle.projectsEvaluated { project.tasks.preBuild.dependsOn("setVersionProperties") }
+        gradle.projectsEvaluated { project.tasks.preBuild.dependsOn("generateModuleInfo") }
     }
 
     buildFeatures {
@@ -74,12 +74,27 @@ dependencies {
     api("androidx.compose.ui:ui:1.6.8")
 }
 
-private val propertiesFileName = "src/main/assets/com/ownid/sdk/compose.properties"
-tasks.clean { doFirst { File(projectDir, propertiesFileName).apply { if (exists() && isFile) delete() } } }
-tasks.register<WriteProperties>("setVersionProperties") {
-    destinationFile = File(propertiesFileName)
-    property("name", "OwnIDCompose")
-    property("version", version as String)
+private val moduleInfoDir = layout.buildDirectory.dir("generated/source/moduleInfo/main")
+android.sourceSets.getByName("main").java.srcDir(moduleInfoDir)
+tasks.register("generateModuleInfo") {
+    val moduleName = "OwnIDCompose"
+    val moduleVersion = version as String
+    inputs.property("name", moduleName)
+    inputs.property("version", moduleVersion)
+    outputs.dir(moduleInfoDir)
+    doLast {
+        moduleInfoDir.get().file("com/ownid/sdk/internal/module/OwnIdComposeModule.kt").asFile.apply { parentFile.mkdirs() }.writeText(
+            """
+            |// Generated by generateModuleInfo task. Do not edit.
+            |package com.ownid.sdk.internal.module
+            |
+            |internal object OwnIdComposeModule {
+            |    internal const val NAME: String = "$moduleName"
+            |    internal const val VERSION: String = "$moduleVersion"
+            |}
+            |""".trimMargin()
+        )
+    }
 }
 
 mavenPublishing {
@@ -17,7 +17,7 @@ android {
         minSdk = rootProject.extra["minSdkVersion"] as Int
         targetSdk = rootProject.extra["targetSdkVersion"] as Int
 
-        gradle.projectsEvaluated { project.tasks.preBuild.dependsOn("setVersionProperties") }
+        gradle.projectsEvaluated { project.tasks.preBuild.dependsOn("generateModuleInfo") }
 
         consumerProguardFiles("consumer-rules.pro")
     }
@@ -58,6 +58,7 @@ dependencies {
     api("com.squareup.okio:okio:3.4.0")
     api("com.squareup.okhttp3:okhttp:4.11.0")
     api("androidx.datastore:datastore-preferences:1.0.0")
+    api("androidx.startup:startup-runtime:1.1.1")
 
     api("androidx.credentials:credentials:1.3.0")
     api("androidx.credentials:credentials-play-services-auth:1.3.0")
@@ -75,12 +76,27 @@ dependencies {
     testImplementation("org.jetbrains.kotlinx:kotlinx-coroutines-test:1.7.1")
 }
 
-private val propertiesFileName = "src/main/assets/com/ownid/sdk/core.properties"
-tasks.clean { doFirst { File(projectDir, propertiesFileName).apply { if (exists() && isFile) delete() } } }
-tasks.register<WriteProperties>("setVersionProperties") {
-    destinationFile = File(propertiesFileName)
-    property("name", "OwnIDCore")
-    property("version", rootProject.extra["coreVersion"] as String)
+private val moduleInfoDir = layout.buildDirectory.dir("generated/source/moduleInfo/main")
+android.sourceSets.getByName("main").java.srcDir(moduleInfoDir)
+tasks.register("generateModuleInfo") {
+    val moduleName = "OwnIDCore"
+    val moduleVersion = rootProject.extra["coreVersion"] as String
+    inputs.property("name", moduleName)
+    inputs.property("version", moduleVersion)
+    outputs.dir(moduleInfoDir)
+    doLast {
+        moduleInfoDir.get().file("com/ownid/sdk/internal/module/OwnIdCoreModule.kt").asFile.apply { parentFile.mkdirs() }.writeText(
+            """
+            |// Generated by generateModuleInfo task. Do not edit.
+            |package com.ownid.sdk.internal.module
+            |
+            |internal object OwnIdCoreModule {
+            |    internal const val NAME: String = "$moduleName"
+            |    internal const val VERSION: String = "$moduleVersion"
+            |}
+            |""".trimMargin()
+        )
+    }
 }
 
 mavenPublishing {
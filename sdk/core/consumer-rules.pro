@@ -1 +1,3 @@
--keepnames class com.ownid.sdk.** { *; }
\ No newline at end of file
+-keepnames class com.ownid.sdk.** { *; }
+# Module versions are looked up by class name
+-keep class com.ownid.sdk.internal.module.** { public static final java.lang.String NAME; public static final java.lang.String VERSION; }
@@ -10,6 +10,8 @@ import com.ownid.sdk.Configuration.Companion.createFromAssetFile
 import com.ownid.sdk.Configuration.Companion.createFromJson
 import com.ownid.sdk.internal.asHexUpper
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import com.ownid.sdk.internal.component.OwnIdModules
+import com.ownid.sdk.internal.component.OwnIdStartupSnapshot
 import com.ownid.sdk.internal.component.config.OwnIdServerConfiguration
 import com.ownid.sdk.internal.feature.nativeflow.steps.webapp.OwnIdWebAppActivity
 import com.ownid.sdk.internal.toSHA256Bytes
@@ -17,7 +19,6 @@ import okhttp3.HttpUrl
 import okhttp3.HttpUrl.Companion.toHttpUrl
 import org.json.JSONException
 import org.json.JSONObject
-import java.util.Properties
 
 /**
  * Class-holder for OwnID configuration parameters. Use [createFromAssetFile] or [createFromJson] methods to create instance.
@@ -29,7 +30,11 @@ import java.util.Properties
  *  "region": "US", // optional: "us", "eu". Any other value or no value (default) - us
  *  "redirectUrl": "com.ownid.demo:/",  // optional. No value (default) - ${packageName}://ownid/redirect/
  *  "enableLogging": false, // optional, No value (default) - false
- *  "rootUrl": "https://custom.root.url.com" // optional, No value (default)
+ *  "rootUrl": "https://custom.root.url.com", // optional, No value (default)
+ *  "cacheSizeMb": 10, // optional, No value (default) - 10
+ *  "maxLoginIds": 20, // optional, No value (default) - 20
+ *  "prefetchFlow": false, // optional, No value (default) - false
+ *  "prewarmWebView": false // optional, No value (default) - false
  * }
  *```
  *
@@ -42,6 +47,10 @@ import java.util.Properties
  * @param packageName       Name of application's package that runs OwnID SDK.
  * @param certificateHashes Set of certificates SHA256 and SHA1 hashes that used to sign application that runs OwnID SDK.
  * @param rootUrl           Custom root URL for OwnID servers.
+ * @param cacheSize         Disk space in bytes shared by all OwnID SDK caches.
+ * @param maxLoginIds       Maximum number of login IDs which data is stored on device. Least recently used are removed first.
+ * @param prefetchFlow      Start OwnID flow in background when login ID in OwnID widget becomes valid.
+ * @param prewarmWebView    Prepare WebView for OwnID Elite flow when application main thread is idle.
  */
 public class Configuration @VisibleForTesting @InternalOwnIdAPI constructor(
     @JvmField public val appId: String,
@@ -52,7 +61,11 @@ public class Configuration @VisibleForTesting @InternalOwnIdAPI constructor(
     @JvmField public val userAgent: String,
     @JvmField public val packageName: String,
     @JvmField public val certificateHashes: Set<String>,
-    @JvmField public val rootUrl: HttpUrl? = null
+    @JvmField public val rootUrl: HttpUrl? = null,
+    @JvmField public val cacheSize: Long = DEFAULT_CACHE_SIZE,
+    @JvmField public val maxLoginIds: Int = DEFAULT_MAX_LOGIN_IDS,
+    @JvmField public val prefetchFlow: Boolean = false,
+    @JvmField public val prewarmWebView: Boolean = false
 ) {
 
     /**
@@ -65,6 +78,10 @@ public class Configuration @VisibleForTesting @InternalOwnIdAPI constructor(
      * - ```"redirectUrlAndroid"```: an [Uri] to be used as redirection back from Custom Tab (or standalone Browser). Overrides ```"redirectUrl"``` parameter.
      * - ```"enableLogging"```: Enabled OwnID SDK logs
      * - ```"rootUrl"```: Custom root URL for OwnID servers.
+     * - ```"cacheSizeMb"```: Disk space in megabytes shared by all OwnID SDK caches.
+     * - ```"maxLoginIds"```: Maximum number of login IDs which data is stored on device.
+     * - ```"prefetchFlow"```: Start OwnID flow in background when login ID in OwnID widget becomes valid.
+     * - ```"prewarmWebView"```: Prepare WebView for OwnID Elite flow when application main thread is idle.
      */
     public object KEY {
         public const val APP_ID: String = "appId"
@@ -74,6 +91,10 @@ public class Configuration @VisibleForTesting @InternalOwnIdAPI constructor(
         public const val REDIRECT_URL_ANDROID: String = "redirectUrlAndroid"
         public const val ENABLE_LOGGING: String = "enableLogging"
         public const val ROOT_URL: String = "rootUrl"
+        public const val CACHE_SIZE_MB: String = "cacheSizeMb"
+        public const val MAX_LOGIN_IDS: String = "maxLoginIds"
+        public const val PREFETCH_FLOW: String = "prefetchFlow"
+        public const val PREWARM_WEB_VIEW: String = "prewarmWebView"
     }
 
     @JvmSynthetic
@@ -164,7 +185,11 @@ public class Configuration @VisibleForTesting @InternalOwnIdAPI constructor(
          *  "region": "us", // optional: "us", "eu". Any other value or no value (default) - us
          *  "redirectUrl": "com.ownid.demo:/",  // optional. No value (default) - ${packageName}://ownid/redirect/
          *  "enableLogging": false, // optional, No value (default) - false
-         *  "rootUrl": "https://custom.root.url.com" // optional, No value (default)
+         *  "rootUrl": "https://custom.root.url.com", // optional, No value (default)
+         *  "cacheSizeMb": 10, // optional, No value (default) - 10
+         *  "maxLoginIds": 20, // optional, No value (default) - 20
+         *  "prefetchFlow": false, // optional, No value (default) - false
+ *  "prewarmWebView": false // optional, No value (default) - false
          * }
          *```
          * @param context                   Android [Context]
@@ -192,7 +217,11 @@ public class Configuration @VisibleForTesting @InternalOwnIdAPI constructor(
          *  "region": "us", // optional: "us", "eu". Any other value or no value (default) - us
          *  "redirectUrl": "com.ownid.demo:/",  // optional. No value (default) - ${packageName}://ownid/redirect/
          *  "enableLogging": false, // optional, No value (default) - false
-         *  "rootUrl": "https://custom.root.url.com" // optional, No value (default)
+         *  "rootUrl": "https://custom.root.url.com", // optional, No value (default)
+         *  "cacheSizeMb": 10, // optional, No value (default) - 10
+         *  "maxLoginIds": 20, // optional, No value (default) - 20
+         *  "prefetchFlow": false, // optional, No value (default) - false
+ *  "prewarmWebView": false // optional, No value (default) - false
          * }
          *```
          * @param context               Android [Context]
@@ -209,7 +238,11 @@ public class Configuration @VisibleForTesting @InternalOwnIdAPI constructor(
             return JSONObject(configJsonString).toConfiguration(product, context.applicationContext)
         }
 
-        private const val VERSIONS_PATH = "com/ownid/sdk"
+        /** Default disk space in bytes shared by all OwnID SDK caches. */
+        public const val DEFAULT_CACHE_SIZE: Long = 10L * 1024L * 1024L
+
+        /** Default maximum number of login IDs which data is stored on device. */
+        public const val DEFAULT_MAX_LOGIN_IDS: Int = 20
 
         @InternalOwnIdAPI
         private fun JSONObject.toConfiguration(product: String, context: Context): Configuration {
@@ -239,7 +272,7 @@ public class Configuration @VisibleForTesting @InternalOwnIdAPI constructor(
                 Uri.EMPTY
             }
 
-            val productModules = getVersionsFromAssets(context)
+            val productModules = getModuleVersions()
             val userAgent = createUserAgent(product, productModules, context.packageName)
             val version = productModules.joinToString(separator = " ") { "${it.first}/${it.second}" }.trim()
 
@@ -251,6 +284,20 @@ public class Configuration @VisibleForTesting @InternalOwnIdAPI constructor(
                 OwnIdInternalLogger.logI(this@Companion, "Configuration", "Using custom root URL for OwnID servers: $rootUrl")
             }
 
+            val cacheSize = if (has(KEY.CACHE_SIZE_MB)) {
+                val cacheSizeMb = getInt(KEY.CACHE_SIZE_MB)
+                require(cacheSizeMb > 0) { "Wrong 'cacheSizeMb' value:'$cacheSizeMb'" }
+                cacheSizeMb * 1024L * 1024L
+            } else {
+                DEFAULT_CACHE_SIZE
+            }
+
+            val maxLoginIds = if (has(KEY.MAX_LOGIN_IDS)) {
+                getInt(KEY.MAX_LOGIN_IDS).also { require(it > 0) { "Wrong 'maxLoginIds' value:'$it'" } }
+            } else {
+                DEFAULT_MAX_LOGIN_IDS
+            }
+
             return Configuration(
                 appId,
                 env,
@@ -258,8 +305,12 @@ public class Configuration @VisibleForTesting @InternalOwnIdAPI constructor(
                 redirectUri.toString(),
                 version, userAgent,
                 context.packageName,
-                getCertificateHashes(context),
-                rootUrl
+                OwnIdStartupSnapshot.get(context).certificateHashes,
+                rootUrl,
+                cacheSize,
+                maxLoginIds,
+                optBoolean(KEY.PREFETCH_FLOW),
+                optBoolean(KEY.PREWARM_WEB_VIEW)
             )
         }
 
@@ -276,12 +327,7 @@ public class Configuration @VisibleForTesting @InternalOwnIdAPI constructor(
 
         @InternalOwnIdAPI
         @VisibleForTesting
-        internal fun getVersionsFromAssets(context: Context): List<Pair<String, String>> {
-            return context.assets.list(VERSIONS_PATH)?.map { fileName ->
-                val properties = context.assets.open("${VERSIONS_PATH}/$fileName").use { Properties().apply { load(it) } }
-                Pair(properties.getProperty("name"), properties.getProperty("version"))
-            } ?: throw IllegalArgumentException("No property files found in assets folder '${VERSIONS_PATH}'.")
-        }
+        internal fun getModuleVersions(): List<Pair<String, String>> = OwnIdModules.getModuleVersions()
 
         @InternalOwnIdAPI
         private fun createUserAgent(
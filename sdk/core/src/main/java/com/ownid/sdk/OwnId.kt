@@ -4,7 +4,15 @@ import android.content.Context
 import androidx.annotation.GuardedBy
 import androidx.annotation.MainThread
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import com.ownid.sdk.internal.component.OwnIdWarmUp
 import com.ownid.sdk.internal.feature.webbridge.OwnIdWebViewBridgeImpl
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.withContext
 import org.json.JSONException
 
 /**
@@ -22,6 +30,12 @@ public object OwnId {
     @GuardedBy("instanceLock")
     private val INSTANCES: MutableMap<InstanceName, OwnIdInstance> = HashMap()
 
+    @JvmStatic
+    @GuardedBy("instanceLock")
+    private val PENDING_INSTANCES: MutableMap<InstanceName, OwnIdInstanceHandle<*>> = HashMap()
+
+    private val instanceCreationScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
     @InternalOwnIdAPI
     public val providersLock: Any = Any()
 
@@ -35,8 +49,34 @@ public object OwnId {
 
     @JvmStatic
     @OptIn(InternalOwnIdAPI::class)
-    public fun putInstance(ownIdInstance: OwnIdInstance): Unit =
+    public fun putInstance(ownIdInstance: OwnIdInstance) {
         synchronized(instanceLock) { INSTANCES[ownIdInstance.ownIdCore.instanceName] = ownIdInstance }
+        (ownIdInstance.ownIdCore as? OwnIdCoreImpl)?.let { OwnIdWarmUp.onInstanceCreated(it) }
+    }
+
+    /**
+     * Closes OwnID instance and removes it, so a new instance with the same [instanceName] can be created.
+     * Releases threads, network connections, caches and receivers held by the instance. See [OwnIdCore.close].
+     *
+     * Must be called on Android Main thread.
+     *
+     * @param instanceName  An optional [InstanceName] of OwnID. Default: [InstanceName.DEFAULT].
+     *
+     * @return `true` if instance was found and closed, `false` otherwise.
+     */
+    @JvmStatic
+    @JvmOverloads
+    @MainThread
+    @OptIn(InternalOwnIdAPI::class)
+    public fun closeInstance(instanceName: InstanceName = InstanceName.DEFAULT): Boolean {
+        val ownIdInstance = synchronized(instanceLock) { INSTANCES.remove(instanceName) } ?: return false
+        runCatching { ownIdInstance.ownIdCore.close() }
+            .onFailure { OwnIdInternalLogger.logW(this, "closeInstance", "Failed to close [$instanceName]: ${it.message}", it) }
+        return true
+    }
+
+    @JvmSynthetic
+    internal fun getInstances(): List<OwnIdInstance> = synchronized(instanceLock) { INSTANCES.values.toList() }
 
     @Deprecated("Deprecated since 3.4.0", ReplaceWith("OwnId.instance"))
     @JvmStatic
@@ -172,6 +212,77 @@ public object OwnId {
         }
     }
 
+    /**
+     * Starts creation of an instance of OwnID in background and returns [OwnIdInstanceHandle] immediately.
+     *
+     * Configuration parsing and OwnID components creation are done on background thread.
+     * Only [ownIdInstance] is called on Android Main thread.
+     *
+     * If an instance for [instanceName] already exist or is being created, its handle will be returned without creation of a new one.
+     *
+     * Can be called on any thread.
+     *
+     * @param context                       Android [Context].
+     * @param productName                   An SDK [ProductName].
+     * @param instanceName                  An [InstanceName] of OwnID.
+     * @param configuration                 A function that creates [Configuration]. Called on background thread.
+     * @param ownIdInstance                 A function that creates an instance of OwnID with optional [OwnIdIntegration] component.
+     *
+     * @return [OwnIdInstanceHandle] for the instance.
+     */
+    @JvmStatic
+    @InternalOwnIdAPI
+    @Suppress("UNCHECKED_CAST")
+    public fun <T : OwnIdInstance> createAsync(
+        context: Context,
+        productName: ProductName,
+        instanceName: InstanceName,
+        configuration: (Context) -> Configuration,
+        ownIdInstance: (OwnIdCore) -> T
+    ): OwnIdInstanceHandle<T> = synchronized(instanceLock) {
+
+        getInstanceOrNull<T>(instanceName)?.let { return@synchronized OwnIdInstanceHandle(instanceName, CompletableDeferred(it)) }
+
+        PENDING_INSTANCES[instanceName]?.let { return@synchronized it as OwnIdInstanceHandle<T> }
+
+        val appContext = context.applicationContext
+        val deferred = instanceCreationScope.async {
+            // Set until the instance is published, closed if creation fails, is canceled or loses to another instance
+            var pendingCore: OwnIdCoreImpl? = null
+            try {
+                val ownIdCore = OwnIdCoreImpl.create(appContext, instanceName, configuration.invoke(appContext))
+                pendingCore = ownIdCore
+
+                withContext(Dispatchers.Main) {
+                    synchronized(instanceLock) {
+                        INSTANCES[instanceName]?.let { existing ->
+                            // New core has replaced logger events service, restore the one of existing instance
+                            (existing.ownIdCore as? OwnIdCoreImpl)?.let { OwnIdInternalLogger.init(instanceName, it.eventsService) }
+                            OwnIdInternalLogger.logI(this@OwnId, "createAsync", "Instance already exists [$instanceName]")
+                            return@synchronized existing as T
+                        }
+                        ownIdCore.start(appContext)
+                        ownIdInstance.invoke(ownIdCore).also {
+                            OwnIdInternalLogger.logI(this@OwnId, "createAsync", "Instance created ($productName) || ${ownIdCore.configuration.userAgent}")
+                            putInstance(it)
+                            pendingCore = null
+                        }
+                    }
+                }
+            } finally {
+                synchronized(instanceLock) { PENDING_INSTANCES.remove(instanceName) }
+                pendingCore?.let { ownIdCore ->
+                    withContext(NonCancellable + Dispatchers.Main) {
+                        runCatching { ownIdCore.close() }
+                            .onFailure { OwnIdInternalLogger.logW(this@OwnId, "createAsync", "Failed to close [$instanceName]: ${it.message}", it) }
+                    }
+                }
+            }
+        }
+
+        OwnIdInstanceHandle(instanceName, deferred).also { PENDING_INSTANCES[instanceName] = it }
+    }
+
     /**
      * Creates an instance of OwnID with optional [OwnIdIntegration] component.
      *
@@ -244,6 +355,82 @@ public object OwnId {
         }
     }
 
+    /**
+     * Starts creation of an instance of OwnID with optional [OwnIdIntegration] component in background
+     * and returns [OwnIdInstanceHandle] immediately. Use [OwnIdInstanceHandle.await] to get created instance.
+     *
+     * If an instance for [instanceName] already exist or is being created, its handle will be returned without creation of a new one.
+     *
+     * Can be called on any thread. [ownIdIntegration] is called on Android Main thread.
+     *
+     * @param context                       Android [Context].
+     * @param configurationAssetFileName    Asset file name with [Configuration] in JSON format.
+     * @param productName                   An SDK [ProductName].
+     * @param instanceName                  An optional [InstanceName] of OwnID. Default: [InstanceName.DEFAULT].
+     * @param ownIdIntegration              An optional function that creates an instance of [OwnIdIntegration] component.
+     *
+     * @return [OwnIdInstanceHandle] for the instance.
+     */
+    @JvmStatic
+    @JvmOverloads
+    @OptIn(InternalOwnIdAPI::class)
+    public fun createInstanceFromFileAsync(
+        context: Context,
+        configurationAssetFileName: String,
+        productName: ProductName,
+        instanceName: InstanceName = InstanceName.DEFAULT,
+        ownIdIntegration: ((OwnIdCore) -> OwnIdIntegration)? = null
+    ): OwnIdInstanceHandle<OwnIdInstance> = createAsync(context, productName, instanceName, configuration = { appContext ->
+        try {
+            Configuration.createFromAssetFile(appContext, configurationAssetFileName, productName)
+        } catch (cause: JSONException) {
+            throw IllegalArgumentException("Json parsing error in: $configurationAssetFileName", cause)
+        }
+    }) { ownIdCore ->
+        object : OwnIdInstance {
+            override val ownIdCore: OwnIdCore = ownIdCore
+            override val ownIdIntegration: OwnIdIntegration? = ownIdIntegration?.invoke(ownIdCore)
+        }
+    }
+
+    /**
+     * Starts creation of an instance of OwnID with optional [OwnIdIntegration] component in background
+     * and returns [OwnIdInstanceHandle] immediately. Use [OwnIdInstanceHandle.await] to get created instance.
+     *
+     * If an instance for [instanceName] already exist or is being created, its handle will be returned without creation of a new one.
+     *
+     * Can be called on any thread. [ownIdIntegration] is called on Android Main thread.
+     *
+     * @param context                       Android [Context].
+     * @param configurationJson             String with [Configuration] in JSON format.
+     * @param productName                   An SDK [ProductName].
+     * @param instanceName                  An optional [InstanceName] of OwnID. Default: [InstanceName.DEFAULT].
+     * @param ownIdIntegration              An optional function that creates an instance of [OwnIdIntegration] component.
+     *
+     * @return [OwnIdInstanceHandle] for the instance.
+     */
+    @JvmStatic
+    @JvmOverloads
+    @OptIn(InternalOwnIdAPI::class)
+    public fun createInstanceFromJsonAsync(
+        context: Context,
+        configurationJson: String,
+        productName: ProductName,
+        instanceName: InstanceName = InstanceName.DEFAULT,
+        ownIdIntegration: ((OwnIdCore) -> OwnIdIntegration)? = null
+    ): OwnIdInstanceHandle<OwnIdInstance> = createAsync(context, productName, instanceName, configuration = { appContext ->
+        try {
+            Configuration.createFromJson(appContext, configurationJson, productName)
+        } catch (cause: JSONException) {
+            throw IllegalArgumentException("Json parsing error", cause)
+        }
+    }) { ownIdCore ->
+        object : OwnIdInstance {
+            override val ownIdCore: OwnIdCore = ownIdCore
+            override val ownIdIntegration: OwnIdIntegration? = ownIdIntegration?.invoke(ownIdCore)
+        }
+    }
+
     /**
      * Creates a new instance of [OwnIdWebViewBridge]. Ensure an OwnID instance is created before calling this function.
      *
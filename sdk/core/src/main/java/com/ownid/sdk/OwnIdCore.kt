@@ -4,8 +4,11 @@ import kotlin.random.Random
 
 /**
  * Contains common functionality and key components of OwnID SDK that are independent of specific integration.
+ *
+ * Closing an instance releases its threads, network connections, caches and receivers. Use [OwnId.closeInstance] to close
+ * an instance and remove it from [OwnId].
  */
-public interface OwnIdCore {
+public interface OwnIdCore : AutoCloseable {
 
     @InternalOwnIdAPI
     public companion object {
@@ -58,4 +61,11 @@ public interface OwnIdCore {
         val password = passwordRegular.plus(passwordCapitalised).plus(passwordNumbers).plus(passwordSpecial)
         return password.apply { shuffle() }.concatToString()
     }
+
+    /**
+     * Releases resources held by this instance. Instance must not be used after it is closed.
+     *
+     * Must be called on Android Main thread.
+     */
+    override fun close() {}
 }
\ No newline at end of file
@@ -4,12 +4,19 @@ import android.content.Context
 import android.os.Looper
 import androidx.annotation.MainThread
 import androidx.annotation.RestrictTo
+import androidx.annotation.WorkerThread
 import com.ownid.sdk.internal.component.DeviceSecurityStatus
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import com.ownid.sdk.internal.component.OwnIdWarmUp
+import com.ownid.sdk.internal.component.cache.OwnIdCacheBudget
+import com.ownid.sdk.internal.component.credential.OwnIdCredentialService
 import com.ownid.sdk.internal.component.config.OwnIdConfigurationService
 import com.ownid.sdk.internal.component.events.OwnIdInternalEventsService
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleService
 import com.ownid.sdk.internal.component.repository.OwnIdRepositoryService
+import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowPrefetch
+import com.ownid.sdk.internal.feature.webflow.OwnIdFlowResourceLoader
+import com.ownid.sdk.internal.feature.webflow.OwnIdFlowWebViewPool
 import com.ownid.sdk.provider.OwnIdNetworkLogoProvider
 import okhttp3.ConnectionSpec
 import okhttp3.OkHttpClient
@@ -33,12 +40,45 @@ public class OwnIdCoreImpl private constructor(
     @get:JvmSynthetic @property:InternalOwnIdAPI internal val configurationService: OwnIdConfigurationService
 ) : OwnIdCore {
 
+    private val nativeFlowPrefetchLazy = lazy(LazyThreadSafetyMode.NONE) { OwnIdNativeFlowPrefetch(this) }
+
+    @get:JvmSynthetic
+    @property:InternalOwnIdAPI
+    internal val nativeFlowPrefetch: OwnIdNativeFlowPrefetch by nativeFlowPrefetchLazy
+
+    private val credentialServiceLazy = lazy { OwnIdCredentialService(applicationContext, eventsService) }
+
+    @get:JvmSynthetic
+    @property:InternalOwnIdAPI
+    internal val credentialService: OwnIdCredentialService by credentialServiceLazy
+
+    private val webViewPoolLazy = lazy(LazyThreadSafetyMode.NONE) { OwnIdFlowWebViewPool(this) }
+
+    @get:JvmSynthetic
+    @property:InternalOwnIdAPI
+    internal val webViewPool: OwnIdFlowWebViewPool by webViewPoolLazy
+
+    private val flowResourceLoaderLazy = lazy { OwnIdFlowResourceLoader(applicationContext, configuration, okHttpClient) }
+
+    @get:JvmSynthetic
+    @property:InternalOwnIdAPI
+    internal val flowResourceLoader: OwnIdFlowResourceLoader by flowResourceLoaderLazy
+
     public companion object {
         @MainThread
         @Throws(IllegalStateException::class)
         public fun createInstance(context: Context, instanceName: InstanceName, configuration: Configuration): OwnIdCoreImpl {
             check(Looper.getMainLooper().isCurrentThread) { "OwnID instance must be created on Android main thread" }
+            return create(context, instanceName, configuration).apply { start(context) }
+        }
 
+        /**
+         * Creates all components of OwnID SDK. Does not require Android main thread.
+         * Call [start] on Android main thread, once the core is used by an instance, to install providers and request server configuration.
+         */
+        @WorkerThread
+        @JvmSynthetic
+        internal fun create(context: Context, instanceName: InstanceName, configuration: Configuration): OwnIdCoreImpl {
             val correlationId: String = UUID.randomUUID().toString()
 
             val okHttpClient = OkHttpClient.Builder()
@@ -48,24 +88,20 @@ public class OwnIdCoreImpl private constructor(
                 .callTimeout(30, TimeUnit.SECONDS)
                 .build()
 
-            val deviceSecurityStatus = DeviceSecurityStatus.create(context)?.asJson()
+            val deviceSecurityStatus = lazy { DeviceSecurityStatus.create(context)?.asJson() }
             val eventsService = OwnIdInternalEventsService(configuration, correlationId, deviceSecurityStatus, okHttpClient)
 
             OwnIdInternalLogger.init(instanceName, eventsService)
 
             val appContext = context.applicationContext
 
-            val localeService = OwnIdLocaleService(appContext, configuration, okHttpClient)
+            OwnIdCacheBudget.configure(appContext.cacheDir, configuration.cacheSize)
 
-            val repository = OwnIdRepositoryService.create(appContext, configuration.appId)
+            val localeService = OwnIdLocaleService(appContext, configuration, okHttpClient)
 
-            OwnId.providers = OwnId.providers.copy(logo = OwnIdNetworkLogoProvider(appContext))
+            val repository = OwnIdRepositoryService.create(appContext, configuration.appId, configuration.maxLoginIds)
 
             val configurationService = OwnIdConfigurationService(configuration, localeService, appContext, okHttpClient)
-            configurationService.ensureConfigurationSet {
-                localeService.updateCurrentOwnIdLocale(context)
-                onSuccess { OwnId.providers.logo?.getLogo(appContext, configuration.server.logoUrl) }
-            }
 
             return OwnIdCoreImpl(
                 instanceName,
@@ -80,4 +116,37 @@ public class OwnIdCoreImpl private constructor(
             )
         }
     }
+
+    @MainThread
+    @JvmSynthetic
+    internal fun start(context: Context) {
+        // Global providers are replaced only by a core that becomes an instance, not by one that loses creation race or is canceled
+        OwnId.providers = OwnId.providers.copy(logo = OwnIdNetworkLogoProvider(applicationContext))
+
+        configurationService.ensureConfigurationSet {
+            localeService.updateCurrentOwnIdLocale(context)
+            onSuccess { OwnId.providers.logo?.getLogo(applicationContext, configuration.server.logoUrl) }
+        }
+    }
+
+    /**
+     * Cancels running requests, stops network and events threads, closes caches and unregisters receivers.
+     * Cached data stays on disk and is used by next instance.
+     */
+    @MainThread
+    override fun close() {
+        OwnIdInternalLogger.logI(this, "close", "Closing instance: $instanceName")
+        OwnIdWarmUp.onInstanceClosed(instanceName)
+        if (nativeFlowPrefetchLazy.isInitialized()) nativeFlowPrefetch.close()
+        if (credentialServiceLazy.isInitialized()) credentialService.close()
+        if (webViewPoolLazy.isInitialized()) webViewPool.close()
+        if (flowResourceLoaderLazy.isInitialized()) flowResourceLoader.close()
+        localeService.close()
+        configurationService.close()
+        repository.close()
+        eventsService.close()
+        okHttpClient.dispatcher.cancelAll()
+        okHttpClient.dispatcher.executorService.shutdown()
+        okHttpClient.connectionPool.evictAll()
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.ownid.sdk
+
+import androidx.annotation.WorkerThread
+import com.ownid.sdk.internal.component.cache.OwnIdCacheRegistry
+
+/**
+ * Diagnostics data of OwnID SDK.
+ *
+ * Intended to help tune OwnID SDK behavior with data from real devices.
+ */
+public object OwnIdDiagnostics {
+
+    /**
+     * Statistics of a single OwnID SDK disk cache.
+     *
+     * @property name               Name of the cache directory.
+     * @property hitCount           Number of requests served from the cache.
+     * @property missCount          Number of requests that were not found in the cache.
+     * @property evictionCount      Number of entries evicted to keep the cache within its size limit, or `-1` if not tracked.
+     * @property sizeBytes          Current size of the cache in bytes, or `-1` if not available.
+     * @property maxSizeBytes       Size limit of the cache in bytes.
+     * @property openLatencyMillis  Time it took to open the cache in milliseconds, or `-1` if the cache is not opened yet.
+     */
+    public class CacheStats internal constructor(
+        public val name: String,
+        public val hitCount: Long,
+        public val missCount: Long,
+        public val evictionCount: Long,
+        public val sizeBytes: Long,
+        public val maxSizeBytes: Long,
+        public val openLatencyMillis: Long
+    ) {
+        /**
+         * Ratio of [hitCount] to all requests, or `0.0` if there were no requests.
+         */
+        public val hitRate: Double
+            get() = if (hitCount + missCount == 0L) 0.0 else hitCount.toDouble() / (hitCount + missCount)
+
+        override fun toString(): String =
+            "CacheStats(name='$name', hitCount=$hitCount, missCount=$missCount, evictionCount=$evictionCount, " +
+                    "sizeBytes=$sizeBytes, maxSizeBytes=$maxSizeBytes, openLatencyMillis=$openLatencyMillis)"
+    }
+
+    /**
+     * Returns statistics for all disk caches used by OwnID SDK.
+     *
+     * Reads cache state from disk, must not be called on Android Main thread.
+     */
+    @JvmStatic
+    @WorkerThread
+    @OptIn(InternalOwnIdAPI::class)
+    public fun getCacheStats(): List<CacheStats> = OwnIdCacheRegistry.getCacheStats()
+}
@@ -0,0 +1,37 @@
+package com.ownid.sdk
+
+import android.content.Context
+import androidx.startup.Initializer
+import com.ownid.sdk.internal.component.OwnIdWarmUp
+
+/**
+ * Optional [Initializer] that warms up OwnID instances when Android main thread is idle, so it never competes with application
+ * first frame. For each instance, server configuration is fetched, locales are prefetched and connection to OwnID server is opened,
+ * one step per idle pass.
+ *
+ * Application still creates OwnID instance as usual, preferably with [OwnId.createInstanceFromFileAsync]. Instances created
+ * before and after this initializer runs are warmed up.
+ *
+ * Not enabled by default. To enable, add to application `AndroidManifest.xml`:
+ * ```
+ * <provider
+ *     android:name="androidx.startup.InitializationProvider"
+ *     android:authorities="${applicationId}.androidx-startup"
+ *     android:exported="false"
+ *     tools:node="merge">
+ *     <meta-data
+ *         android:name="com.ownid.sdk.OwnIdInitializer"
+ *         android:value="androidx.startup" />
+ * </provider>
+ * ```
+ * or call `AppInitializer.getInstance(context).initializeComponent(OwnIdInitializer::class.java)`.
+ */
+public class OwnIdInitializer : Initializer<Unit> {
+
+    @OptIn(InternalOwnIdAPI::class)
+    override fun create(context: Context) {
+        OwnIdWarmUp.enable(OwnId.getInstances().mapNotNull { it.ownIdCore as? OwnIdCoreImpl })
+    }
+
+    override fun dependencies(): List<Class<out Initializer<*>>> = emptyList()
+}
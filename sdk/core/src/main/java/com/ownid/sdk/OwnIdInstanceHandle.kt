@@ -0,0 +1,53 @@
+package com.ownid.sdk
+
+import androidx.annotation.MainThread
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.launch
+
+/**
+ * Handle to OwnID instance that is created in background by [OwnId.createInstanceFromFileAsync] or [OwnId.createInstanceFromJsonAsync].
+ *
+ * Once instance is created, it is also available with [OwnId.instance].
+ *
+ * @param instanceName  An [InstanceName] of OwnID instance.
+ */
+public class OwnIdInstanceHandle<T : OwnIdInstance> internal constructor(
+    public val instanceName: InstanceName,
+    private val deferred: Deferred<T>
+) {
+
+    /**
+     * `true` if instance creation is completed successfully or with error.
+     */
+    public val isCompleted: Boolean
+        get() = deferred.isCompleted
+
+    /**
+     * Suspends until OwnID instance is created.
+     *
+     * @throws IllegalArgumentException On JSON parsing error or required parameters are empty, blank or contain wrong data.
+     *
+     * @return [OwnIdInstance] instance.
+     */
+    @Throws(IllegalArgumentException::class)
+    public suspend fun await(): T = deferred.await()
+
+    /**
+     * Cancels instance creation if it is not completed yet. Instance that is already created is not affected.
+     * After cancellation [await] throws [kotlinx.coroutines.CancellationException].
+     */
+    public fun cancel() {
+        deferred.cancel()
+    }
+
+    /**
+     * Sets [callback] to be called on Android Main thread with created OwnID instance or creation error.
+     * If instance is already created, [callback] is called immediately.
+     */
+    @MainThread
+    public fun onCreated(callback: OwnIdCallback<T>) {
+        CoroutineScope(Dispatchers.Main.immediate).launch { callback(runCatching { deferred.await() }) }
+    }
+}
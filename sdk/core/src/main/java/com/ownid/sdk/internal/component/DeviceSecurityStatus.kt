@@ -8,6 +8,7 @@ import android.hardware.biometrics.BiometricManager
 import android.os.Build
 import androidx.annotation.RequiresApi
 import androidx.annotation.RequiresPermission
+import com.ownid.sdk.InternalOwnIdAPI
 import org.json.JSONObject
 
 internal class DeviceSecurityStatus private constructor(
@@ -19,12 +20,17 @@ internal class DeviceSecurityStatus private constructor(
 ) {
 
     companion object {
+        /**
+         * Hardware presence is taken from [OwnIdStartupSnapshot], only user settings dependent values are queried.
+         */
+        @OptIn(InternalOwnIdAPI::class)
         internal fun create(context: Context): DeviceSecurityStatus? = runCatching {
+            val startupSnapshot = OwnIdStartupSnapshot.get(context)
             DeviceSecurityStatus(
                 isDeviceSecured = isDeviceSecured(context),
-                isFingerprintHardwarePresent = isFingerprintHardwarePresent(context),
-                isFaceHardwarePresent = isFaceHardwarePresent(context),
-                isIrisHardwarePresent = isIrisHardwarePresent(context),
+                isFingerprintHardwarePresent = startupSnapshot.isFingerprintHardwarePresent,
+                isFaceHardwarePresent = startupSnapshot.isFaceHardwarePresent,
+                isIrisHardwarePresent = startupSnapshot.isIrisHardwarePresent,
                 isStrongBiometricEnabled = isStrongBiometricEnabled(context)
             )
         }.getOrNull()
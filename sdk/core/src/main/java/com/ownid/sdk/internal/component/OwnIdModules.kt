@@ -0,0 +1,33 @@
+package com.ownid.sdk.internal.component
+
+import androidx.annotation.RestrictTo
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.module.OwnIdCoreModule
+
+/**
+ * Names and versions of OwnID SDK modules in the application.
+ *
+ * Each module has `com.ownid.sdk.internal.module.<Module>` object with `NAME` and `VERSION` constants generated
+ * by `generateModuleInfo` Gradle task. Optional modules are looked up by class name.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal object OwnIdModules {
+
+    private val OPTIONAL_MODULES = listOf(
+        "com.ownid.sdk.internal.module.OwnIdGigyaModule",
+        "com.ownid.sdk.internal.module.OwnIdComposeModule"
+    )
+
+    private val moduleVersions: List<Pair<String, String>> by lazy {
+        listOf(OwnIdCoreModule.NAME to OwnIdCoreModule.VERSION) + OPTIONAL_MODULES.mapNotNull { className ->
+            runCatching {
+                val moduleClass = Class.forName(className)
+                moduleClass.getField("NAME").get(null) as String to moduleClass.getField("VERSION").get(null) as String
+            }.getOrNull()
+        }
+    }
+
+    @JvmSynthetic
+    internal fun getModuleVersions(): List<Pair<String, String>> = moduleVersions
+}
@@ -0,0 +1,93 @@
+package com.ownid.sdk.internal.component
+
+import android.content.Context
+import android.os.Build
+import androidx.annotation.RestrictTo
+import androidx.annotation.WorkerThread
+import androidx.core.content.pm.PackageInfoCompat
+import com.ownid.sdk.Configuration
+import com.ownid.sdk.InternalOwnIdAPI
+import org.json.JSONArray
+import org.json.JSONObject
+import java.io.File
+
+/**
+ * Startup values that change only when application or OS is updated: application certificate hashes
+ * and biometric hardware presence.
+ *
+ * Computed once and persisted with a fingerprint of application `versionCode`, `lastUpdateTime` and [Build.FINGERPRINT].
+ * Reused on next starts while fingerprint matches.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdStartupSnapshot private constructor(
+    private val fingerprint: String?,
+    internal val certificateHashes: Set<String>,
+    internal val isFingerprintHardwarePresent: Boolean,
+    internal val isFaceHardwarePresent: Boolean,
+    internal val isIrisHardwarePresent: Boolean
+) {
+
+    internal companion object {
+        private const val FILE_NAME = "ownid_startup_snapshot.json"
+
+        @Volatile
+        private var current: OwnIdStartupSnapshot? = null
+
+        /**
+         * Returns snapshot for current application version. Computes and persists it if there is no valid one.
+         */
+        @WorkerThread
+        @JvmSynthetic
+        internal fun get(context: Context): OwnIdStartupSnapshot {
+            // Application version cannot change while process is running
+            current?.let { return it }
+
+            val fingerprint = runCatching { fingerprint(context) }.getOrNull() ?: return compute(context, null)
+
+            val file = File(context.noBackupFilesDir, FILE_NAME)
+            val snapshot = runCatching { fromJson(JSONObject(file.readText())) }.getOrNull()?.takeIf { it.fingerprint == fingerprint }
+                ?: compute(context, fingerprint).also { snapshot ->
+                    if (snapshot.certificateHashes.isEmpty()) return@also // Retry on next start
+                    runCatching { file.writeText(snapshot.toJson().toString()) }
+                        .onFailure { OwnIdInternalLogger.logW(this, "get", "Failed to save: ${it.message}", it) }
+                }
+
+            return snapshot.also { current = it }
+        }
+
+        private fun fingerprint(context: Context): String {
+            val packageInfo = context.packageManager.getPackageInfo(context.packageName, 0)
+            return "${PackageInfoCompat.getLongVersionCode(packageInfo)}:${packageInfo.lastUpdateTime}:${Build.FINGERPRINT}"
+        }
+
+        private fun compute(context: Context, fingerprint: String?): OwnIdStartupSnapshot {
+            OwnIdInternalLogger.logD(this, "compute", "Invoked")
+            return OwnIdStartupSnapshot(
+                fingerprint,
+                Configuration.getCertificateHashes(context),
+                runCatching { DeviceSecurityStatus.isFingerprintHardwarePresent(context) }.getOrDefault(false),
+                runCatching { DeviceSecurityStatus.isFaceHardwarePresent(context) }.getOrDefault(false),
+                runCatching { DeviceSecurityStatus.isIrisHardwarePresent(context) }.getOrDefault(false)
+            )
+        }
+
+        private fun fromJson(json: JSONObject): OwnIdStartupSnapshot {
+            val hashes = json.getJSONArray("certificateHashes")
+            return OwnIdStartupSnapshot(
+                json.getString("fingerprint"),
+                List(hashes.length()) { hashes.getString(it) }.toSet(),
+                json.getBoolean("isFingerprintHardwarePresent"),
+                json.getBoolean("isFaceHardwarePresent"),
+                json.getBoolean("isIrisHardwarePresent")
+            )
+        }
+    }
+
+    private fun toJson(): JSONObject = JSONObject()
+        .put("fingerprint", fingerprint)
+        .put("certificateHashes", JSONArray(certificateHashes))
+        .put("isFingerprintHardwarePresent", isFingerprintHardwarePresent)
+        .put("isFaceHardwarePresent", isFaceHardwarePresent)
+        .put("isIrisHardwarePresent", isIrisHardwarePresent)
+}
@@ -0,0 +1,106 @@
+package com.ownid.sdk.internal.component
+
+import android.os.Looper
+import android.os.MessageQueue
+import androidx.annotation.MainThread
+import androidx.annotation.RestrictTo
+import androidx.annotation.VisibleForTesting
+import com.ownid.sdk.InstanceName
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnIdCoreImpl
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.Request
+import okhttp3.Response
+import java.io.IOException
+import java.util.Collections
+
+/**
+ * Warms up OwnID instances when Android main thread is idle, one phase per idle pass:
+ * server configuration, locales, connection to OwnID server, WebView for OwnID Elite flow (if enabled).
+ *
+ * Enabled by [com.ownid.sdk.OwnIdInitializer]. Instances created after that are warmed up too.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal object OwnIdWarmUp {
+
+    @Volatile
+    internal var isEnabled: Boolean = false
+        private set
+
+    @VisibleForTesting
+    internal val scheduled: MutableSet<InstanceName> = Collections.synchronizedSet(HashSet())
+
+    @JvmSynthetic
+    internal fun enable(instances: List<OwnIdCoreImpl>) {
+        isEnabled = true
+        instances.forEach { schedule(it) }
+    }
+
+    @JvmSynthetic
+    internal fun onInstanceCreated(ownIdCore: OwnIdCoreImpl) {
+        if (isEnabled) schedule(ownIdCore)
+    }
+
+    @JvmSynthetic
+    internal fun onInstanceClosed(instanceName: InstanceName) {
+        scheduled.remove(instanceName)
+    }
+
+    private fun schedule(ownIdCore: OwnIdCoreImpl) {
+        if (scheduled.add(ownIdCore.instanceName).not()) return
+        OwnIdInternalLogger.logD(this, "schedule", "${ownIdCore.instanceName}")
+        Looper.getMainLooper().queue.addIdleHandler(WarmUpIdleHandler(ownIdCore))
+    }
+
+    @VisibleForTesting
+    internal class WarmUpIdleHandler(private val ownIdCore: OwnIdCoreImpl) : MessageQueue.IdleHandler {
+        private val phases: MutableList<() -> Boolean> = mutableListOf(::fetchConfiguration, ::prefetchLocales, ::preconnect, ::prewarmWebView)
+        private var isConfigurationFailed: Boolean = false
+
+        @MainThread
+        override fun queueIdle(): Boolean {
+            if (scheduled.contains(ownIdCore.instanceName).not()) return false
+            val phase = phases.firstOrNull() ?: return false
+            val isDone = runCatching { phase.invoke() }.getOrElse {
+                OwnIdInternalLogger.logW(this, "queueIdle", it.message, it)
+                true
+            }
+            if (isDone) phases.removeAt(0)
+            return phases.isNotEmpty()
+        }
+
+        private fun fetchConfiguration(): Boolean {
+            ownIdCore.configurationService.ensureConfigurationSet { onFailure { isConfigurationFailed = true } }
+            return true
+        }
+
+        // Locales list comes with server configuration, wait for it on next idle passes
+        private fun prefetchLocales(): Boolean {
+            if (isConfigurationFailed) return true
+            if (ownIdCore.configuration.isServerConfigurationSet.not()) return false
+            ownIdCore.localeService.prefetchLocales(ownIdCore.applicationContext)
+            return true
+        }
+
+        private fun preconnect(): Boolean {
+            val request = Request.Builder().url(ownIdCore.configuration.apiUrl).head().build()
+            ownIdCore.okHttpClient.newCall(request).enqueue(object : Callback {
+                override fun onFailure(call: Call, e: IOException) {
+                    OwnIdInternalLogger.logD(this@OwnIdWarmUp, "preconnect", e.message)
+                }
+
+                override fun onResponse(call: Call, response: Response) = response.close()
+            })
+            return true
+        }
+
+        private fun prewarmWebView(): Boolean {
+            if (ownIdCore.configuration.prewarmWebView.not() || isConfigurationFailed) return true
+            if (ownIdCore.configuration.isServerConfigurationSet.not()) return false
+            ownIdCore.webViewPool.prewarm()
+            return true
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.ownid.sdk.internal.component.cache
+
+import androidx.annotation.RestrictTo
+import androidx.annotation.VisibleForTesting
+import androidx.annotation.WorkerThread
+import com.ownid.sdk.Configuration
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import java.io.File
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Single disk space budget shared by all caches in [OwnIdCacheRegistry].
+ *
+ * Each cache may grow up to the whole budget. When caches together go over it, the least recently used entry across
+ * all caches is evicted until they fit. When free space on the storage drops below [LOW_STORAGE_PERCENT] percent,
+ * the budget is reduced [LOW_STORAGE_DIVIDER] times.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal object OwnIdCacheBudget {
+
+    private const val LOW_STORAGE_PERCENT = 10
+    private const val LOW_STORAGE_DIVIDER = 4
+
+    private val service: ExecutorService = ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS, LinkedBlockingQueue())
+    private val trimScheduled = AtomicBoolean(false)
+
+    @Volatile
+    private var storageDirectory: File? = null
+
+    /**
+     * Total size in bytes for all caches. Also used as max size of each single cache.
+     */
+    @Volatile
+    internal var budgetBytes: Long = Configuration.DEFAULT_CACHE_SIZE
+        private set
+
+    /**
+     * Sets budget for caches in [directory]. Called before caches are opened. If there are several OwnID instances,
+     * the last one sets the budget.
+     */
+    @JvmSynthetic
+    internal fun configure(directory: File, budgetBytes: Long) {
+        OwnIdInternalLogger.logD(this, "configure", "Budget: $budgetBytes bytes")
+        storageDirectory = directory
+        this.budgetBytes = budgetBytes
+        requestTrim()
+    }
+
+    /**
+     * Schedules [trimToBudget] in background. Calls made while trim is pending are merged into it.
+     */
+    @JvmSynthetic
+    internal fun requestTrim() {
+        if (trimScheduled.compareAndSet(false, true).not()) return
+        runCatching {
+            service.execute {
+                trimScheduled.set(false)
+                trimToBudget()
+            }
+        }.onFailure {
+            trimScheduled.set(false)
+            OwnIdInternalLogger.logW(this, "requestTrim", it.message, it)
+        }
+    }
+
+    @WorkerThread
+    @VisibleForTesting
+    @JvmSynthetic
+    internal fun effectiveBudgetBytes(): Long {
+        val directory = storageDirectory ?: return budgetBytes
+        val totalSpace = directory.totalSpace
+        if (totalSpace <= 0L) return budgetBytes
+        val isLowStorage = directory.usableSpace * 100 < totalSpace * LOW_STORAGE_PERCENT
+        return if (isLowStorage) budgetBytes / LOW_STORAGE_DIVIDER else budgetBytes
+    }
+
+    @WorkerThread
+    @VisibleForTesting
+    @JvmSynthetic
+    internal fun trimToBudget(): Unit = runCatching {
+        val caches = OwnIdCacheRegistry.caches()
+        val budget = effectiveBudgetBytes()
+        var totalSize = caches.sumOf { it.size().coerceAtLeast(0L) }
+        var evicted = 0
+
+        while (totalSize > budget) {
+            val oldestCache = caches
+                .map { cache -> cache to cache.oldestEntryTimeMillis() }
+                .filter { (_, entryTime) -> entryTime >= 0L }
+                .minByOrNull { (_, entryTime) -> entryTime }
+                ?.first ?: break
+
+            val sizeBefore = oldestCache.size()
+            if (oldestCache.evictOldestEntry().not()) break
+            totalSize -= sizeBefore - oldestCache.size()
+            evicted++
+        }
+
+        if (evicted > 0) OwnIdInternalLogger.logD(this, "trimToBudget", "Evicted $evicted entries. Size: $totalSize/$budget bytes")
+    }.getOrElse {
+        OwnIdInternalLogger.logW(this, "trimToBudget", it.message, it)
+    }
+}
@@ -0,0 +1,66 @@
+package com.ownid.sdk.internal.component.cache
+
+import androidx.annotation.RestrictTo
+import androidx.annotation.WorkerThread
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnIdDiagnostics
+import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Disk cache used by OwnID SDK that reports its statistics to [OwnIdCacheRegistry]
+ * and gives up its least recently used entries to [OwnIdCacheBudget].
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal interface OwnIdCache {
+    val cacheName: String
+
+    @WorkerThread
+    fun getCacheStats(): OwnIdDiagnostics.CacheStats
+
+    /** Current size of the cache in bytes. */
+    @WorkerThread
+    fun size(): Long
+
+    /** Last access time in milliseconds of the least recently used entry, or `-1` if there is nothing to evict. */
+    @WorkerThread
+    fun oldestEntryTimeMillis(): Long
+
+    /** Evicts the least recently used entry. Returns `false` if nothing was evicted. */
+    @WorkerThread
+    fun evictOldestEntry(): Boolean
+}
+
+/**
+ * Holds all disk caches of OwnID SDK, keyed by cache name.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal object OwnIdCacheRegistry {
+
+    private val caches: MutableMap<String, OwnIdCache> = ConcurrentHashMap()
+
+    @JvmSynthetic
+    internal fun register(cache: OwnIdCache) {
+        caches[cache.cacheName] = cache
+        OwnIdCacheBudget.requestTrim()
+    }
+
+    @JvmSynthetic
+    internal fun unregister(cache: OwnIdCache) {
+        caches.remove(cache.cacheName, cache)
+    }
+
+    @JvmSynthetic
+    internal fun caches(): List<OwnIdCache> = caches.values.toList()
+
+    @JvmSynthetic
+    @WorkerThread
+    internal fun getCacheStats(): List<OwnIdDiagnostics.CacheStats> = caches.values.mapNotNull { cache ->
+        runCatching { cache.getCacheStats() }.getOrElse {
+            OwnIdInternalLogger.logW(this, "getCacheStats", "Failed for '${cache.cacheName}': ${it.message}", it)
+            null
+        }
+    }.sortedBy { it.name }
+}
@@ -0,0 +1,98 @@
+package com.ownid.sdk.internal.component.cache
+
+import android.os.SystemClock
+import androidx.annotation.RestrictTo
+import androidx.annotation.WorkerThread
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnIdDiagnostics
+import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import okhttp3.Cache
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import okhttp3.OkHttpClient
+import java.io.File
+import java.util.concurrent.Executor
+
+/**
+ * OkHttp [Cache] that reports its statistics. OkHttp does not expose eviction count, so it is reported as `-1`.
+ * OkHttp does not expose access time either, so entry metadata file modification time is used for [OwnIdCacheBudget].
+ *
+ * OkHttp opens the cache journal lazily on the first request. [open] does it ahead of time on [executor]
+ * and measures open latency.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdHttpCache(directory: File, maxSize: Long) : OwnIdCache {
+
+    override val cacheName: String = directory.name
+
+    internal val cache: Cache = Cache(directory, maxSize)
+
+    @Volatile
+    private var openLatencyMillis: Long = -1
+
+    @JvmSynthetic
+    internal fun open(executor: Executor): OwnIdHttpCache = apply {
+        OwnIdCacheRegistry.register(this)
+        runCatching {
+            executor.execute {
+                val start = SystemClock.elapsedRealtime()
+                runCatching { cache.initialize() }
+                    .onFailure { OwnIdInternalLogger.logW(this, "open", "Failed to open '$cacheName': ${it.message}", it) }
+                openLatencyMillis = SystemClock.elapsedRealtime() - start
+            }
+        }
+    }
+
+    /**
+     * Unregisters from [OwnIdCacheRegistry] and closes cache files. Cached entries stay on disk.
+     */
+    @JvmSynthetic
+    internal fun close() {
+        OwnIdCacheRegistry.unregister(this)
+        runCatching { cache.close() }
+            .onFailure { OwnIdInternalLogger.logW(this, "close", "Failed to close '$cacheName': ${it.message}", it) }
+    }
+
+    @WorkerThread
+    override fun getCacheStats(): OwnIdDiagnostics.CacheStats {
+        val hitCount = cache.hitCount().toLong()
+        return OwnIdDiagnostics.CacheStats(
+            name = cacheName,
+            hitCount = hitCount,
+            missCount = cache.requestCount() - hitCount,
+            evictionCount = -1,
+            sizeBytes = runCatching { cache.size() }.getOrDefault(-1),
+            maxSizeBytes = cache.maxSize(),
+            openLatencyMillis = openLatencyMillis
+        )
+    }
+
+    @WorkerThread
+    override fun size(): Long = cache.size()
+
+    @WorkerThread
+    override fun oldestEntryTimeMillis(): Long {
+        val urls = cache.urls()
+        if (urls.hasNext().not()) return -1
+        return File(cache.directory, "${Cache.key(urls.next().toHttpUrl())}.0").lastModified()
+    }
+
+    @WorkerThread
+    override fun evictOldestEntry(): Boolean {
+        val urls = cache.urls()
+        if (urls.hasNext().not()) return false
+        urls.next()
+        urls.remove()
+        return true
+    }
+}
+
+/**
+ * Sets [ownIdHttpCache] as HTTP cache and keeps it within [OwnIdCacheBudget] after each response.
+ */
+@JvmSynthetic
+@InternalOwnIdAPI
+internal fun OkHttpClient.Builder.ownIdCache(ownIdHttpCache: OwnIdHttpCache): OkHttpClient.Builder =
+    cache(ownIdHttpCache.cache).addInterceptor { chain ->
+        chain.proceed(chain.request()).also { if (it.cacheResponse == null) OwnIdCacheBudget.requestTrim() }
+    }
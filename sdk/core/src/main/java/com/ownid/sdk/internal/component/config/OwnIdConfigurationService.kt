@@ -13,9 +13,11 @@ import com.ownid.sdk.OwnIdCallback
 import com.ownid.sdk.exception.OwnIdException
 import com.ownid.sdk.internal.applyAppUrlHeader
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import com.ownid.sdk.internal.component.cache.OwnIdCacheBudget
+import com.ownid.sdk.internal.component.cache.OwnIdHttpCache
+import com.ownid.sdk.internal.component.cache.ownIdCache
 import com.ownid.sdk.internal.component.events.LogItem
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleService
-import okhttp3.Cache
 import okhttp3.Call
 import okhttp3.Callback
 import okhttp3.HttpUrl
@@ -44,9 +46,9 @@ internal class OwnIdConfigurationService(
     context: Context,
     okHttpClient: OkHttpClient,
 ) {
-    private val okHttpClient: OkHttpClient = okHttpClient.newBuilder()
-        .cache(Cache(directory = File(context.cacheDir, "ownid_config_cache"), maxSize = 1L * 1024L * 1024L))
-        .build()
+    private val httpCache = OwnIdHttpCache(File(context.cacheDir, "ownid_config_cache"), OwnIdCacheBudget.budgetBytes)
+        .open(okHttpClient.dispatcher.executorService)
+    private val okHttpClient: OkHttpClient = okHttpClient.newBuilder().ownIdCache(httpCache).build()
 
     private val callbacksQueue: LinkedList<OwnIdCallback<Unit>> = LinkedList()
     private var serverConfigRequestInProgress: Boolean = false
@@ -143,6 +145,12 @@ internal class OwnIdConfigurationService(
         }
     }
 
+    @JvmSynthetic
+    internal fun close() {
+        OwnIdInternalLogger.logD(this, "close", "Invoked")
+        httpCache.close()
+    }
+
     @MainThread
     @JvmSynthetic
     @Throws(OwnIdException::class)
@@ -0,0 +1,130 @@
+package com.ownid.sdk.internal.component.credential
+
+import android.content.Context
+import android.os.Build
+import android.os.SystemClock
+import androidx.annotation.RequiresApi
+import androidx.annotation.RestrictTo
+import androidx.credentials.CredentialManager
+import androidx.credentials.GetCredentialRequest
+import androidx.credentials.GetCredentialResponse
+import androidx.credentials.PrepareGetCredentialResponse
+import androidx.credentials.exceptions.GetCredentialException
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import com.ownid.sdk.internal.component.events.Metadata
+import com.ownid.sdk.internal.component.events.Metric
+import com.ownid.sdk.internal.component.events.OwnIdInternalEventsService
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.launch
+import org.json.JSONObject
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Holds [CredentialManager] shared by all OwnID features of the instance.
+ *
+ * On Android 14+ a passkey login request can be prepared with [prepareGetCredential] as soon as it is known,
+ * so [getCredential] shows the prompt without querying credential providers again.
+ * On older versions [prepareGetCredential] only creates [CredentialManager] in background.
+ * Prompt latency saved by a prepared request is sent as a metric.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdCredentialService(context: Context, private val eventsService: OwnIdInternalEventsService) {
+
+    private class PreparedRequest(
+        val request: GetCredentialRequest,
+        val response: Deferred<PrepareGetCredentialResponse>,
+        val startTime: Long = SystemClock.elapsedRealtime()
+    ) {
+        @Volatile
+        var endTime: Long = Long.MAX_VALUE
+    }
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val credentialManagerLazy = lazy { CredentialManager.create(context.applicationContext) }
+    private val preparedRequest = AtomicReference<PreparedRequest?>(null)
+
+    @get:JvmSynthetic
+    internal val credentialManager: CredentialManager by credentialManagerLazy
+
+    /**
+     * Creates [CredentialManager] in background, so the first credential request does not wait for it.
+     */
+    @JvmSynthetic
+    internal fun warmUp() {
+        if (credentialManagerLazy.isInitialized().not()) scope.launch { credentialManager }
+    }
+
+    /**
+     * Starts preparing [request]. Only the last prepared request is kept and it is used by [getCredential] with the same [request].
+     */
+    @JvmSynthetic
+    internal fun prepareGetCredential(request: GetCredentialRequest) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.UPSIDE_DOWN_CAKE) {
+            warmUp()
+            return
+        }
+        prepareGetCredentialApi34(request)
+    }
+
+    @JvmSynthetic
+    @Throws(GetCredentialException::class)
+    internal suspend fun getCredential(context: Context, request: GetCredentialRequest): GetCredentialResponse {
+        val prepared = preparedRequest.get()
+        if (prepared != null && prepared.request === request && preparedRequest.compareAndSet(prepared, null) &&
+            Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE
+        ) {
+            return getPreparedCredentialApi34(context, prepared)
+        }
+
+        return credentialManager.getCredential(context, request)
+    }
+
+    @JvmSynthetic
+    internal fun close() {
+        preparedRequest.set(null)
+        scope.cancel()
+    }
+
+    @RequiresApi(Build.VERSION_CODES.UPSIDE_DOWN_CAKE)
+    private fun prepareGetCredentialApi34(request: GetCredentialRequest) {
+        lateinit var prepared: PreparedRequest
+        val response = scope.async(start = CoroutineStart.LAZY) {
+            credentialManager.prepareGetCredential(request).also { prepared.endTime = SystemClock.elapsedRealtime() }
+        }
+        prepared = PreparedRequest(request, response)
+        preparedRequest.getAndSet(prepared)?.response?.cancel()
+        response.start()
+    }
+
+    @RequiresApi(Build.VERSION_CODES.UPSIDE_DOWN_CAKE)
+    private suspend fun getPreparedCredentialApi34(context: Context, prepared: PreparedRequest): GetCredentialResponse {
+        val requestTime = SystemClock.elapsedRealtime()
+
+        val handle = try {
+            prepared.response.await().pendingGetCredentialHandle
+        } catch (cause: Throwable) {
+            currentCoroutineContext().ensureActive()
+            OwnIdInternalLogger.logW(this, "getCredential", "Prepare failed: ${cause.message}", cause)
+            null
+        } ?: return credentialManager.getCredential(context, prepared.request)
+
+        val savedTime = minOf(requestTime, prepared.endTime) - prepared.startTime
+        OwnIdInternalLogger.logI(this, "getCredential", "Using prepared request, prompt latency saved: $savedTime ms")
+        val credentialLatency = JSONObject().put("prepare", prepared.endTime - prepared.startTime).put("saved", savedTime)
+        eventsService.sendMetric(
+            Metric.Category.General, Metric.EventType.Track, "Credential prompt latency", metadata = Metadata(credentialLatency = credentialLatency)
+        )
+
+        return credentialManager.getCredential(context, handle)
+    }
+}
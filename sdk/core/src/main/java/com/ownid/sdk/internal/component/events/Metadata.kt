@@ -26,6 +26,8 @@ public data class Metadata(
     private val isUserVerifyingPlatformAuthenticatorAvailable: Boolean = Build.VERSION.SDK_INT >= Build.VERSION_CODES.P,
     private val resultType: ResultType? = null,
     private val deviceSecurityStatus: JSONObject? = null,
+    private val bridgeLatency: JSONObject? = null,
+    private val credentialLatency: JSONObject? = null,
 ) {
 
     @InternalOwnIdAPI
@@ -63,6 +65,8 @@ public data class Metadata(
 //            if (returningUser != null) put("returningUser", returningUser)
             if (stackTrace != null) put("stackTrace", stackTrace)
             if (deviceSecurityStatus != null) put("deviceSecurityStatus", deviceSecurityStatus)
+            if (bridgeLatency != null) put("bridgeLatency", bridgeLatency)
+            if (credentialLatency != null) put("credentialLatency", credentialLatency)
         }
     }.getOrElse {
         throw OwnIdException("Metadata.toJsonString", it)
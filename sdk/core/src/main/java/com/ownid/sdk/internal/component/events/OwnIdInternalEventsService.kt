@@ -2,6 +2,7 @@ package com.ownid.sdk.internal.component.events
 
 import android.util.Log
 import androidx.annotation.RestrictTo
+import androidx.annotation.WorkerThread
 import com.ownid.sdk.Configuration
 import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.OwnIdLogger
@@ -28,16 +29,19 @@ import java.util.concurrent.TimeUnit
 public class OwnIdInternalEventsService(
     private val configuration: Configuration,
     private val correlationId: String,
-    private val deviceSecurityStatus: JSONObject?,
+    deviceSecurityStatus: Lazy<JSONObject?>,
     private val okHttpClient: OkHttpClient
 ) {
 
     private companion object {
         private val JSON_MEDIA_TYPE: MediaType = "application/json".toMediaType()
         private val CACHE_CONTROL_FORCE_NETWORK_NO_CACHE: CacheControl = CacheControl.Builder().noCache().noStore().build()
-        private val service: ExecutorService = ThreadPoolExecutor(0, 2, 60L, TimeUnit.SECONDS, LinkedBlockingQueue())
     }
 
+    private val service: ExecutorService = ThreadPoolExecutor(0, 2, 60L, TimeUnit.SECONDS, LinkedBlockingQueue())
+
+    private val deviceSecurityStatus: JSONObject? by deviceSecurityStatus
+
     private val eventsUrl: HttpUrl = configuration.apiUrl.newBuilder().addPathSegment("events").build()
 
     private var loginId: String? = null
@@ -71,17 +75,17 @@ public class OwnIdInternalEventsService(
                 OwnIdNativeFlowType.REGISTER -> Metric.Category.Registration
             }
             val applicationName = if (configuration.isServerConfigurationSet) configuration.server.displayName else null
-            val data = metadata?.copy(
-                applicationName = applicationName, correlationId = correlationId, deviceSecurityStatus = deviceSecurityStatus
-            ) ?: Metadata(applicationName, correlationId, deviceSecurityStatus = deviceSecurityStatus)
+            val context = this.context
+            val loginId = this.loginId
+            val sourceTimestamp = "${System.currentTimeMillis()}"
 
-            sendEvent(
+            sendEvent {
                 Metric(
-                    configuration.packageName, category, type, action, context, data,
+                    configuration.packageName, category, type, action, context, metadataWithDeviceStatus(metadata, applicationName),
                     loginId?.toByteArray()?.toSHA256Bytes()?.toBase64UrlSafeNoPadding(),
-                    source, errorMessage, errorCode, configuration.userAgent, configuration.version
+                    source, errorMessage, errorCode, configuration.userAgent, configuration.version, sourceTimestamp = sourceTimestamp
                 ).toJsonString()
-            )
+            }
         }.onFailure {
             OwnIdLogger.log(Log.WARN, this@OwnIdInternalEventsService.toClassTag(), "sendMetric", it)
         }
@@ -101,17 +105,18 @@ public class OwnIdInternalEventsService(
     ) {
         runCatching {
             val applicationName = if (configuration.isServerConfigurationSet) configuration.server.displayName else null
-            val data = metadata?.copy(
-                applicationName = applicationName, correlationId = correlationId, deviceSecurityStatus = deviceSecurityStatus
-            ) ?: Metadata(applicationName, correlationId, deviceSecurityStatus = deviceSecurityStatus)
+            val metricContext = context ?: this.context
+            val loginId = this.loginId
+            val sourceTimestamp = "${System.currentTimeMillis()}"
 
-            sendEvent(
+            sendEvent {
                 Metric(
-                    configuration.packageName, category, type, action, context ?: this.context, data,
+                    configuration.packageName, category, type, action, metricContext, metadataWithDeviceStatus(metadata, applicationName),
                     loginId?.toByteArray()?.toSHA256Bytes()?.toBase64UrlSafeNoPadding(),
-                    source, errorMessage, errorCode, configuration.userAgent, configuration.version, siteUrl
+                    source, errorMessage, errorCode, configuration.userAgent, configuration.version, siteUrl,
+                    sourceTimestamp = sourceTimestamp
                 ).toJsonString()
-            )
+            }
         }.onFailure {
             OwnIdLogger.log(Log.WARN, this@OwnIdInternalEventsService.toClassTag(), "sendMetric", it)
         }
@@ -125,18 +130,38 @@ public class OwnIdInternalEventsService(
 
             val applicationName = if (configuration.isServerConfigurationSet) configuration.server.displayName else null
             val mdata = metadata?.copy(applicationName, correlationId) ?: Metadata(applicationName, correlationId)
-            sendEvent(
-                LogItem(level, context, className, message, configuration.userAgent, configuration.version, mdata, errorMessage)
-                    .toJsonString()
-            )
+            val event = LogItem(level, context, className, message, configuration.userAgent, configuration.version, mdata, errorMessage)
+                .toJsonString()
+            sendEvent { event }
         }.onFailure {
             OwnIdLogger.log(Log.WARN, this@OwnIdInternalEventsService.toClassTag(), "sendLog", it)
         }
     }
 
-    private fun sendEvent(event: String) {
+    /**
+     * Stops accepting new events. Already submitted events are still sent.
+     */
+    @JvmSynthetic
+    internal fun close() {
+        service.shutdown()
+    }
+
+    // Device security status is resolved here on first use, so its system queries run on events thread
+    @WorkerThread
+    private fun metadataWithDeviceStatus(metadata: Metadata?, applicationName: String?): Metadata =
+        metadata?.copy(applicationName = applicationName, correlationId = correlationId, deviceSecurityStatus = deviceSecurityStatus)
+            ?: Metadata(applicationName, correlationId, deviceSecurityStatus = deviceSecurityStatus)
+
+    /**
+     * Builds event with [createEvent] and sends it on events thread.
+     */
+    private fun sendEvent(createEvent: () -> String) {
         runCatching {
             service.submit {
+                val event = runCatching { createEvent.invoke() }.getOrElse {
+                    OwnIdLogger.log(Log.WARN, this@OwnIdInternalEventsService.toClassTag(), "Fail to create event", it)
+                    return@submit
+                }
                 val request: Request = Request.Builder()
                     .url(eventsUrl)
                     .apply { applyAppUrlHeader(configuration) }
@@ -155,7 +180,7 @@ public class OwnIdInternalEventsService(
                 }
             }
         }.onFailure {
-            OwnIdLogger.log(Log.WARN, this@OwnIdInternalEventsService.toClassTag(), "Fail to submit event to server: $event", it)
+            OwnIdLogger.log(Log.WARN, this@OwnIdInternalEventsService.toClassTag(), "Fail to submit event to server", it)
         }
     }
 
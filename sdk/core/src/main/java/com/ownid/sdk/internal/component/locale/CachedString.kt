@@ -2,6 +2,7 @@ package com.ownid.sdk.internal.component.locale
 
 import androidx.annotation.RestrictTo
 import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.component.cache.OwnIdCacheBudget
 import java.io.IOException
 
 @InternalOwnIdAPI
@@ -31,9 +32,14 @@ internal data class CachedString(val timeStamp: Long, val data: String) {
                 writer.write(data)
             }
             editor.commit()
+            OwnIdCacheBudget.requestTrim()
         } catch (_: IOException) {
             runCatching { editor?.abort() }
             return
+        } catch (_: IllegalStateException) {
+            // Cache is closed
+            runCatching { editor?.abort() }
+            return
         }
     }
 }
\ No newline at end of file
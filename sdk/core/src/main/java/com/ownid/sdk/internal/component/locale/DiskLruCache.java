@@ -37,13 +37,21 @@ import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -85,6 +93,11 @@ import java.util.regex.Pattern;
  * observe the value at the time that {@link #get} was called. Updates and
  * removals after the call do not impact ongoing reads.
  *
+ * <p>Reads only take a shared lock, so concurrent readers do not block each
+ * other. Their journal records are queued and appended by the next writer or
+ * by the background executor, which is also the only place where the cache is
+ * trimmed and the journal is compacted.
+ *
  * <p>This class is tolerant of some I/O errors. If files are missing from the
  * filesystem, the corresponding entries will be dropped from the cache. If
  * an error occurs while writing a cache value, the edit will fail silently.
@@ -98,6 +111,8 @@ final class DiskLruCache implements Closeable {
   static final String MAGIC = "libcore.io.DiskLruCache";
   static final String VERSION_1 = "1";
   static final long ANY_SEQUENCE_NUMBER = -1;
+  /** Number of queued READ records that makes a read schedule the cleanup task to write them. */
+  static final int PENDING_READS_CLEANUP_THRESHOLD = 64;
   static final String STRING_KEY_PATTERN = "[a-z0-9_-]{1,120}";
   static final Pattern LEGAL_KEY_PATTERN = Pattern.compile(STRING_KEY_PATTERN);
   private static final String CLEAN = "CLEAN";
@@ -153,11 +168,25 @@ final class DiskLruCache implements Closeable {
   private long maxSize;
   private final int valueCount;
   private long size = 0;
-  private Writer journalWriter;
-  private final LinkedHashMap<String, Entry> lruEntries =
-      new LinkedHashMap<String, Entry>(0, 0.75f, true);
+  private volatile Writer journalWriter;
+  /** Guarded by {@link #lock}. Access order is tracked with {@link Entry#accessOrder}. */
+  private final HashMap<String, Entry> lruEntries = new HashMap<String, Entry>();
   private int redundantOpCount;
 
+  /** Readers share {@link #readLock}; any change of entries, size or journal requires {@link #writeLock}. */
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Lock readLock = lock.readLock();
+  private final Lock writeLock = lock.writeLock();
+  private final AtomicLong accessCounter = new AtomicLong();
+  /** Keys read since the last journal write, appended as READ records by the next writer. */
+  private final ConcurrentLinkedQueue<String> pendingReads = new ConcurrentLinkedQueue<String>();
+  private final AtomicInteger pendingReadCount = new AtomicInteger();
+  private final AtomicBoolean cleanupScheduled = new AtomicBoolean();
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+
   /**
    * To differentiate between old and current snapshots, each entry is given
    * a sequence number each time an edit is committed. A snapshot is stale if
@@ -170,15 +199,20 @@ final class DiskLruCache implements Closeable {
       new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
   private final Callable<Void> cleanupCallable = new Callable<Void>() {
     public Void call() throws Exception {
-      synchronized (DiskLruCache.this) {
+      writeLock.lock();
+      try {
+        cleanupScheduled.set(false);
         if (journalWriter == null) {
           return null; // Closed.
         }
+        writePendingReads();
         trimToSize();
         if (journalRebuildRequired()) {
           rebuildJournal();
           redundantOpCount = 0;
         }
+      } finally {
+        writeLock.unlock();
       }
       return null;
     }
@@ -230,6 +264,9 @@ final class DiskLruCache implements Closeable {
       try {
         cache.readJournal();
         cache.processJournal();
+        if (cache.size > cache.maxSize || cache.journalRebuildRequired()) {
+          cache.scheduleCleanup();
+        }
         return cache;
       } catch (IOException journalIsCorrupt) {
         System.out
@@ -324,6 +361,7 @@ final class DiskLruCache implements Closeable {
       entry = new Entry(key);
       lruEntries.put(key, entry);
     }
+    entry.accessOrder = accessCounter.incrementAndGet();
 
     if (secondSpace != -1 && firstSpace == CLEAN.length() && line.startsWith(CLEAN)) {
       String[] parts = line.substring(secondSpace + 1).split(" ");
@@ -333,7 +371,7 @@ final class DiskLruCache implements Closeable {
     } else if (secondSpace == -1 && firstSpace == DIRTY.length() && line.startsWith(DIRTY)) {
       entry.currentEditor = new Editor(entry);
     } else if (secondSpace == -1 && firstSpace == READ.length() && line.startsWith(READ)) {
-      // This work was already done by calling lruEntries.get().
+      // This work was already done by updating entry.accessOrder.
     } else {
       throw new IOException("unexpected journal line: " + line);
     }
@@ -351,6 +389,7 @@ final class DiskLruCache implements Closeable {
         for (int t = 0; t < valueCount; t++) {
           size += entry.lengths[t];
         }
+        entry.accessTimeMillis = entry.getCleanFile(0).lastModified();
       } else {
         entry.currentEditor = null;
         for (int t = 0; t < valueCount; t++) {
@@ -366,7 +405,7 @@ final class DiskLruCache implements Closeable {
    * Creates a new journal that omits redundant information. This replaces the
    * current journal if it exists.
    */
-  private synchronized void rebuildJournal() throws IOException {
+  private void rebuildJournal() throws IOException {
     if (journalWriter != null) {
       journalWriter.close();
     }
@@ -384,7 +423,7 @@ final class DiskLruCache implements Closeable {
       writer.write("\n");
       writer.write("\n");
 
-      for (Entry entry : lruEntries.values()) {
+      for (Entry entry : entriesInAccessOrder()) {
         if (entry.currentEditor != null) {
           writer.write(DIRTY + ' ' + entry.key + '\n');
         } else {
@@ -425,45 +464,56 @@ final class DiskLruCache implements Closeable {
    * exist is not currently readable. If a value is returned, it is moved to
    * the head of the LRU queue.
    */
-  public synchronized Snapshot get(String key) throws IOException {
-    checkNotClosed();
+  public Snapshot get(String key) throws IOException {
     validateKey(key);
-    Entry entry = lruEntries.get(key);
-    if (entry == null) {
-      return null;
-    }
-
-    if (!entry.readable) {
-      return null;
-    }
-
-    // Open all streams eagerly to guarantee that we see a single published
-    // snapshot. If we opened streams lazily then the streams could come
-    // from different edits.
     InputStream[] ins = new InputStream[valueCount];
+    long sequenceNumber;
+    long[] lengths;
+
+    readLock.lock();
     try {
-      for (int i = 0; i < valueCount; i++) {
-        ins[i] = new FileInputStream(entry.getCleanFile(i));
+      checkNotClosed();
+      Entry entry = lruEntries.get(key);
+      if (entry == null || !entry.readable) {
+        missCount.incrementAndGet();
+        return null;
       }
-    } catch (FileNotFoundException e) {
-      // A file must have been deleted manually!
-      for (int i = 0; i < valueCount; i++) {
-        if (ins[i] != null) {
-          closeQuietly(ins[i]);
-        } else {
-          break;
+
+      // Open all streams eagerly to guarantee that we see a single published
+      // snapshot. If we opened streams lazily then the streams could come
+      // from different edits.
+      try {
+        for (int i = 0; i < valueCount; i++) {
+          ins[i] = new FileInputStream(entry.getCleanFile(i));
+        }
+      } catch (FileNotFoundException e) {
+        // A file must have been deleted manually!
+        for (int i = 0; i < valueCount; i++) {
+          if (ins[i] != null) {
+            closeQuietly(ins[i]);
+          } else {
+            break;
+          }
         }
+        missCount.incrementAndGet();
+        return null;
       }
-      return null;
+
+      hitCount.incrementAndGet();
+      entry.accessOrder = accessCounter.incrementAndGet();
+      entry.accessTimeMillis = System.currentTimeMillis();
+      sequenceNumber = entry.sequenceNumber;
+      lengths = entry.lengths.clone();
+    } finally {
+      readLock.unlock();
     }
 
-    redundantOpCount++;
-    journalWriter.append(READ + ' ' + key + '\n');
-    if (journalRebuildRequired()) {
-      executorService.submit(cleanupCallable);
+    pendingReads.add(key);
+    if (pendingReadCount.incrementAndGet() >= PENDING_READS_CLEANUP_THRESHOLD) {
+      scheduleCleanup();
     }
 
-    return new Snapshot(key, entry.sequenceNumber, ins, entry.lengths);
+    return new Snapshot(key, sequenceNumber, ins, lengths);
   }
 
   /**
@@ -474,28 +524,36 @@ final class DiskLruCache implements Closeable {
     return edit(key, ANY_SEQUENCE_NUMBER);
   }
 
-  private synchronized Editor edit(String key, long expectedSequenceNumber) throws IOException {
-    checkNotClosed();
+  private Editor edit(String key, long expectedSequenceNumber) throws IOException {
     validateKey(key);
-    Entry entry = lruEntries.get(key);
-    if (expectedSequenceNumber != ANY_SEQUENCE_NUMBER && (entry == null
-        || entry.sequenceNumber != expectedSequenceNumber)) {
-      return null; // Snapshot is stale.
-    }
-    if (entry == null) {
-      entry = new Entry(key);
-      lruEntries.put(key, entry);
-    } else if (entry.currentEditor != null) {
-      return null; // Another edit is in progress.
-    }
+    writeLock.lock();
+    try {
+      checkNotClosed();
+      Entry entry = lruEntries.get(key);
+      if (expectedSequenceNumber != ANY_SEQUENCE_NUMBER && (entry == null
+          || entry.sequenceNumber != expectedSequenceNumber)) {
+        return null; // Snapshot is stale.
+      }
+      if (entry == null) {
+        entry = new Entry(key);
+        lruEntries.put(key, entry);
+      } else if (entry.currentEditor != null) {
+        return null; // Another edit is in progress.
+      }
+      entry.accessOrder = accessCounter.incrementAndGet();
+      entry.accessTimeMillis = System.currentTimeMillis();
 
-    Editor editor = new Editor(entry);
-    entry.currentEditor = editor;
+      Editor editor = new Editor(entry);
+      entry.currentEditor = editor;
 
-    // Flush the journal before creating files to prevent file leaks.
-    journalWriter.write(DIRTY + ' ' + key + '\n');
-    journalWriter.flush();
-    return editor;
+      // Flush the journal before creating files to prevent file leaks.
+      writePendingReads();
+      journalWriter.write(DIRTY + ' ' + key + '\n');
+      journalWriter.flush();
+      return editor;
+    } finally {
+      writeLock.unlock();
+    }
   }
 
   /** Returns the directory where this cache stores its data. */
@@ -507,17 +565,27 @@ final class DiskLruCache implements Closeable {
    * Returns the maximum number of bytes that this cache should use to store
    * its data.
    */
-  public synchronized long getMaxSize() {
-    return maxSize;
+  public long getMaxSize() {
+    readLock.lock();
+    try {
+      return maxSize;
+    } finally {
+      readLock.unlock();
+    }
   }
 
   /**
    * Changes the maximum number of bytes the cache can store and queues a job
    * to trim the existing store, if necessary.
    */
-  public synchronized void setMaxSize(long maxSize) {
-    this.maxSize = maxSize;
-    executorService.submit(cleanupCallable);
+  public void setMaxSize(long maxSize) {
+    writeLock.lock();
+    try {
+      this.maxSize = maxSize;
+    } finally {
+      writeLock.unlock();
+    }
+    scheduleCleanup();
   }
 
   /**
@@ -525,11 +593,25 @@ final class DiskLruCache implements Closeable {
    * this cache. This may be greater than the max size if a background
    * deletion is pending.
    */
-  public synchronized long size() {
-    return size;
+  public long size() {
+    readLock.lock();
+    try {
+      return size;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private void completeEdit(Editor editor, boolean success) throws IOException {
+    writeLock.lock();
+    try {
+      completeEditLocked(editor, success);
+    } finally {
+      writeLock.unlock();
+    }
   }
 
-  private synchronized void completeEdit(Editor editor, boolean success) throws IOException {
+  private void completeEditLocked(Editor editor, boolean success) throws IOException {
     Entry entry = editor.entry;
     if (entry.currentEditor != editor) {
       throw new IllegalStateException();
@@ -565,6 +647,7 @@ final class DiskLruCache implements Closeable {
       }
     }
 
+    writePendingReads();
     redundantOpCount++;
     entry.currentEditor = null;
     if (entry.readable | success) {
@@ -580,7 +663,7 @@ final class DiskLruCache implements Closeable {
     journalWriter.flush();
 
     if (size > maxSize || journalRebuildRequired()) {
-      executorService.submit(cleanupCallable);
+      scheduleCleanup();
     }
   }
 
@@ -600,36 +683,103 @@ final class DiskLruCache implements Closeable {
    *
    * @return true if an entry was removed.
    */
-  public synchronized boolean remove(String key) throws IOException {
-    checkNotClosed();
+  public boolean remove(String key) throws IOException {
     validateKey(key);
-    Entry entry = lruEntries.get(key);
-    if (entry == null || entry.currentEditor != null) {
-      return false;
-    }
+    writeLock.lock();
+    try {
+      checkNotClosed();
+      Entry entry = lruEntries.get(key);
+      if (entry == null || entry.currentEditor != null) {
+        return false;
+      }
 
-    for (int i = 0; i < valueCount; i++) {
-      File file = entry.getCleanFile(i);
-      if (file.exists() && !file.delete()) {
-        throw new IOException("failed to delete " + file);
+      for (int i = 0; i < valueCount; i++) {
+        File file = entry.getCleanFile(i);
+        if (file.exists() && !file.delete()) {
+          throw new IOException("failed to delete " + file);
+        }
+        size -= entry.lengths[i];
+        entry.lengths[i] = 0;
+      }
+
+      writePendingReads();
+      redundantOpCount++;
+      journalWriter.append(REMOVE + ' ' + key + '\n');
+      lruEntries.remove(key);
+
+      if (journalRebuildRequired()) {
+        scheduleCleanup();
       }
-      size -= entry.lengths[i];
-      entry.lengths[i] = 0;
+
+      return true;
+    } finally {
+      writeLock.unlock();
     }
+  }
 
-    redundantOpCount++;
-    journalWriter.append(REMOVE + ' ' + key + '\n');
-    lruEntries.remove(key);
+  /** Returns the number of {@link #get} calls that returned a value. */
+  public long hitCount() {
+    return hitCount.get();
+  }
 
-    if (journalRebuildRequired()) {
-      executorService.submit(cleanupCallable);
+  /** Returns the number of {@link #get} calls that returned null. */
+  public long missCount() {
+    return missCount.get();
+  }
+
+  /** Returns the number of entries evicted to keep the cache within {@link #getMaxSize}. */
+  public long evictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * Returns the last access time of the least recently used entry that can be
+   * evicted, or -1 if there is no such entry.
+   */
+  public long oldestAccessTime() {
+    readLock.lock();
+    try {
+      Entry oldest = oldestEvictableEntry();
+      return oldest == null ? -1 : oldest.accessTimeMillis;
+    } finally {
+      readLock.unlock();
     }
+  }
 
-    return true;
+  /**
+   * Drops the least recently used entry that is not being edited.
+   *
+   * @return true if an entry was removed.
+   */
+  public boolean evictOldest() throws IOException {
+    writeLock.lock();
+    try {
+      checkNotClosed();
+      Entry oldest = oldestEvictableEntry();
+      if (oldest == null || !remove(oldest.key)) {
+        return false;
+      }
+      evictionCount.incrementAndGet();
+      return true;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** Must be called with {@link #readLock} or {@link #writeLock} held. */
+  private Entry oldestEvictableEntry() {
+    Entry oldest = null;
+    for (Entry entry : lruEntries.values()) {
+      if (entry.readable && entry.currentEditor == null
+          && (oldest == null || entry.accessOrder < oldest.accessOrder)) {
+        oldest = entry;
+      }
+    }
+    return oldest;
   }
 
   /** Returns true if this cache has been closed. */
-  public synchronized boolean isClosed() {
+  public boolean isClosed() {
     return journalWriter == null;
   }
 
@@ -639,32 +789,86 @@ final class DiskLruCache implements Closeable {
     }
   }
 
-  /** Force buffered operations to the filesystem. */
-  public synchronized void flush() throws IOException {
-    checkNotClosed();
-    trimToSize();
-    journalWriter.flush();
+  /** Force buffered operations to the filesystem. Trimming is left to the background executor. */
+  public void flush() throws IOException {
+    boolean overSize;
+    writeLock.lock();
+    try {
+      checkNotClosed();
+      writePendingReads();
+      journalWriter.flush();
+      overSize = size > maxSize;
+    } finally {
+      writeLock.unlock();
+    }
+    if (overSize) {
+      scheduleCleanup();
+    }
   }
 
   /** Closes this cache. Stored values will remain on the filesystem. */
-  public synchronized void close() throws IOException {
-    if (journalWriter == null) {
-      return; // Already closed.
+  public void close() throws IOException {
+    writeLock.lock();
+    try {
+      if (journalWriter == null) {
+        return; // Already closed.
+      }
+      for (Entry entry : new ArrayList<Entry>(lruEntries.values())) {
+        if (entry.currentEditor != null) {
+          entry.currentEditor.abort();
+        }
+      }
+      writePendingReads();
+      journalWriter.close();
+      journalWriter = null;
+    } finally {
+      writeLock.unlock();
     }
-    for (Entry entry : new ArrayList<Entry>(lruEntries.values())) {
-      if (entry.currentEditor != null) {
-        entry.currentEditor.abort();
+  }
+
+  private void scheduleCleanup() {
+    if (cleanupScheduled.compareAndSet(false, true)) {
+      executorService.submit(cleanupCallable);
+    }
+  }
+
+  /** Appends queued READ records to the journal. Must be called with {@link #writeLock} held. */
+  private void writePendingReads() throws IOException {
+    String key;
+    while ((key = pendingReads.poll()) != null) {
+      pendingReadCount.decrementAndGet();
+      Entry entry = lruEntries.get(key);
+      if (entry == null || !entry.readable) {
+        continue; // Removed after it was read.
       }
+      redundantOpCount++;
+      journalWriter.append(READ + ' ' + key + '\n');
     }
-    trimToSize();
-    journalWriter.close();
-    journalWriter = null;
   }
 
+  /** Least recently used entries first. Must be called with {@link #writeLock} held. */
+  private List<Entry> entriesInAccessOrder() {
+    List<Entry> entries = new ArrayList<Entry>(lruEntries.values());
+    Collections.sort(entries, new Comparator<Entry>() {
+      @Override public int compare(Entry a, Entry b) {
+        return a.accessOrder < b.accessOrder ? -1 : (a.accessOrder == b.accessOrder ? 0 : 1);
+      }
+    });
+    return entries;
+  }
+
+  /** Must be called with {@link #writeLock} held, only from {@link #cleanupCallable}. */
   private void trimToSize() throws IOException {
-    while (size > maxSize) {
-      Map.Entry<String, Entry> toEvict = lruEntries.entrySet().iterator().next();
-      remove(toEvict.getKey());
+    if (size <= maxSize) {
+      return;
+    }
+    for (Entry toEvict : entriesInAccessOrder()) {
+      if (size <= maxSize) {
+        break;
+      }
+      if (remove(toEvict.key)) {
+        evictionCount.incrementAndGet();
+      }
     }
   }
 
@@ -792,7 +996,8 @@ final class DiskLruCache implements Closeable {
      * or null if no value has been committed.
      */
     public InputStream newInputStream(int index) throws IOException {
-      synchronized (DiskLruCache.this) {
+      readLock.lock();
+      try {
         if (entry.currentEditor != this) {
           throw new IllegalStateException();
         }
@@ -804,6 +1009,8 @@ final class DiskLruCache implements Closeable {
         } catch (FileNotFoundException e) {
           return null;
         }
+      } finally {
+        readLock.unlock();
       }
     }
 
@@ -829,7 +1036,8 @@ final class DiskLruCache implements Closeable {
                 + "be greater than 0 and less than the maximum value count "
                 + "of " + valueCount);
       }
-      synchronized (DiskLruCache.this) {
+      readLock.lock();
+      try {
         if (entry.currentEditor != this) {
           throw new IllegalStateException();
         }
@@ -851,6 +1059,8 @@ final class DiskLruCache implements Closeable {
           }
         }
         return new FaultHidingOutputStream(outputStream);
+      } finally {
+        readLock.unlock();
       }
     }
 
@@ -950,6 +1160,12 @@ final class DiskLruCache implements Closeable {
     /** The sequence number of the most recently committed edit to this entry. */
     private long sequenceNumber;
 
+    /** Stamp of the last access; the lowest one is evicted first. */
+    private volatile long accessOrder;
+
+    /** Wall clock time of the last access, used to compare entries across caches. */
+    private volatile long accessTimeMillis;
+
     private Entry(String key) {
       this.key = key;
       this.lengths = new long[valueCount];
@@ -0,0 +1,65 @@
+package com.ownid.sdk.internal.component.locale
+
+import android.os.SystemClock
+import androidx.annotation.RestrictTo
+import androidx.annotation.WorkerThread
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnIdDiagnostics
+import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import com.ownid.sdk.internal.component.cache.OwnIdCache
+import com.ownid.sdk.internal.component.cache.OwnIdCacheBudget
+import com.ownid.sdk.internal.component.cache.OwnIdCacheRegistry
+import java.io.File
+import java.io.IOException
+
+/**
+ * Reports statistics of a [DiskLruCache] with single value per entry and lets [OwnIdCacheBudget] evict from it.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdDiskLruCache private constructor(
+    internal val cache: DiskLruCache,
+    private val openLatencyMillis: Long
+) : OwnIdCache {
+
+    internal companion object {
+        @Throws(IOException::class)
+        internal fun open(directory: File, appVersion: Int, maxSize: Long): OwnIdDiskLruCache {
+            val start = SystemClock.elapsedRealtime()
+            val cache = DiskLruCache.open(directory, appVersion, 1, maxSize)
+            return OwnIdDiskLruCache(cache, SystemClock.elapsedRealtime() - start).also { OwnIdCacheRegistry.register(it) }
+        }
+    }
+
+    override val cacheName: String = cache.directory.name
+
+    /**
+     * Unregisters from [OwnIdCacheRegistry] and closes cache journal. Cached entries stay on disk.
+     */
+    @JvmSynthetic
+    internal fun close() {
+        OwnIdCacheRegistry.unregister(this)
+        runCatching { cache.close() }
+            .onFailure { OwnIdInternalLogger.logW(this, "close", "Failed to close '$cacheName': ${it.message}", it) }
+    }
+
+    @WorkerThread
+    override fun getCacheStats(): OwnIdDiagnostics.CacheStats = OwnIdDiagnostics.CacheStats(
+        name = cacheName,
+        hitCount = cache.hitCount(),
+        missCount = cache.missCount(),
+        evictionCount = cache.evictionCount(),
+        sizeBytes = cache.size(),
+        maxSizeBytes = cache.maxSize,
+        openLatencyMillis = openLatencyMillis
+    )
+
+    @WorkerThread
+    override fun size(): Long = cache.size()
+
+    @WorkerThread
+    override fun oldestEntryTimeMillis(): Long = cache.oldestAccessTime()
+
+    @WorkerThread
+    override fun evictOldestEntry(): Boolean = cache.evictOldest()
+}
@@ -15,7 +15,5 @@ internal class OwnIdLocale(internal val serverLanguageTag: String, internal val
 
     internal fun cacheKey(): String = serverLanguageTag.lowercase(Locale.ROOT)
 
-    internal fun isSameLocale(locale: Locale): Boolean = this.locale.equals(locale)
-
     override fun toString(): String = "OwnIdLocale(serverLanguageTag='$serverLanguageTag', locale='$locale')"
 }
\ No newline at end of file
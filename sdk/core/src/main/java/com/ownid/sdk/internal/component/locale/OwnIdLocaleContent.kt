@@ -61,6 +61,16 @@ internal class OwnIdLocaleContent(
         throw JSONException("No value found")
     }
 
+    /**
+     * Returns top-level keys whose content differs from [previous]. All keys are returned if [previous] is `null`.
+     */
+    internal fun changedKeys(previous: OwnIdLocaleContent?): Set<String> {
+        val keys = content.keys().asSequence().toMutableSet()
+        if (previous == null) return keys
+        previous.content.keys().forEach { keys.add(it) }
+        return keys.filterTo(HashSet()) { key -> content.opt(key)?.toString() != previous.content.opt(key)?.toString() }
+    }
+
     internal fun isExpired(): Boolean = System.currentTimeMillis() - timeStamp > LOCALE_CACHE_TIME
 
     @Throws(JSONException::class)
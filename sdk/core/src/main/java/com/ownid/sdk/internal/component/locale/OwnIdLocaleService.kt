@@ -6,6 +6,7 @@ import android.content.Intent
 import android.content.IntentFilter
 import android.os.Handler
 import android.os.Looper
+import android.view.Choreographer
 import androidx.annotation.MainThread
 import androidx.annotation.RestrictTo
 import androidx.core.content.ContextCompat
@@ -15,7 +16,9 @@ import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.exception.OwnIdException
 import com.ownid.sdk.internal.applyAppUrlHeader
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
-import okhttp3.Cache
+import com.ownid.sdk.internal.component.cache.OwnIdCacheBudget
+import com.ownid.sdk.internal.component.cache.OwnIdHttpCache
+import com.ownid.sdk.internal.component.cache.ownIdCache
 import okhttp3.Call
 import okhttp3.Callback
 import okhttp3.HttpUrl
@@ -32,11 +35,11 @@ import java.util.Collections
  */
 @InternalOwnIdAPI
 @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
-public class OwnIdLocaleService(context: Context, private val configuration: Configuration, okHttpClient: OkHttpClient) {
+public class OwnIdLocaleService(private val context: Context, private val configuration: Configuration, okHttpClient: OkHttpClient) {
 
     internal interface LocaleUpdateListener {
         @MainThread
-        fun onLocaleUpdated()
+        fun onLocaleUpdated(localeUpdate: OwnIdLocaleUpdate)
     }
 
     internal var currentOwnIdLocale: OwnIdLocale = OwnIdLocale.DEFAULT
@@ -50,6 +53,7 @@ public class OwnIdLocaleService(context: Context, private val configuration: Con
     private var languageTags: String? = null
     private var languageTagsProvider: (() -> String)? = null
     private var updateCurrentOwnIdLocale: Boolean = true
+    private var isClosed: Boolean = false
 
     @MainThread
     @JvmSynthetic
@@ -87,13 +91,38 @@ public class OwnIdLocaleService(context: Context, private val configuration: Con
         OwnIdInternalLogger.logD(this, "updateCurrentOwnIdLocale", "Selected locale: $currentOwnIdLocale")
     }
 
+    /**
+     * Downloads current and default locales if they are missing in cache or expired.
+     */
+    @MainThread
+    @JvmSynthetic
+    internal fun prefetchLocales(context: Context) {
+        updateCurrentOwnIdLocale(context)
+        fetchLocaleIfMissing(currentOwnIdLocale)
+        fetchLocaleIfMissing(OwnIdLocale.DEFAULT)
+    }
+
+    /**
+     * Downloads [ownIdLocale] to cache if server supports it and it is missing in cache or expired.
+     */
+    @MainThread
+    private fun fetchLocaleIfMissing(ownIdLocale: OwnIdLocale) {
+        if (ownIdServerLocales.containsLocale(ownIdLocale).not()) return
+        val localeData = OwnIdLocaleContent.fromCache(ownIdLocale, localeCache)
+        if (localeData == null || localeData.isExpired()) updateLocale(ownIdLocale)
+    }
+
     @MainThread
     @JvmSynthetic
     internal fun serverSupportedLocalesUpdated() {
+        if (isClosed) {
+            OwnIdInternalLogger.logD(this, "serverSupportedLocalesUpdated", "Ignored, service is closed")
+            return
+        }
         ownIdServerLocales = OwnIdServerLocales(configuration.server.supportedLocales.toList()).apply { saveToCache(localeCache) }
         OwnIdInternalLogger.logD(this, "serverSupportedLocalesUpdated", "Set ${ownIdServerLocales.size()} server locales.")
         updateCurrentOwnIdLocale = true
-        updateListenerSet.forEach { listener -> listener.onLocaleUpdated() }
+        notifyLocaleUpdated(OwnIdLocaleUpdate.ALL)
     }
 
     @MainThread
@@ -127,35 +156,73 @@ public class OwnIdLocaleService(context: Context, private val configuration: Con
         }
     }
 
-    private val localeCache = DiskLruCache.open(
-        File(context.cacheDir, "ownid_locales_v2"),
-        2,
-        1,
-        5L * 1024L * 1024L
-    )
+    private val ownIdLocaleCache: OwnIdDiskLruCache =
+        OwnIdDiskLruCache.open(File(context.cacheDir, "ownid_locales_v2"), 2, OwnIdCacheBudget.budgetBytes)
+    private val localeCache: DiskLruCache = ownIdLocaleCache.cache
 
     private var ownIdServerLocales = OwnIdServerLocales.fromCache(localeCache)
 
-    private val okHttpClient = okHttpClient.newBuilder()
-        .cache(Cache(directory = File(context.cacheDir, "ownid_locales_cache"), maxSize = 5L * 1024L * 1024L))
-        .build()
+    private val httpCache = OwnIdHttpCache(File(context.cacheDir, "ownid_locales_cache"), OwnIdCacheBudget.budgetBytes)
+        .open(okHttpClient.dispatcher.executorService)
+    private val okHttpClient = okHttpClient.newBuilder().ownIdCache(httpCache).build()
     private val requestsInProgress = Collections.synchronizedSet<String>(mutableSetOf())
     private val mainHandler = Handler(Looper.getMainLooper())
 
+    private var pendingLocaleUpdate: OwnIdLocaleUpdate? = null
+    private val localeReceiver = object : BroadcastReceiver() {
+        override fun onReceive(context: Context, intent: Intent) {
+            OwnIdInternalLogger.logI(this@OwnIdLocaleService, "onReceive", "Locale change detected: $intent")
+            updateCurrentOwnIdLocale = true
+            updateCurrentOwnIdLocale(context)
+        }
+    }
+
+    private val localeUpdateFrameCallback = Choreographer.FrameCallback {
+        val localeUpdate = pendingLocaleUpdate ?: return@FrameCallback
+        pendingLocaleUpdate = null
+        OwnIdInternalLogger.logD(this, "onLocaleUpdated", "$localeUpdate")
+        updateListenerSet.toList().forEach { listener -> listener.onLocaleUpdated(localeUpdate) }
+    }
+
     init {
         val languageTags = ConfigurationCompat.getLocales(context.resources.configuration).toLanguageTags()
         OwnIdInternalLogger.logI(this, "init", "Instance created. App language tags: $languageTags")
 
-        val receiver = object : BroadcastReceiver() {
-            override fun onReceive(context: Context, intent: Intent) {
-                OwnIdInternalLogger.logI(this@OwnIdLocaleService, "onReceive", "Locale change detected: $intent")
-                updateCurrentOwnIdLocale = true
-                updateCurrentOwnIdLocale(context)
-            }
-        }
-        ContextCompat.registerReceiver(context, receiver, IntentFilter(Intent.ACTION_LOCALE_CHANGED), ContextCompat.RECEIVER_NOT_EXPORTED)
+        ContextCompat.registerReceiver(context, localeReceiver, IntentFilter(Intent.ACTION_LOCALE_CHANGED), ContextCompat.RECEIVER_NOT_EXPORTED)
+    }
+
+    /**
+     * Unregisters locale change receiver, drops pending listener notification and closes locale caches.
+     */
+    @MainThread
+    @JvmSynthetic
+    internal fun close() {
+        OwnIdInternalLogger.logD(this, "close", "Invoked")
+        isClosed = true
+        runCatching { context.unregisterReceiver(localeReceiver) }
+        Choreographer.getInstance().removeFrameCallback(localeUpdateFrameCallback)
+        pendingLocaleUpdate = null
+        updateListenerSet.clear()
+        httpCache.close()
+        ownIdLocaleCache.close()
+    }
+
+    /**
+     * Coalesces listener notifications, so at most one is dispatched per frame.
+     */
+    @MainThread
+    private fun notifyLocaleUpdated(localeUpdate: OwnIdLocaleUpdate) {
+        if (localeUpdate.isEmpty()) return
+        val pending = pendingLocaleUpdate
+        pendingLocaleUpdate = pending?.plus(localeUpdate) ?: localeUpdate
+        if (pending == null) Choreographer.getInstance().postFrameCallback(localeUpdateFrameCallback)
     }
 
+    @MainThread
+    private fun isLocaleInUse(ownIdLocale: OwnIdLocale): Boolean = updateCurrentOwnIdLocale ||
+            ownIdLocale.serverLanguageTag == currentOwnIdLocale.serverLanguageTag ||
+            ownIdLocale.serverLanguageTag == OwnIdLocale.DEFAULT.serverLanguageTag
+
     @MainThread
     private fun getLanguageTags(context: Context): String {
         val tags = languageTagsProvider?.let { provider ->
@@ -218,14 +285,19 @@ public class OwnIdLocaleService(context: Context, private val configuration: Con
                     return
                 }
 
+                val localeUpdate = runCatching {
+                    val previousLocaleData = OwnIdLocaleContent.fromCache(ownIdLocale, localeCache)
+                    val localeData = OwnIdLocaleContent(ownIdLocale, JSONObject(jsonString)).apply { saveToCache(localeCache) }
+                    OwnIdInternalLogger.logD(this@OwnIdLocaleService, "updateLocale.onResponse", "OK $ownIdLocale")
+                    OwnIdLocaleUpdate.forKeys(localeData.changedKeys(previousLocaleData))
+                }.getOrElse {
+                    OwnIdInternalLogger.logE(this@OwnIdLocaleService, "updateLocale.onResponse", "${it.message} $ownIdLocale $url", it)
+                    requestsInProgress.remove(url.toString())
+                    return
+                }
+
                 mainHandler.post {
-                    runCatching {
-                        OwnIdLocaleContent(ownIdLocale, JSONObject(jsonString)).apply { saveToCache(localeCache) }
-                        OwnIdInternalLogger.logD(this@OwnIdLocaleService, "updateLocale.onResponse", "OK $ownIdLocale")
-                        updateListenerSet.forEach { listener -> listener.onLocaleUpdated() }
-                    }.onFailure {
-                        OwnIdInternalLogger.logE(this@OwnIdLocaleService, "updateLocale.onResponse", "${it.message} $ownIdLocale $url", it)
-                    }
+                    if (isLocaleInUse(ownIdLocale)) notifyLocaleUpdated(localeUpdate)
                     requestsInProgress.remove(url.toString())
                 }
             }
@@ -0,0 +1,30 @@
+package com.ownid.sdk.internal.component.locale
+
+import androidx.annotation.RestrictTo
+import com.ownid.sdk.InternalOwnIdAPI
+
+/**
+ * Hint passed to [OwnIdLocaleService.LocaleUpdateListener] with top-level locale content keys that changed.
+ * `null` [changedKeys] means any string could have changed.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdLocaleUpdate private constructor(private val changedKeys: Set<String>?) {
+
+    internal companion object {
+        @JvmField
+        internal val ALL: OwnIdLocaleUpdate = OwnIdLocaleUpdate(null)
+
+        internal fun forKeys(changedKeys: Set<String>): OwnIdLocaleUpdate = OwnIdLocaleUpdate(changedKeys)
+    }
+
+    internal fun isEmpty(): Boolean = changedKeys?.isEmpty() ?: false
+
+    internal fun affects(vararg ownIdLocaleKeys: OwnIdLocaleKey): Boolean =
+        changedKeys == null || ownIdLocaleKeys.any { it.keys.firstOrNull() in changedKeys }
+
+    internal operator fun plus(other: OwnIdLocaleUpdate): OwnIdLocaleUpdate =
+        if (changedKeys == null || other.changedKeys == null) ALL else OwnIdLocaleUpdate(changedKeys + other.changedKeys)
+
+    override fun toString(): String = "OwnIdLocaleUpdate(changedKeys=${changedKeys ?: "ALL"})"
+}
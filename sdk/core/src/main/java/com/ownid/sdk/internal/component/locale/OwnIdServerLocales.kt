@@ -5,6 +5,7 @@ import com.ownid.sdk.InternalOwnIdAPI
 import org.json.JSONArray
 import org.json.JSONObject
 import java.util.Locale
+import java.util.concurrent.ConcurrentHashMap
 
 @InternalOwnIdAPI
 @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
@@ -12,8 +13,17 @@ internal class OwnIdServerLocales(languageTags: List<String>, private val timeSt
 
     private val ownIdLocales: List<OwnIdLocale> = languageTags.map { OwnIdLocale.forLanguageTag(it) }
 
+    private val serverLanguageTags: Set<String> = ownIdLocales.mapTo(HashSet()) { it.serverLanguageTag }
+
+    // Keyed by both language+country and language-only locales. First server locale wins, same as a linear scan.
+    private val localeIndex: Map<Locale, OwnIdLocale> = HashMap<Locale, OwnIdLocale>().apply {
+        ownIdLocales.forEach { ownIdLocale -> getOrPut(ownIdLocale.locale) { ownIdLocale } }
+    }
+    private val selectedLocales: MutableMap<String, OwnIdLocale> = ConcurrentHashMap()
+
     internal companion object {
         private const val CACHE_KEY: String = "locales"
+        private const val MAX_SELECTED_LOCALES: Int = 16
 
         internal fun fromCache(cache: DiskLruCache): OwnIdServerLocales = runCatching {
             val (timeStamp, data) = CachedString.get(CACHE_KEY, cache) ?: return@runCatching OwnIdServerLocales(emptyList(), 0)
@@ -30,17 +40,15 @@ internal class OwnIdServerLocales(languageTags: List<String>, private val timeSt
 
     internal fun size(): Int = ownIdLocales.size
 
-    internal fun containsLocale(ownIdLocale: OwnIdLocale): Boolean =
-        ownIdLocales.any { it.serverLanguageTag == ownIdLocale.serverLanguageTag }
+    internal fun containsLocale(ownIdLocale: OwnIdLocale): Boolean = serverLanguageTags.contains(ownIdLocale.serverLanguageTag)
+
+    internal fun selectLocale(languageTags: String): OwnIdLocale = selectedLocales.getOrPut(languageTags) {
+        if (selectedLocales.size >= MAX_SELECTED_LOCALES) selectedLocales.clear()
+        resolveLocale(languageTags)
+    }
 
-    internal fun selectLocale(languageTags: String): OwnIdLocale = languageTags.split(",").firstNotNullOfOrNull { tag ->
+    private fun resolveLocale(languageTags: String): OwnIdLocale = languageTags.split(",").firstNotNullOfOrNull { tag ->
         val locale = Locale.forLanguageTag(tag)
-        run {
-            val languageAndCountry = Locale(locale.language, locale.country)
-            ownIdLocales.firstOrNull { it.isSameLocale(languageAndCountry) }
-        } ?: run {
-            val language = Locale(locale.language)
-            ownIdLocales.firstOrNull { it.isSameLocale(language) }
-        }
+        localeIndex[Locale(locale.language, locale.country)] ?: localeIndex[Locale(locale.language)]
     } ?: OwnIdLocale.DEFAULT
 }
\ No newline at end of file
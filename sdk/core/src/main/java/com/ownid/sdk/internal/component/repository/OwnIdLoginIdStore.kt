@@ -0,0 +1,145 @@
+package com.ownid.sdk.internal.component.repository
+
+import androidx.annotation.RestrictTo
+import androidx.core.util.AtomicFile
+import com.ownid.sdk.AuthMethod
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.OwnIdLoginIdData
+import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import okio.ByteString
+import okio.ByteString.Companion.encodeUtf8
+import okio.ByteString.Companion.toByteString
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.IOException
+
+/**
+ * Stores last login ID and [OwnIdLoginIdData] of up to [maxLoginIds] login IDs in a single binary file.
+ * Least recently used login ID data is removed first.
+ *
+ * Login IDs with data are stored as SHA-256 hashes. The file is read once, after that all reads are served from memory
+ * and each write replaces the file, which is at most [maxLoginIds] records long.
+ *
+ * File format: magic, version, last login ID, records count, then records from least to most recently used.
+ * Each record is 32 bytes login ID hash, auth method and last enrollment timestamp.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdLoginIdStore(file: File, private val maxLoginIds: Int) {
+
+    private companion object {
+        private const val MAGIC: Int = 0x4F49444C
+        private const val VERSION: Int = 1
+        private const val HASH_SIZE: Int = 32
+    }
+
+    private val atomicFile = AtomicFile(file)
+    private val mutex = Mutex()
+
+    private val records: LinkedHashMap<ByteString, OwnIdLoginIdData> = LinkedHashMap(16, 0.75f, true)
+    private var lastLoginId: String? = null
+    private var isLoaded: Boolean = false
+
+    private val hashes: LinkedHashMap<String, ByteString> = object : LinkedHashMap<String, ByteString>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, ByteString>?): Boolean = size > maxLoginIds
+    }
+
+    @JvmSynthetic
+    internal fun exists(): Boolean = atomicFile.baseFile.exists()
+
+    @JvmSynthetic
+    internal suspend fun getLastLoginId(): String? = withStore { lastLoginId }
+
+    @JvmSynthetic
+    internal suspend fun getLoginIdData(loginId: String): OwnIdLoginIdData? = withStore { records[loginId.hash()] }
+
+    /**
+     * Replaces data of [loginId] with result of [transform] and optionally makes [loginId] last login ID, in a single write.
+     */
+    @JvmSynthetic
+    @Throws(IOException::class)
+    internal suspend fun update(loginId: String, setLastLoginId: Boolean, transform: (OwnIdLoginIdData) -> OwnIdLoginIdData) =
+        withStore {
+            val hash = loginId.hash()
+            records[hash] = transform(records[hash] ?: OwnIdLoginIdData())
+            if (setLastLoginId) lastLoginId = loginId
+            write()
+        }
+
+    /**
+     * Adds login ID data which login IDs are known only by hash. Existing records are kept.
+     */
+    @JvmSynthetic
+    @Throws(IOException::class)
+    internal suspend fun import(lastLoginId: String?, loginIdData: Map<ByteString, OwnIdLoginIdData>) = withStore {
+        val lastLoginIdHash = lastLoginId?.hash()
+        loginIdData.entries.sortedBy { it.key == lastLoginIdHash }.forEach { (hash, data) ->
+            if (records.containsKey(hash).not()) records[hash] = data
+        }
+        if (this.lastLoginId == null) this.lastLoginId = lastLoginId
+        write()
+    }
+
+    private suspend fun <T> withStore(block: () -> T): T = mutex.withLock {
+        withContext(Dispatchers.IO) {
+            if (isLoaded.not()) {
+                runCatching { read() }.onFailure {
+                    OwnIdInternalLogger.logW(this@OwnIdLoginIdStore, "read", it.message, it)
+                    records.clear()
+                    lastLoginId = null
+                }
+                isLoaded = true
+            }
+            block()
+        }
+    }
+
+    private fun String.hash(): ByteString = hashes.getOrPut(this) { encodeUtf8().sha256() }
+
+    @Throws(IOException::class)
+    private fun read() {
+        if (exists().not()) return
+        DataInputStream(atomicFile.openRead().buffered()).use { input ->
+            if (input.readInt() != MAGIC || input.readUnsignedByte() != VERSION) throw IOException("Unsupported file format")
+            lastLoginId = input.readUTF().ifEmpty { null }
+            repeat(input.readInt()) {
+                val hash = ByteArray(HASH_SIZE).also { input.readFully(it) }.toByteString()
+                val authMethod = AuthMethod.fromString(input.readUTF())
+                records[hash] = OwnIdLoginIdData(authMethod, input.readLong())
+            }
+        }
+    }
+
+    @Throws(IOException::class)
+    private fun write() {
+        val iterator = records.entries.iterator()
+        while (records.size > maxLoginIds && iterator.hasNext()) {
+            iterator.next()
+            iterator.remove()
+        }
+
+        val outputStream = atomicFile.startWrite()
+        try {
+            val output = DataOutputStream(outputStream.buffered())
+            output.writeInt(MAGIC)
+            output.writeByte(VERSION)
+            output.writeUTF(lastLoginId.orEmpty())
+            output.writeInt(records.size)
+            records.forEach { (hash, data) ->
+                output.write(hash.toByteArray())
+                output.writeUTF(data.authMethod?.toString().orEmpty())
+                output.writeLong(data.lastEnrollmentTimestamp)
+            }
+            output.flush()
+            atomicFile.finishWrite(outputStream)
+        } catch (cause: IOException) {
+            atomicFile.failWrite(outputStream)
+            throw cause
+        }
+    }
+}
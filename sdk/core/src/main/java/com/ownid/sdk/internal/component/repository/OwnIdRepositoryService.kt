@@ -2,50 +2,133 @@ package com.ownid.sdk.internal.component.repository
 
 import android.content.Context
 import androidx.annotation.RestrictTo
-import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.core.stringPreferencesKey
 import com.ownid.sdk.AuthMethod
+import com.ownid.sdk.Configuration
 import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.internal.OwnIdLoginIdData
-import com.ownid.sdk.internal.toBase64UrlSafeNoPadding
-import com.ownid.sdk.internal.toSHA256Bytes
+import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
+import okio.ByteString.Companion.decodeBase64
+import java.io.File
 import java.io.IOException
 
 @InternalOwnIdAPI
 @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
-internal class OwnIdRepositoryService private constructor(private val storage: OwnIdStorage) {
+internal class OwnIdRepositoryService private constructor(
+    private val storage: OwnIdStorage,
+    private val loginIdStore: OwnIdLoginIdStore
+) {
 
     internal companion object {
         private val LOGIN_ID_PREF_KEY = stringPreferencesKey("com.ownid.sdk.storage.KEY_LOGIN_ID")
+        private const val LOGIN_ID_DATA_PREF_KEY_PREFIX = "com.ownid.sdk.storage.KEY_LOGIN_ID_DATA_"
 
-        internal fun create(context: Context, appId: String): OwnIdRepositoryService =
-            OwnIdRepositoryService(OwnIdStorage(context, appId))
+        internal fun create(
+            context: Context, appId: String, maxLoginIds: Int = Configuration.DEFAULT_MAX_LOGIN_IDS
+        ): OwnIdRepositoryService = OwnIdRepositoryService(
+            OwnIdStorage(context, appId),
+            OwnIdLoginIdStore(File(context.filesDir, "ownid/com.ownid.sdk.login_ids_$appId"), maxLoginIds)
+        )
     }
 
-    internal suspend fun getLoginId(): String? = storage.getString(LOGIN_ID_PREF_KEY)
+    private val scope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
+    private val loginIdLoaded: CompletableDeferred<Unit> = CompletableDeferred()
+    private val _loginId: MutableStateFlow<String?> = MutableStateFlow(null)
+
+    /**
+     * Last saved login ID. Loaded from storage in background on creation and updated on each [saveLoginId].
+     * It is `null` until loaded, so decisions about returning user must use [getLoginId] or [withLoginId].
+     */
+    internal val loginId: StateFlow<String?> = _loginId.asStateFlow()
+
+    init {
+        scope.launch {
+            runCatching { migrateFromStorage() }
+                .onFailure { OwnIdInternalLogger.logW(this@OwnIdRepositoryService, "migrateFromStorage", it.message, it) }
+            // Login ID saved while loading wins over stored one
+            loginIdStore.getLastLoginId()?.let { _loginId.compareAndSet(null, it) }
+            loginIdLoaded.complete(Unit)
+        }
+    }
+
+    @JvmSynthetic
+    internal fun close() {
+        scope.cancel()
+        loginIdLoaded.complete(Unit)
+        storage.close()
+    }
+
+    internal suspend fun getLoginId(): String? {
+        loginIdLoaded.await()
+        return _loginId.value
+    }
+
+    /**
+     * Calls [block] with last login ID once it is loaded: immediately if it is already loaded, otherwise on loading thread.
+     */
+    @JvmSynthetic
+    internal fun withLoginId(block: (String?) -> Unit) {
+        if (loginIdLoaded.isCompleted) block(_loginId.value) else loginIdLoaded.invokeOnCompletion { block(_loginId.value) }
+    }
+
+    /**
+     * `true` once last login ID is loaded from storage and [loginId] holds its actual value.
+     */
+    @get:JvmSynthetic
+    internal val isLoginIdLoaded: Boolean
+        get() = loginIdLoaded.isCompleted
 
     @Throws(IOException::class)
     internal suspend fun saveLoginId(loginId: String, authMethod: AuthMethod?) = withContext(NonCancellable) {
-        storage.saveString(LOGIN_ID_PREF_KEY, loginId)
-        saveLoginIdData(loginId, getLoginIdData(loginId).copy(authMethod = authMethod))
+        loginIdLoaded.await()
+        loginIdStore.update(loginId, setLastLoginId = true) { loginIdData -> loginIdData.copy(authMethod = authMethod) }
+        _loginId.value = loginId
     }
 
-    private val String.dataPreferencesKey: Preferences.Key<String>
-        get() {
-            val suffix = encodeToByteArray().toSHA256Bytes().toBase64UrlSafeNoPadding()
-            return stringPreferencesKey("com.ownid.sdk.storage.KEY_LOGIN_ID_DATA_$suffix")
-        }
-
-    internal suspend fun getLoginIdData(loginId: String): OwnIdLoginIdData =
-        storage.getString(loginId.dataPreferencesKey)
-            ?.let { json -> OwnIdLoginIdData.fromJsonString(json) }
-            ?: OwnIdLoginIdData()
+    internal suspend fun getLoginIdData(loginId: String): OwnIdLoginIdData {
+        loginIdLoaded.await()
+        return loginIdStore.getLoginIdData(loginId) ?: OwnIdLoginIdData()
+    }
 
     @Throws(IOException::class)
     internal suspend fun saveLoginIdData(loginId: String, loginIdOwnIdLoginIdData: OwnIdLoginIdData) =
         withContext(NonCancellable) {
-            storage.saveString(loginId.dataPreferencesKey, loginIdOwnIdLoginIdData.toJsonString())
+            loginIdLoaded.await()
+            loginIdStore.update(loginId, setLastLoginId = false) { loginIdOwnIdLoginIdData }
         }
-}
\ No newline at end of file
+
+    /**
+     * Moves login ID and login ID data kept in [OwnIdStorage] by previous SDK versions to [OwnIdLoginIdStore].
+     */
+    private suspend fun migrateFromStorage() {
+        if (loginIdStore.exists() || storage.exists().not()) return
+
+        val preferences = storage.getAll()
+        val legacyEntries = preferences.asMap().entries
+            .filter { it.key.name == LOGIN_ID_PREF_KEY.name || it.key.name.startsWith(LOGIN_ID_DATA_PREF_KEY_PREFIX) }
+        if (legacyEntries.isEmpty()) return
+
+        val loginIdData = legacyEntries.mapNotNull { (key, value) ->
+            if (key.name.startsWith(LOGIN_ID_DATA_PREF_KEY_PREFIX).not()) return@mapNotNull null
+            val hash = key.name.removePrefix(LOGIN_ID_DATA_PREF_KEY_PREFIX).decodeBase64()?.takeIf { it.size == 32 }
+            val data = (value as? String)?.let { OwnIdLoginIdData.fromJsonString(it) }
+            if (hash == null || data == null) null else hash to data
+        }.toMap()
+
+        loginIdStore.import(preferences[LOGIN_ID_PREF_KEY], loginIdData)
+        storage.update { mutablePreferences -> legacyEntries.forEach { mutablePreferences.remove(it.key) } }
+        OwnIdInternalLogger.logD(this, "migrateFromStorage", "Migrated ${loginIdData.size} login IDs")
+    }
+}
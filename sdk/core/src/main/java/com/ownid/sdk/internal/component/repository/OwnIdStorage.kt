@@ -4,6 +4,7 @@ import android.content.Context
 import androidx.annotation.RestrictTo
 import androidx.datastore.core.DataStore
 import androidx.datastore.core.handlers.ReplaceFileCorruptionHandler
+import androidx.datastore.preferences.core.MutablePreferences
 import androidx.datastore.preferences.core.PreferenceDataStoreFactory
 import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.core.edit
@@ -11,9 +12,13 @@ import androidx.datastore.preferences.core.emptyPreferences
 import androidx.datastore.preferences.preferencesDataStoreFile
 import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
 import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.first
-import kotlinx.coroutines.flow.map
+import java.io.File
 import java.io.IOException
 
 @InternalOwnIdAPI
@@ -24,34 +29,46 @@ internal class OwnIdStorage(context: Context, appId: String) {
         OwnIdInternalLogger.logD(this, "init", "Invoked")
     }
 
+    private val file: File = context.preferencesDataStoreFile("ownid/com.ownid.sdk.storage.core_$appId")
+
+    private val scope: CoroutineScope = CoroutineScope(Dispatchers.IO + SupervisorJob())
+
     private val dataStore: DataStore<Preferences> = PreferenceDataStoreFactory.create(
         corruptionHandler = ReplaceFileCorruptionHandler { error ->
             OwnIdInternalLogger.logW(this@OwnIdStorage, "PreferenceDataStoreFactory.create", error.message, error)
             emptyPreferences()
         },
-        produceFile = {
-            context.preferencesDataStoreFile("ownid/com.ownid.sdk.storage.core_$appId")
-        }
+        scope = scope,
+        produceFile = { file }
     )
 
+    @JvmSynthetic
+    internal fun exists(): Boolean = file.exists()
+
+    /**
+     * Applies all changes made by [transform] in a single atomic write.
+     */
     @JvmSynthetic
     @Throws(IOException::class)
-    internal suspend fun saveString(key: Preferences.Key<String>, value: String) {
-        dataStore.edit { preferences -> preferences[key] = value }
+    internal suspend fun update(transform: (MutablePreferences) -> Unit) {
+        dataStore.edit { preferences -> transform(preferences) }
     }
 
     @JvmSynthetic
-    internal suspend fun getString(key: Preferences.Key<String>): String? {
+    internal suspend fun getAll(): Preferences {
         return dataStore.data
             .catch { error ->
-                OwnIdInternalLogger.logW(this@OwnIdStorage, "OwnIdStorage.getString.data", error.message, error)
+                OwnIdInternalLogger.logW(this@OwnIdStorage, "OwnIdStorage.getAll.data", error.message, error)
                 emit(emptyPreferences())
             }
-            .map { preferences -> preferences[key] }
-            .catch { error ->
-                OwnIdInternalLogger.logW(this@OwnIdStorage, "OwnIdStorage.getString.get", error.message, error)
-                emit(null)
-            }
             .first()
     }
-}
\ No newline at end of file
+
+    /**
+     * Cancels DataStore scope, so storage file is released and a new [OwnIdStorage] for the same app id can be created.
+     */
+    @JvmSynthetic
+    internal fun close() {
+        scope.cancel()
+    }
+}
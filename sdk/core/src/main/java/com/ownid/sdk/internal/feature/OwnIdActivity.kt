@@ -13,7 +13,6 @@ import com.ownid.sdk.exception.OwnIdException
 public class OwnIdActivity : AppCompatActivity() {
 
     internal companion object {
-        internal const val KEY_RESULT = "com.ownid.sdk.internal.intent.KEY_RESULT"
         internal const val KEY_RESULT_UI_ERROR = "com.ownid.sdk.internal.result.KEY_RESULT_UI_ERROR"
     }
 
@@ -26,7 +25,7 @@ public class OwnIdActivity : AppCompatActivity() {
         overridePendingTransition(0, 0)
 
         feature = OwnIdFeature.fromIntent(intent) ?: run {
-            setResult(RESULT_OK, Intent().putExtra(KEY_RESULT, Result.failure<Any>(OwnIdException("Unknown feature intent"))))
+            setResult(RESULT_OK, OwnIdResultRegistry.createResultIntent(Result.failure<Any>(OwnIdException("Unknown feature intent"))))
             finish()
             overridePendingTransition(0, 0)
             return
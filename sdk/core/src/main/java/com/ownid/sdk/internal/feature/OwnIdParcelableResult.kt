@@ -0,0 +1,97 @@
+package com.ownid.sdk.internal.feature
+
+import android.os.Parcel
+import android.os.Parcelable
+import androidx.annotation.RestrictTo
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnIdFlowInfo
+import com.ownid.sdk.OwnIdPayload
+import com.ownid.sdk.OwnIdResponse
+import com.ownid.sdk.exception.OwnIdException
+
+/**
+ * [Parcelable] copy of OwnID activity [Result]. Used by [OwnIdResultRegistry] only when in-memory result is lost
+ * with application process.
+ *
+ * Supports results of OwnID activities: `null`, [String], [Pair] of strings and [OwnIdResponse].
+ * Failures are rare and keep their exception type, so they are written as [java.io.Serializable].
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdParcelableResult(internal val result: Result<*>) : Parcelable {
+
+    internal companion object {
+        private const val TYPE_NULL: Int = 0
+        private const val TYPE_STRING: Int = 1
+        private const val TYPE_PAIR: Int = 2
+        private const val TYPE_RESPONSE: Int = 3
+        private const val TYPE_FAILURE: Int = 4
+
+        @JvmField
+        internal val CREATOR: Parcelable.Creator<OwnIdParcelableResult> = object : Parcelable.Creator<OwnIdParcelableResult> {
+            override fun createFromParcel(parcel: Parcel): OwnIdParcelableResult = OwnIdParcelableResult(readResult(parcel))
+            override fun newArray(size: Int): Array<OwnIdParcelableResult?> = arrayOfNulls(size)
+        }
+
+        @Suppress("DEPRECATION")
+        private fun readResult(parcel: Parcel): Result<*> = when (val type = parcel.readInt()) {
+            TYPE_NULL -> Result.success(null)
+            TYPE_STRING -> Result.success(parcel.readString())
+            TYPE_PAIR -> Result.success(parcel.readString()!! to parcel.readString()!!)
+            TYPE_RESPONSE -> Result.success(
+                OwnIdResponse(
+                    context = parcel.readString()!!,
+                    loginId = parcel.readString()!!,
+                    flowInfo = OwnIdFlowInfo(OwnIdFlowInfo.Event.valueOf(parcel.readString()!!), parcel.readString()!!, parcel.readString()),
+                    payload = OwnIdPayload(OwnIdPayload.Type.valueOf(parcel.readString()!!), parcel.readString()!!, parcel.readString()!!),
+                    languageTag = parcel.readString()!!
+                )
+            )
+
+            TYPE_FAILURE -> Result.failure<Any>(parcel.readSerializable() as? Throwable ?: OwnIdException("Unknown error"))
+            else -> Result.failure<Any>(OwnIdException("Unknown result type: $type"))
+        }
+    }
+
+    override fun writeToParcel(parcel: Parcel, flags: Int) {
+        val value = result.getOrElse { cause ->
+            parcel.writeInt(TYPE_FAILURE)
+            parcel.writeSerializable(cause)
+            return
+        }
+        when (value) {
+            null -> parcel.writeInt(TYPE_NULL)
+
+            is String -> {
+                parcel.writeInt(TYPE_STRING)
+                parcel.writeString(value)
+            }
+
+            is Pair<*, *> -> {
+                parcel.writeInt(TYPE_PAIR)
+                parcel.writeString(value.first as String)
+                parcel.writeString(value.second as String)
+            }
+
+            is OwnIdResponse -> {
+                parcel.writeInt(TYPE_RESPONSE)
+                parcel.writeString(value.context)
+                parcel.writeString(value.loginId)
+                parcel.writeString(value.flowInfo.event.name)
+                parcel.writeString(value.flowInfo.authType)
+                parcel.writeString(value.flowInfo.authToken)
+                parcel.writeString(value.payload.type.name)
+                parcel.writeString(value.payload.data)
+                parcel.writeString(value.payload.metadata)
+                parcel.writeString(value.languageTag)
+            }
+
+            else -> {
+                parcel.writeInt(TYPE_FAILURE)
+                parcel.writeSerializable(OwnIdException("Unsupported result type: ${value.javaClass.name}"))
+            }
+        }
+    }
+
+    override fun describeContents(): Int = 0
+}
@@ -0,0 +1,45 @@
+package com.ownid.sdk.internal.feature
+
+import android.content.Intent
+import androidx.annotation.RestrictTo
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.exception.OwnIdException
+import java.util.UUID
+
+/**
+ * Passes results of OwnID activities within application process without serialization.
+ *
+ * Result intent holds only a token for the result kept in memory, and [OwnIdParcelableResult] copy
+ * that is used if application process was recreated before the result was delivered.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal object OwnIdResultRegistry {
+
+    private const val KEY_RESULT_TOKEN = "com.ownid.sdk.internal.intent.KEY_RESULT_TOKEN"
+    private const val KEY_RESULT = "com.ownid.sdk.internal.intent.KEY_RESULT"
+    private const val MAX_PENDING_RESULTS = 8
+
+    // Results are removed when delivered. Results that never get delivered (caller is gone) are dropped oldest first.
+    private val results: LinkedHashMap<String, Result<*>> = object : LinkedHashMap<String, Result<*>>() {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Result<*>>?): Boolean = size > MAX_PENDING_RESULTS
+    }
+
+    @JvmSynthetic
+    internal fun createResultIntent(result: Result<*>): Intent {
+        val token = UUID.randomUUID().toString()
+        synchronized(results) { results[token] = result }
+        return Intent().putExtra(KEY_RESULT_TOKEN, token).putExtra(KEY_RESULT, OwnIdParcelableResult(result))
+    }
+
+    @JvmSynthetic
+    @Suppress("DEPRECATION", "UNCHECKED_CAST")
+    internal fun <T> getResult(intent: Intent?): Result<T> {
+        intent ?: return Result.failure(OwnIdException("No result data"))
+        val token = intent.getStringExtra(KEY_RESULT_TOKEN)
+        val result = token?.let { synchronized(results) { results.remove(it) } }
+            ?: intent.getParcelableExtra<OwnIdParcelableResult>(KEY_RESULT)?.result
+            ?: Result.failure<T>(OwnIdException("No result data"))
+        return result as Result<T>
+    }
+}
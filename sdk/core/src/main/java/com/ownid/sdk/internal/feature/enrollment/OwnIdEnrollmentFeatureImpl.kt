@@ -25,6 +25,7 @@ import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.component.events.Metric
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleKey
 import com.ownid.sdk.internal.feature.OwnIdActivity
+import com.ownid.sdk.internal.feature.OwnIdResultRegistry
 import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.filterNotNull
 import kotlinx.coroutines.flow.launchIn
@@ -95,7 +96,7 @@ internal class OwnIdEnrollmentFeatureImpl : OwnIdEnrollmentFeature {
                     is OwnIdEnrollmentViewModelInt.State.ShowFido -> {
                         if (fidoRequested.not()) {
                             fidoRequested = true
-                            val fidoResult = runFidoCreate(activity, state.options)
+                            val fidoResult = runFidoCreate(activity, enrollmentParams.ownIdCore.credentialService.credentialManager, state.options)
                             viewModel.onFidoResult(fidoResult)
                         }
                     }
@@ -140,16 +141,16 @@ internal class OwnIdEnrollmentFeatureImpl : OwnIdEnrollmentFeature {
     @Suppress("DEPRECATION")
     override fun sendResult(activity: AppCompatActivity, result: Result<String>) {
         OwnIdInternalLogger.logD(this, "sendResult", result.toString())
-        activity.setResult(AppCompatActivity.RESULT_OK, Intent().putExtra(OwnIdActivity.KEY_RESULT, result))
+        activity.setResult(AppCompatActivity.RESULT_OK, OwnIdResultRegistry.createResultIntent(result))
         activity.finish()
         activity.overridePendingTransition(0, 0)
     }
 
     @SuppressLint("PublicKeyCredential")
-    private suspend fun runFidoCreate(context: Context, createOptions: String): Result<String> = runCatching {
+    private suspend fun runFidoCreate(context: Context, credentialManager: CredentialManager, createOptions: String): Result<String> = runCatching {
         val request = CreatePublicKeyCredentialRequest(createOptions, preferImmediatelyAvailableCredentials = true)
 
-        val result = CredentialManager.create(context).createCredential(context, request)
+        val result = credentialManager.createCredential(context, request)
 
         if (result is CreatePublicKeyCredentialResponse) result.registrationResponseJson
         else throw OwnIdException("CreateCredentialResponse unsupported result type: ${result.type}")
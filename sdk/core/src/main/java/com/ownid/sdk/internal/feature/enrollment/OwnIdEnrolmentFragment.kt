@@ -28,6 +28,7 @@ import com.ownid.sdk.R
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleKey
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleService
+import com.ownid.sdk.internal.component.locale.OwnIdLocaleUpdate
 import com.ownid.sdk.internal.feature.OwnIdActivity
 import kotlinx.coroutines.flow.filterNotNull
 import kotlinx.coroutines.flow.launchIn
@@ -133,8 +134,8 @@ internal class OwnIdEnrolmentFragment(@LayoutRes private val contentLayoutId: In
         super.onCancel(dialog)
     }
 
-    override fun onLocaleUpdated() {
-        OwnIdInternalLogger.logD(this, "onLocaleUpdated", "Invoked")
+    override fun onLocaleUpdated(localeUpdate: OwnIdLocaleUpdate) {
+        OwnIdInternalLogger.logD(this, "onLocaleUpdated", "Invoked: $localeUpdate")
         setStrings()
     }
 
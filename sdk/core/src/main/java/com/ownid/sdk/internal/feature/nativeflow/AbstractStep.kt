@@ -12,6 +12,7 @@ import com.ownid.sdk.OwnIdCallback
 import com.ownid.sdk.exception.OwnIdException
 import com.ownid.sdk.exception.OwnIdFlowCanceled
 import com.ownid.sdk.internal.applyAppUrlHeader
+import com.ownid.sdk.internal.await
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.component.events.Metadata
 import com.ownid.sdk.internal.component.events.Metric
@@ -22,16 +23,17 @@ import com.ownid.sdk.internal.feature.nativeflow.steps.fido.FidoRegisterAuthStep
 import com.ownid.sdk.internal.feature.nativeflow.steps.idcollect.IdCollectStep
 import com.ownid.sdk.internal.feature.nativeflow.steps.otp.OtpAuthStep
 import com.ownid.sdk.internal.feature.nativeflow.steps.webapp.WebAppStep
-import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
 import okhttp3.CacheControl
-import okhttp3.Call
-import okhttp3.Callback
 import okhttp3.HttpUrl
 import okhttp3.MediaType
 import okhttp3.MediaType.Companion.toMediaType
 import okhttp3.Request
 import okhttp3.RequestBody.Companion.toRequestBody
-import okhttp3.Response
 import org.json.JSONException
 import org.json.JSONObject
 import java.io.IOException
@@ -40,8 +42,7 @@ import java.io.IOException
 @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
 internal abstract class AbstractStep(
     internal val ownIdNativeFlowData: OwnIdNativeFlowData,
-    protected val onNextStep: (AbstractStep) -> Unit,
-    private val networkHandler: Handler? = Handler(Looper.getMainLooper())
+    protected val onNextStep: (AbstractStep) -> Unit
 ) {
 
     @InternalOwnIdAPI
@@ -105,17 +106,42 @@ internal abstract class AbstractStep(
 
     @MainThread
     protected fun sendMetric(type: Metric.EventType, action: String, errorMessage: String? = null, errorCode: String? = null) {
-        val returningUser = runBlocking { ownIdNativeFlowData.ownIdCore.repository.getLoginId() }?.isNotBlank() ?: false
-        ownIdNativeFlowData.ownIdCore.eventsService.sendMetric(
-            ownIdNativeFlowData.flowType, type, action, Metadata(returningUser = returningUser), getMetricSource(), errorMessage, errorCode
-        )
+        val metricSource = getMetricSource()
+        ownIdNativeFlowData.ownIdCore.repository.withLoginId { loginId ->
+            ownIdNativeFlowData.ownIdCore.eventsService.sendMetric(
+                ownIdNativeFlowData.flowType, type, action, Metadata(returningUser = loginId.isNullOrBlank().not()), metricSource,
+                errorMessage, errorCode
+            )
+        }
     }
 
     override fun toString(): String = this::class.java.simpleName + "#" + this.hashCode()
 
+    /**
+     * Runs [request] in flow coroutine scope and passes its result to [callback] on main thread.
+     *
+     * When flow is canceled, [request] is canceled together with its network call and [callback] is not invoked.
+     */
+    @MainThread
+    protected fun <T> launchRequest(request: suspend () -> T, callback: OwnIdCallback<T>): Job =
+        ownIdNativeFlowData.coroutineScope.launch {
+            val result = runCatching { request.invoke() }
+            ensureActive()
+            callback(result)
+        }
+
+    /**
+     * Sends [postData] to [url] and passes response body to [parse] on background thread.
+     */
+    protected suspend fun <T> doPostRequest(url: HttpUrl, postData: String, parse: (String) -> T): T {
+        val response = doPostRequest(url, postData)
+        return withContext(Dispatchers.Default) { parse(response) }
+    }
+
     @JvmSynthetic
-    @VisibleForTesting(otherwise = VisibleForTesting.PROTECTED)
-    public fun doPostRequest(ownIdNativeFlowData: OwnIdNativeFlowData, url: HttpUrl, postData: String, callback: OwnIdCallback<String>) {
+    @Throws(OwnIdException::class)
+    @VisibleForTesting(otherwise = VisibleForTesting.PRIVATE)
+    internal suspend fun doPostRequest(url: HttpUrl, postData: String): String {
         OwnIdInternalLogger.logD(this, "doPostRequest", "$url")
 
         val requestUrl = ownIdNativeFlowData.ownIdCore.configuration.apiUrl.newBuilder()
@@ -131,24 +157,19 @@ internal abstract class AbstractStep(
             .cacheControl(CACHE_CONTROL_FORCE_NETWORK_NO_CACHE)
             .build()
 
-        ownIdNativeFlowData.ownIdCore.okHttpClient.newCall(request).enqueue(object : Callback {
-            override fun onFailure(call: Call, e: IOException) {
-                runOnHandler { callback(Result.failure(OwnIdException("Request fail ($url) ${e.message}", e))) }
+        return withContext(Dispatchers.IO) {
+            val response = try {
+                ownIdNativeFlowData.ownIdCore.okHttpClient.newCall(request).await()
+            } catch (cause: IOException) {
+                throw OwnIdException("Request fail ($url) ${cause.message}", cause)
             }
 
-            override fun onResponse(call: Call, response: Response) {
-                OwnIdInternalLogger.logD(this@AbstractStep, "doPostRequest.onResponse", "(${url.encodedPath}): ${response.code}")
-                val result = runCatching {
-                    if (response.isSuccessful) response.use { it.body!!.string() }
-                    else throw OwnIdException("Server response ($url): ${response.code} ${response.message}")
-                }
-                runOnHandler { callback(result) }
+            OwnIdInternalLogger.logD(this@AbstractStep, "doPostRequest.onResponse", "(${url.encodedPath}): ${response.code}")
+            response.use {
+                if (it.isSuccessful) it.body!!.string()
+                else throw OwnIdException("Server response ($url): ${it.code} ${it.message}")
             }
-        })
-    }
-
-    private fun runOnHandler(action: Runnable) {
-        networkHandler?.post(action) ?: action.run()
+        }
     }
 
     private companion object {
@@ -24,8 +24,8 @@ import com.ownid.sdk.internal.component.events.Metadata
 import com.ownid.sdk.internal.component.events.Metric
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleKey
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleService
+import com.ownid.sdk.internal.component.locale.OwnIdLocaleUpdate
 import com.ownid.sdk.internal.feature.OwnIdActivity
-import kotlinx.coroutines.runBlocking
 import kotlin.math.roundToInt
 
 @InternalOwnIdAPI
@@ -81,15 +81,19 @@ internal abstract class AbstractStepUI<S : AbstractStep>(@LayoutRes private val
         currentStep.ownIdNativeFlowData.ownIdCore.localeService.registerLocaleUpdateListener(this)
         setStrings()
 
-        val returningUser = runBlocking { currentStep.ownIdNativeFlowData.ownIdCore.repository.getLoginId() }?.isNotBlank() ?: false
-
-        currentStep.ownIdNativeFlowData.ownIdCore.eventsService.sendMetric(
-            currentStep.ownIdNativeFlowData.flowType,
-            Metric.EventType.Track,
-            currentStep.getMetricViewedAction(),
-            (metadata ?: Metadata()).copy(returningUser = returningUser),
-            currentStep.getMetricSource()
-        )
+        val ownIdNativeFlowData = currentStep.ownIdNativeFlowData
+        val action = currentStep.getMetricViewedAction()
+        val metricSource = currentStep.getMetricSource()
+        val viewedMetadata = metadata ?: Metadata()
+        ownIdNativeFlowData.ownIdCore.repository.withLoginId { loginId ->
+            ownIdNativeFlowData.ownIdCore.eventsService.sendMetric(
+                ownIdNativeFlowData.flowType,
+                Metric.EventType.Track,
+                action,
+                viewedMetadata.copy(returningUser = loginId.isNullOrBlank().not()),
+                metricSource
+            )
+        }
     }
 
     override fun onDestroyView() {
@@ -101,8 +105,8 @@ internal abstract class AbstractStepUI<S : AbstractStep>(@LayoutRes private val
         super.onDestroyView()
     }
 
-    override fun onLocaleUpdated() {
-        OwnIdInternalLogger.logD(this, "onLocaleUpdated", "Invoked")
+    override fun onLocaleUpdated(localeUpdate: OwnIdLocaleUpdate) {
+        OwnIdInternalLogger.logD(this, "onLocaleUpdated", "Invoked: $localeUpdate")
         setStrings()
     }
 
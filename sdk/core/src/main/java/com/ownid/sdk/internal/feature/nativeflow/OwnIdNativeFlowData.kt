@@ -6,6 +6,8 @@ import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.OwnIdCoreImpl
 import com.ownid.sdk.OwnIdLoginType
 import com.ownid.sdk.internal.toBase64UrlSafeNoPadding
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
 import okhttp3.HttpUrl
 import kotlin.random.Random
 
@@ -27,4 +29,10 @@ internal class OwnIdNativeFlowData(
     internal var context: String = ""
 //    internal lateinit var stopUrl: HttpUrl
     internal lateinit var statusFinalUrl: HttpUrl
+
+    // Set by OwnIdNativeFlowPrefetch, used once by InitStep
+    internal var prefetchedInitResponse: Deferred<String>? = null
+
+    // Set by OwnIdNativeFlowViewModelInt, canceled with it
+    internal lateinit var coroutineScope: CoroutineScope
 }
\ No newline at end of file
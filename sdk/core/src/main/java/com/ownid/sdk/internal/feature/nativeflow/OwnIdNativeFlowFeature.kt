@@ -49,6 +49,8 @@ internal interface OwnIdNativeFlowFeature : OwnIdFeature<OwnIdResponse> {
             val loginType = getSerializableExtra(KEY_LOGIN_TYPE) as? OwnIdLoginType
             val loginId = getStringExtra(KEY_LOGIN_ID)!!
 
+            ownIdCore.nativeFlowPrefetch.take(flowType, loginType, loginId)?.let { return it }
+
             val ownIdNativeFlowLoginId = OwnIdNativeFlowLoginId.fromString(loginId, ownIdCore.configuration)
 
             return OwnIdNativeFlowData(ownIdCore, flowType, loginType, ownIdNativeFlowLoginId)
@@ -1,6 +1,5 @@
 package com.ownid.sdk.internal.feature.nativeflow
 
-import android.content.Intent
 import android.os.Bundle
 import androidx.activity.result.contract.ActivityResultContracts
 import androidx.appcompat.app.AppCompatActivity
@@ -9,7 +8,7 @@ import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.OwnIdResponse
 import com.ownid.sdk.exception.OwnIdException
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
-import com.ownid.sdk.internal.feature.OwnIdActivity
+import com.ownid.sdk.internal.feature.OwnIdResultRegistry
 import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowFeature.Companion.toOwnIdFlowData
 import com.ownid.sdk.internal.feature.nativeflow.steps.DoneStep
 import com.ownid.sdk.internal.feature.nativeflow.steps.webapp.OwnIdWebAppActivity
@@ -75,7 +74,7 @@ internal class OwnIdNativeFlowFeatureImpl : OwnIdNativeFlowFeature {
     @Suppress("DEPRECATION")
     override fun sendResult(activity: AppCompatActivity, result: Result<OwnIdResponse>) {
         OwnIdInternalLogger.logD(this, "sendResult", "result: $result")
-        activity.setResult(AppCompatActivity.RESULT_OK, Intent().putExtra(OwnIdActivity.KEY_RESULT, result))
+        activity.setResult(AppCompatActivity.RESULT_OK, OwnIdResultRegistry.createResultIntent(result))
         activity.finish()
         activity.overridePendingTransition(0, 0)
     }
@@ -0,0 +1,105 @@
+package com.ownid.sdk.internal.feature.nativeflow
+
+import android.os.SystemClock
+import androidx.annotation.MainThread
+import androidx.annotation.RestrictTo
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnIdCoreImpl
+import com.ownid.sdk.OwnIdLoginType
+import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import com.ownid.sdk.internal.feature.nativeflow.steps.InitStep
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import org.json.JSONObject
+
+/**
+ * Speculative native flow start. Enabled by [com.ownid.sdk.Configuration.prefetchFlow].
+ *
+ * When login ID in OwnID widget becomes valid, [prefetch] sends [InitStep] request in background.
+ * If user starts the flow with the same parameters, [take] returns flow data with the pending or completed response,
+ * so [InitStep] does not wait for a new request. Only the last prefetch is kept, and it is used at most once.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdNativeFlowPrefetch(private val ownIdCore: OwnIdCoreImpl) {
+
+    private class Entry(
+        val flowType: OwnIdNativeFlowType,
+        val loginType: OwnIdLoginType?,
+        val loginId: String,
+        val languageTag: String,
+        val ownIdNativeFlowData: OwnIdNativeFlowData,
+        val response: Deferred<String>,
+        val startTime: Long = SystemClock.elapsedRealtime()
+    ) {
+        fun matches(flowType: OwnIdNativeFlowType, loginType: OwnIdLoginType?, loginId: String, languageTag: String): Boolean =
+            this.flowType == flowType && this.loginType == loginType && this.loginId == loginId && this.languageTag == languageTag
+
+        @OptIn(ExperimentalCoroutinesApi::class)
+        fun isUsable(): Boolean {
+            if (response.isCompleted.not()) return true
+            if (response.isCancelled || response.getCompletionExceptionOrNull() != null) return false
+            val expiration = runCatching { JSONObject(response.getCompleted()).optLong("expiration", 0L) }.getOrDefault(0L)
+            return SystemClock.elapsedRealtime() - startTime < expiration
+        }
+    }
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.Main.immediate)
+    private var entry: Entry? = null
+
+    /**
+     * Starts [InitStep] request for [loginId] unless the same request is already prefetched.
+     */
+    @MainThread
+    @JvmSynthetic
+    internal fun prefetch(flowType: OwnIdNativeFlowType, loginType: OwnIdLoginType?, loginId: String) {
+        val languageTag = ownIdCore.localeService.currentOwnIdLocale.serverLanguageTag
+        entry?.let { if (it.matches(flowType, loginType, loginId, languageTag) && it.isUsable()) return }
+
+        OwnIdInternalLogger.logD(this, "prefetch", "$flowType")
+        clear()
+
+        val ownIdNativeFlowLoginId = OwnIdNativeFlowLoginId.fromString(loginId, ownIdCore.configuration)
+        val ownIdNativeFlowData = OwnIdNativeFlowData(ownIdCore, flowType, loginType, ownIdNativeFlowLoginId)
+        val response = InitStep.prefetch(ownIdNativeFlowData, scope)
+        entry = Entry(flowType, loginType, loginId, languageTag, ownIdNativeFlowData, response)
+    }
+
+    /**
+     * Returns prefetched flow data if it matches flow parameters and its response is not failed or expired.
+     * Prefetched data is removed in any case.
+     */
+    @MainThread
+    @JvmSynthetic
+    internal fun take(flowType: OwnIdNativeFlowType, loginType: OwnIdLoginType?, loginId: String): OwnIdNativeFlowData? {
+        val current = entry ?: return null
+        entry = null
+
+        val languageTag = ownIdCore.localeService.currentOwnIdLocale.serverLanguageTag
+        if (current.matches(flowType, loginType, loginId, languageTag) && current.isUsable()) {
+            OwnIdInternalLogger.logD(this, "take", "Using prefetched $flowType")
+            return current.ownIdNativeFlowData.apply { prefetchedInitResponse = current.response }
+        }
+
+        current.response.cancel()
+        return null
+    }
+
+    @MainThread
+    @JvmSynthetic
+    internal fun clear() {
+        entry?.response?.cancel()
+        entry = null
+    }
+
+    @MainThread
+    @JvmSynthetic
+    internal fun close() {
+        entry = null
+        scope.cancel()
+    }
+}
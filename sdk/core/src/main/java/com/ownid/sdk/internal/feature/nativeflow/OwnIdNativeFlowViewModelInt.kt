@@ -6,6 +6,7 @@ import androidx.annotation.RestrictTo
 import androidx.lifecycle.LiveData
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
 import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.feature.nativeflow.steps.InitStep
@@ -23,6 +24,7 @@ public class OwnIdNativeFlowViewModelInt : ViewModel() {
 
     @MainThread
     internal fun startFlow(ownIdNativeFlowData: OwnIdNativeFlowData) {
+        ownIdNativeFlowData.coroutineScope = viewModelScope
         ownIdNativeFlowData.ownIdCore.eventsService.setFlowLoginId(ownIdNativeFlowData.loginId.value)
         onNextStep(InitStep.create(ownIdNativeFlowData, ::onNextStep))
     }
@@ -12,6 +12,13 @@ import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowData
 import com.ownid.sdk.internal.fromBase64UrlSafeNoPadding
 import com.ownid.sdk.internal.toBase64UrlSafeNoPadding
 import com.ownid.sdk.internal.toSHA256Bytes
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.withContext
 import okhttp3.HttpUrl
 import okhttp3.HttpUrl.Companion.toHttpUrl
 import org.json.JSONObject
@@ -30,6 +37,15 @@ internal class InitStep private constructor(
             val url = ownIdNativeFlowData.ownIdCore.configuration.apiUrl.newBuilder().addEncodedPathSegments("mobile/v1/ownid").build()
             return InitStep(ownIdNativeFlowData, onNextStep, url)
         }
+
+        /**
+         * Sends init request for [ownIdNativeFlowData] in [scope]. Response is used by [InitStep] of this flow data.
+         */
+        @MainThread
+        internal fun prefetch(ownIdNativeFlowData: OwnIdNativeFlowData, scope: CoroutineScope): Deferred<String> {
+            val initStep = create(ownIdNativeFlowData) {}
+            return scope.async { initStep.doPostRequest(initStep.url, initStep.createPostData()) }
+        }
     }
 
     @MainThread
@@ -50,47 +66,55 @@ internal class InitStep private constructor(
     }
 
     @MainThread
-    private fun doStepRequest(callback: OwnIdCallback<AbstractStep>) {
-        runCatching {
-            val postData = JSONObject()
-                .put("type", ownIdNativeFlowData.flowType.name.lowercase())
-                .apply {
-                    if (ownIdNativeFlowData.loginId.isNotEmpty() && ownIdNativeFlowData.useLoginId)
-                        put("loginId", ownIdNativeFlowData.loginId.value)
-                }
-                .apply {
-                    if (ownIdNativeFlowData.loginType != null)
-                        put("loginType", ownIdNativeFlowData.loginType.name.replaceFirstChar { it.lowercase() })
-                }
-                .put("supportsFido2", ownIdNativeFlowData.ownIdCore.configuration.isFidoPossible())
-                .put("passkeyAutofill", ownIdNativeFlowData.passkeyAutofill)
-                .put("qr", ownIdNativeFlowData.qr)
-                .put("sessionChallenge", ownIdNativeFlowData.verifier.fromBase64UrlSafeNoPadding().toSHA256Bytes().toBase64UrlSafeNoPadding())
-                .toString()
+    private fun doStepRequest(callback: OwnIdCallback<AbstractStep>) = launchRequest({
+        val response = ownIdNativeFlowData.prefetchedInitResponse?.let { prefetched ->
+            ownIdNativeFlowData.prefetchedInitResponse = null
+            try {
+                prefetched.await()
+            } catch (cause: Throwable) {
+                prefetched.cancel()
+                currentCoroutineContext().ensureActive()
+                OwnIdInternalLogger.logD(this, "doStepRequest", "Prefetch failed: ${cause.message}")
+                null
+            }
+        } ?: doPostRequest(url, createPostData())
+
+        withContext(Dispatchers.Default) { parseInitResponse(response) }
+    }, callback)
 
-            doPostRequest(ownIdNativeFlowData, url, postData) {
-                if (ownIdNativeFlowData.canceller.isCanceled) return@doPostRequest
-                mapCatching {
-                    val jsonResponse = JSONObject(it)
+    private fun createPostData(): String = JSONObject()
+        .put("type", ownIdNativeFlowData.flowType.name.lowercase())
+        .apply {
+            if (ownIdNativeFlowData.loginId.isNotEmpty() && ownIdNativeFlowData.useLoginId)
+                put("loginId", ownIdNativeFlowData.loginId.value)
+        }
+        .apply {
+            if (ownIdNativeFlowData.loginType != null)
+                put("loginType", ownIdNativeFlowData.loginType.name.replaceFirstChar { it.lowercase() })
+        }
+        .put("supportsFido2", ownIdNativeFlowData.ownIdCore.configuration.isFidoPossible())
+        .put("passkeyAutofill", ownIdNativeFlowData.passkeyAutofill)
+        .put("qr", ownIdNativeFlowData.qr)
+        .put("sessionChallenge", ownIdNativeFlowData.verifier.fromBase64UrlSafeNoPadding().toSHA256Bytes().toBase64UrlSafeNoPadding())
+        .toString()
 
-                    ownIdNativeFlowData.context = jsonResponse.optString("context")
-                        .ifBlank { throw IllegalArgumentException("'context' cannot be empty") }
+    private fun parseInitResponse(response: String): AbstractStep {
+        val jsonResponse = JSONObject(response)
 
-                    ownIdNativeFlowData.expiration = jsonResponse.optLong("expiration", 1200000L)
-                        .let { expiration -> if (expiration <= 0) 1200000L else expiration }
+        ownIdNativeFlowData.context = jsonResponse.optString("context")
+            .ifBlank { throw IllegalArgumentException("'context' cannot be empty") }
 
-//                    ownIdNativeFlowData.stopUrl = jsonResponse.optString("stopUrl")
-//                        .ifBlank { throw IllegalArgumentException("'stopUrl' cannot be empty") }
-//                        .toHttpUrl()
+        ownIdNativeFlowData.expiration = jsonResponse.optLong("expiration", 1200000L)
+            .let { expiration -> if (expiration <= 0) 1200000L else expiration }
 
-                    ownIdNativeFlowData.statusFinalUrl = jsonResponse.optString("finalStatusUrl")
-                        .ifBlank { throw IllegalArgumentException("'finalStatusUrl' cannot be empty") }
-                        .toHttpUrl()
+//        ownIdNativeFlowData.stopUrl = jsonResponse.optString("stopUrl")
+//            .ifBlank { throw IllegalArgumentException("'stopUrl' cannot be empty") }
+//            .toHttpUrl()
 
-                    parseResponse(jsonResponse, ownIdNativeFlowData, onNextStep)
-                }
-                    .callback()
-            }
-        }.getOrElse { callback(Result.failure(it)) }
+        ownIdNativeFlowData.statusFinalUrl = jsonResponse.optString("finalStatusUrl")
+            .ifBlank { throw IllegalArgumentException("'finalStatusUrl' cannot be empty") }
+            .toHttpUrl()
+
+        return parseResponse(jsonResponse, ownIdNativeFlowData, onNextStep)
     }
 }
\ No newline at end of file
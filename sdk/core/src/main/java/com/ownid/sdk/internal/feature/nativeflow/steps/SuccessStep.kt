@@ -46,15 +46,10 @@ internal class SuccessStep private constructor(
     }
 
     @MainThread
-    private fun doStepRequest(callback: OwnIdCallback<OwnIdResponse>) {
-        runCatching {
-            val postJsonData = JSONObject().put("sessionVerifier", ownIdNativeFlowData.verifier).toString()
-
-            doPostRequest(ownIdNativeFlowData, ownIdNativeFlowData.statusFinalUrl, postJsonData) {
-                if (ownIdNativeFlowData.canceller.isCanceled) return@doPostRequest
-                val languageTag = ownIdNativeFlowData.ownIdCore.localeService.currentOwnIdLocale.serverLanguageTag
-                mapCatching { OwnIdResponse.fromServerResponse(it, languageTag) }.callback()
-            }
-        }.getOrElse { callback(Result.failure(it)) }
-    }
+    private fun doStepRequest(callback: OwnIdCallback<OwnIdResponse>) = launchRequest({
+        val postJsonData = JSONObject().put("sessionVerifier", ownIdNativeFlowData.verifier).toString()
+        val languageTag = ownIdNativeFlowData.ownIdCore.localeService.currentOwnIdLocale.serverLanguageTag
+
+        doPostRequest(ownIdNativeFlowData.statusFinalUrl, postJsonData) { OwnIdResponse.fromServerResponse(it, languageTag) }
+    }, callback)
 }
\ No newline at end of file
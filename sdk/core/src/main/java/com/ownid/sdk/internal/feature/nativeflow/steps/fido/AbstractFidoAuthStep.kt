@@ -118,14 +118,9 @@ internal abstract class AbstractFidoAuthStep protected constructor(
     }
 
     @MainThread
-    protected fun doStepRequest(resultKey: String, result: JSONObject, callback: OwnIdCallback<AbstractStep>) {
-        runCatching {
-            val postData = JSONObject().put("type", data.operation.name.lowercase()).put(resultKey, result).toString()
+    protected fun doStepRequest(resultKey: String, result: JSONObject, callback: OwnIdCallback<AbstractStep>) = launchRequest({
+        val postData = JSONObject().put("type", data.operation.name.lowercase()).put(resultKey, result).toString()
 
-            doPostRequest(ownIdNativeFlowData, data.url, postData) {
-                if (ownIdNativeFlowData.canceller.isCanceled) return@doPostRequest
-                mapCatching { parseResponse(JSONObject(it), ownIdNativeFlowData, onNextStep) }.callback()
-            }
-        }.getOrElse { callback(Result.failure(it)) }
-    }
+        doPostRequest(data.url, postData) { parseResponse(JSONObject(it), ownIdNativeFlowData, onNextStep) }
+    }, callback)
 }
\ No newline at end of file
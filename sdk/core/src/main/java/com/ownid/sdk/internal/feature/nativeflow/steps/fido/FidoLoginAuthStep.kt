@@ -2,11 +2,7 @@ package com.ownid.sdk.internal.feature.nativeflow.steps.fido
 
 import androidx.annotation.MainThread
 import androidx.annotation.RestrictTo
-import androidx.core.content.ContextCompat
-import androidx.credentials.CredentialManager
-import androidx.credentials.CredentialManagerCallback
 import androidx.credentials.GetCredentialRequest
-import androidx.credentials.GetCredentialResponse
 import androidx.credentials.GetPublicKeyCredentialOption
 import androidx.credentials.PublicKeyCredential
 import androidx.credentials.exceptions.GetCredentialException
@@ -39,7 +35,19 @@ internal class FidoLoginAuthStep private constructor(
 
         @Throws(OwnIdException::class, JSONException::class)
         override fun create(stepJson: JSONObject, ownIdNativeFlowData: OwnIdNativeFlowData, onNextStep: (AbstractStep) -> Unit): AbstractStep =
-            FidoLoginAuthStep(ownIdNativeFlowData, onNextStep, createData(stepJson))
+            FidoLoginAuthStep(ownIdNativeFlowData, onNextStep, createData(stepJson)).apply { prepareRequest() }
+    }
+
+    private val request: GetCredentialRequest by lazy(LazyThreadSafetyMode.PUBLICATION) {
+        val requestJson = createFidoLoginOptions(ownIdNativeFlowData.context, data.rpId, data.credIds)
+        GetCredentialRequest(listOf(GetPublicKeyCredentialOption(requestJson)), preferImmediatelyAvailableCredentials = true)
+    }
+
+    // Passkey prompt is shown right after the step is created, so credential providers are queried in advance.
+    private fun prepareRequest() {
+        if (data.credIds.isEmpty()) return
+        runCatching { ownIdNativeFlowData.ownIdCore.credentialService.prepareGetCredential(request) }
+            .onFailure { OwnIdInternalLogger.logW(this, "prepareRequest", it.message, it) }
     }
 
     @MainThread
@@ -53,29 +61,17 @@ internal class FidoLoginAuthStep private constructor(
         }
 
         runCatching {
-            ownIdNativeFlowData.canceller.setOnCancelListener(onCancelListener)
-
-            val requestJson = createFidoLoginOptions(ownIdNativeFlowData.context, data.rpId, data.credIds)
-            val request = GetCredentialRequest(
-                listOf(GetPublicKeyCredentialOption(requestJson)), preferImmediatelyAvailableCredentials = true
-            )
-            CredentialManager.create(activity).getCredentialAsync(
-                activity, request, canceller, ContextCompat.getMainExecutor(activity),
-                object : CredentialManagerCallback<GetCredentialResponse, GetCredentialException> {
-                    override fun onError(e: GetCredentialException) = onFidoError(e)
-                    override fun onResult(result: GetCredentialResponse) {
-                        OwnIdInternalLogger.logD(this@FidoLoginAuthStep, "onLoginResult", "Invoked")
-                        runCatching {
-                            when (val credential = result.credential) {
-                                is PublicKeyCredential -> credential.toJSONObject()
-                                else -> throw OwnIdException("GetCredentialResponse unsupported result type: ${credential.type}")
-                            }
-                        }
-                            .onSuccess { onFidoResult(it, false) }
-                            .onFailure { onFidoError(it) }
+            launchRequest({ ownIdNativeFlowData.ownIdCore.credentialService.getCredential(activity, request) }) {
+                OwnIdInternalLogger.logD(this@FidoLoginAuthStep, "onLoginResult", "Invoked")
+                mapCatching { result ->
+                    when (val credential = result.credential) {
+                        is PublicKeyCredential -> credential.toJSONObject()
+                        else -> throw OwnIdException("GetCredentialResponse unsupported result type: ${credential.type}")
                     }
                 }
-            )
+                    .onSuccess { onFidoResult(it, false) }
+                    .onFailure { onFidoError(it) }
+            }
         }.onFailure { onFidoError(it) }
     }
 
@@ -6,7 +6,6 @@ import androidx.core.content.ContextCompat
 import androidx.credentials.CreateCredentialResponse
 import androidx.credentials.CreatePublicKeyCredentialRequest
 import androidx.credentials.CreatePublicKeyCredentialResponse
-import androidx.credentials.CredentialManager
 import androidx.credentials.CredentialManagerCallback
 import androidx.credentials.exceptions.CreateCredentialException
 import androidx.fragment.app.FragmentActivity
@@ -52,7 +51,7 @@ internal class FidoRegisterAuthStep internal constructor(
                 ownIdNativeFlowData.context, data.rpId, data.rpName, data.userId, data.userName, data.userDisplayName, data.credIds
             )
             val request = CreatePublicKeyCredentialRequest(requestJson, clientDataHash = null, preferImmediatelyAvailableCredentials = true)
-            CredentialManager.create(activity).createCredentialAsync(activity, request, canceller, ContextCompat.getMainExecutor(activity),
+            ownIdNativeFlowData.ownIdCore.credentialService.credentialManager.createCredentialAsync(activity, request, canceller, ContextCompat.getMainExecutor(activity),
                 object : CredentialManagerCallback<CreateCredentialResponse, CreateCredentialException> {
                     override fun onError(e: CreateCredentialException) = onFidoError(e)
                     override fun onResult(result: CreateCredentialResponse) {
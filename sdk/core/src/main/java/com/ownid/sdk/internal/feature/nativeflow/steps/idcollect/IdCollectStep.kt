@@ -142,17 +142,12 @@ internal class IdCollectStep private constructor(
     }
 
     @MainThread
-    private fun doStepRequest(callback: OwnIdCallback<AbstractStep>) {
-        runCatching {
-            val postData = JSONObject()
-                .put("loginId", ownIdNativeFlowData.loginId.value)
-                .put("supportsFido2", ownIdNativeFlowData.ownIdCore.configuration.isFidoPossible())
-                .toString()
-
-            doPostRequest(ownIdNativeFlowData, url, postData) {
-                if (ownIdNativeFlowData.canceller.isCanceled) return@doPostRequest
-                mapCatching { parseResponse(JSONObject(it), ownIdNativeFlowData, onNextStep) }.callback()
-            }
-        }.getOrElse { callback(Result.failure(it)) }
-    }
+    private fun doStepRequest(callback: OwnIdCallback<AbstractStep>) = launchRequest({
+        val postData = JSONObject()
+            .put("loginId", ownIdNativeFlowData.loginId.value)
+            .put("supportsFido2", ownIdNativeFlowData.ownIdCore.configuration.isFidoPossible())
+            .toString()
+
+        doPostRequest(url, postData) { parseResponse(JSONObject(it), ownIdNativeFlowData, onNextStep) }
+    }, callback)
 }
\ No newline at end of file
@@ -209,37 +209,22 @@ internal class OtpAuthStep private constructor(
     }
 
     @MainThread
-    private fun doOtpAuthRequest(code: String, callback: OwnIdCallback<AbstractStep>) {
-        runCatching {
-            val postData = JSONObject().put("code", code).toString()
+    private fun doOtpAuthRequest(code: String, callback: OwnIdCallback<AbstractStep>) = launchRequest({
+        val postData = JSONObject().put("code", code).toString()
 
-            doPostRequest(ownIdNativeFlowData, data.url, postData) {
-                if (ownIdNativeFlowData.canceller.isCanceled) return@doPostRequest
-                mapCatching { parseResponse(JSONObject(it), ownIdNativeFlowData, onNextStep) }.callback()
-            }
-        }.getOrElse { callback(Result.failure(it)) }
-    }
+        doPostRequest(data.url, postData) { parseResponse(JSONObject(it), ownIdNativeFlowData, onNextStep) }
+    }, callback)
 
     @MainThread
-    private fun doResendRequest(callback: OwnIdCallback<AbstractStep>) {
-        runCatching {
-            doPostRequest(ownIdNativeFlowData, data.resendUrl, "{}") {
-                if (ownIdNativeFlowData.canceller.isCanceled) return@doPostRequest
-                mapCatching { parseResponse(JSONObject(it), ownIdNativeFlowData, onNextStep) }.callback()
-            }
-        }.getOrElse { callback(Result.failure(it)) }
-    }
+    private fun doResendRequest(callback: OwnIdCallback<AbstractStep>) = launchRequest({
+        doPostRequest(data.resendUrl, "{}") { parseResponse(JSONObject(it), ownIdNativeFlowData, onNextStep) }
+    }, callback)
 
     @MainThread
-    private fun doNotYouRequest(callback: OwnIdCallback<AbstractStep>) {
-        runCatching {
-            //do not sent "loginId", if it set the IdCollect step will be skipped
-            val postData = JSONObject().put("supportsFido2", ownIdNativeFlowData.ownIdCore.configuration.isFidoPossible()).toString()
-
-            doPostRequest(ownIdNativeFlowData, data.restartUrl, postData) {
-                if (ownIdNativeFlowData.canceller.isCanceled) return@doPostRequest
-                mapCatching { parseResponse(JSONObject(it), ownIdNativeFlowData, onNextStep) }.callback()
-            }
-        }.getOrElse { callback(Result.failure(it)) }
-    }
+    private fun doNotYouRequest(callback: OwnIdCallback<AbstractStep>) = launchRequest({
+        //do not sent "loginId", if it set the IdCollect step will be skipped
+        val postData = JSONObject().put("supportsFido2", ownIdNativeFlowData.ownIdCore.configuration.isFidoPossible()).toString()
+
+        doPostRequest(data.restartUrl, postData) { parseResponse(JSONObject(it), ownIdNativeFlowData, onNextStep) }
+    }, callback)
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import androidx.appcompat.app.AppCompatActivity
 import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.exception.OwnIdException
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import com.ownid.sdk.internal.feature.OwnIdResultRegistry
 
 /**
  * Activity receives the OwnID Web Application url in Intent.
@@ -24,7 +25,6 @@ public class OwnIdWebAppActivity : AppCompatActivity() {
 
     internal companion object {
         internal const val KEY_RESULT_REGISTRY = "com.ownid.sdk.internal.intent.KEY_RESULT_REGISTRY"
-        internal const val KEY_RESULT = "com.ownid.sdk.internal.intent.KEY_RESULT"
 
         private const val KEY_WEB_APP_URI = "com.ownid.sdk.internal.intent.KEY_WEB_APP_URI"
         private const val KEY_WEB_APP_LAUNCHED = "com.ownid.sdk.internal.intent.KEY_WEB_APP_LAUNCHED"
@@ -99,7 +99,7 @@ public class OwnIdWebAppActivity : AppCompatActivity() {
     @Suppress("DEPRECATION")
     private fun sendResult(result: Result<String?>) {
         OwnIdInternalLogger.logD(this, "sendResult", "result: $result")
-        setResult(Activity.RESULT_OK, Intent().putExtra(KEY_RESULT, result))
+        setResult(Activity.RESULT_OK, OwnIdResultRegistry.createResultIntent(result))
         finish()
         overridePendingTransition(0, 0)
     }
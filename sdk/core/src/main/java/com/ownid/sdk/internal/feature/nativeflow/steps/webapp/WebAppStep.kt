@@ -12,6 +12,7 @@ import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.exception.OwnIdException
 import com.ownid.sdk.exception.OwnIdFlowCanceled
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import com.ownid.sdk.internal.feature.OwnIdResultRegistry
 import com.ownid.sdk.internal.feature.nativeflow.AbstractStep
 import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowData
 import com.ownid.sdk.internal.feature.nativeflow.steps.DoneStep
@@ -63,7 +64,6 @@ internal class WebAppStep private constructor(
     }
 
     @MainThread
-    @Suppress("DEPRECATION", "UNCHECKED_CAST")
     internal fun onWebAppResult(result: ActivityResult) {
         OwnIdInternalLogger.logD(this, "onWebAppResult", result.toString())
 
@@ -74,7 +74,7 @@ internal class WebAppStep private constructor(
             return
         }
 
-        runCatching { (result.data?.getSerializableExtra(OwnIdWebAppActivity.KEY_RESULT) as Result<String?>).getOrThrow() }
+        runCatching { OwnIdResultRegistry.getResult<String?>(result.data).getOrThrow() }
             .onSuccess {
                 when {
                     it.isNullOrBlank() -> onCancel(OwnIdFlowCanceled.WEB_APP)
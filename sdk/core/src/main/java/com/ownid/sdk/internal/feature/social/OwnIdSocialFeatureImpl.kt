@@ -16,6 +16,7 @@ import com.ownid.sdk.exception.OwnIdCancellationException
 import com.ownid.sdk.exception.OwnIdException
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.feature.OwnIdActivity
+import com.ownid.sdk.internal.feature.OwnIdResultRegistry
 import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.launch
 
@@ -80,7 +81,7 @@ internal class OwnIdSocialFeatureImpl : OwnIdSocialFeature {
     @Suppress("DEPRECATION")
     override fun sendResult(activity: AppCompatActivity, result: Result<Pair<String, String>>) {
         OwnIdInternalLogger.logD(this, "sendResult", result.toString())
-        activity.setResult(AppCompatActivity.RESULT_OK, Intent().putExtra(OwnIdActivity.KEY_RESULT, result))
+        activity.setResult(AppCompatActivity.RESULT_OK, OwnIdResultRegistry.createResultIntent(result))
         activity.finish()
         activity.overridePendingTransition(0, 0)
     }
@@ -0,0 +1,84 @@
+package com.ownid.sdk.internal.feature.webbridge
+
+import android.net.Uri
+import androidx.annotation.RestrictTo
+import com.ownid.sdk.InternalOwnIdAPI
+import java.util.Locale
+
+/**
+ * Origin rules of OwnID WebView Bridge compiled for fast checks.
+ *
+ * Rules are in `SCHEME "://" HOSTNAME_PATTERN` format (port is ignored), `*` allows any origin.
+ * Exact hosts are kept in a hash set per scheme. Hosts starting with `*.` are kept in a trie of reversed host suffixes
+ * and match any host with at least one more label, like `https://*.example.com` matches `https://www.example.com`,
+ * but not `https://example.com` or `https://myexample.com`.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdOriginMatcher private constructor(
+    @JvmField internal val rules: List<String>,
+    private val allowAll: Boolean,
+    private val schemeRules: Map<String, HostRules>
+) {
+
+    private class Node {
+        val children: HashMap<Char, Node> = HashMap(4)
+        var isWildcardEnd: Boolean = false
+    }
+
+    private class HostRules {
+        val exactHosts: MutableSet<String> = HashSet()
+        val wildcardSuffixes: Node = Node()
+
+        // suffix is lowercase host without leading '*', like ".example.com"
+        fun addWildcardSuffix(suffix: String) {
+            var node = wildcardSuffixes
+            for (i in suffix.length - 1 downTo 0) node = node.children.getOrPut(suffix[i]) { Node() }
+            node.isWildcardEnd = true
+        }
+
+        fun matches(host: String): Boolean {
+            if (exactHosts.contains(host.lowercase(Locale.ROOT))) return true
+
+            var node = wildcardSuffixes
+            // At least one host character must remain before matched suffix
+            for (i in host.length - 1 downTo 1) {
+                node = node.children[Character.toLowerCase(host[i])] ?: return false
+                if (node.isWildcardEnd) return true
+            }
+            return false
+        }
+    }
+
+    internal fun matches(origin: Uri): Boolean {
+        if (allowAll) return true
+        val scheme = origin.scheme ?: return false
+        val host = origin.host ?: return false
+        return schemeRules[scheme.lowercase(Locale.ROOT)]?.matches(host) ?: false
+    }
+
+    internal companion object {
+        @JvmField
+        internal val EMPTY: OwnIdOriginMatcher = OwnIdOriginMatcher(emptyList(), false, emptyMap())
+
+        @JvmSynthetic
+        internal fun compile(rules: Collection<String>): OwnIdOriginMatcher {
+            var allowAll = false
+            val schemeRules = HashMap<String, HostRules>()
+
+            rules.forEach { rule ->
+                if (rule == "*") {
+                    allowAll = true
+                    return@forEach
+                }
+                val uri = Uri.parse(rule)
+                val scheme = uri.scheme?.lowercase(Locale.ROOT) ?: return@forEach
+                val host = uri.host?.lowercase(Locale.ROOT) ?: return@forEach
+                val hostRules = schemeRules.getOrPut(scheme) { HostRules() }
+                if (host.startsWith("*.")) hostRules.addWildcardSuffix(host.substring(1)) else hostRules.exactHosts.add(host)
+            }
+
+            return OwnIdOriginMatcher(rules.toList(), allowAll, schemeRules)
+        }
+    }
+}
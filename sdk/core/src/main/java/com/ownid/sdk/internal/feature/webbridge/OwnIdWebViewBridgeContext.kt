@@ -21,10 +21,13 @@ internal class OwnIdWebViewBridgeContext(
     val ownIdCore: OwnIdCoreImpl,
     val webView: WebView,
     val bridgeJob: Job,
-    val allowedOriginRules: List<String>,
+    val originMatcher: OwnIdOriginMatcher,
     val sourceOrigin: Uri,
     val isMainFrame: Boolean,
     val callbackPath: String,
+    private val reply: ((result: String, onPosted: () -> Unit, fallback: () -> Unit) -> Unit)? = null,
+    val latency: OwnIdWebViewBridgeLatency? = null,
+    private val callLatency: OwnIdWebViewBridgeLatency.Call? = null
 ) : CoroutineScope by CoroutineScope(SupervisorJob(bridgeJob) + Dispatchers.Main.immediate) {
 
     @MainThread
@@ -38,20 +41,9 @@ internal class OwnIdWebViewBridgeContext(
     @MainThread
     @Throws(IllegalStateException::class)
     internal fun ensureAllowedOrigin() {
-        if (allowedOriginRules.any { rule -> rule == "*" }) return
-        if (allowedOriginRules.any { rule ->
-                val allowedUri = Uri.parse(rule)
-                allowedUri.scheme.equals(sourceOrigin.scheme, ignoreCase = true) && hostMatches(allowedUri.host, sourceOrigin.host)
-            }
-        ) return
+        if (originMatcher.matches(sourceOrigin)) return
 
-        throw IllegalStateException("WebAuthn not permitted for current origin: $sourceOrigin, allowed: ${allowedOriginRules.joinToString()}")
-    }
-
-    private fun hostMatches(allowedHost: String?, sourceHost: String?): Boolean = when {
-        allowedHost == null || sourceHost == null -> false
-        allowedHost.startsWith("*.") -> sourceHost.endsWith(allowedHost.substring(2), ignoreCase = true)
-        else -> allowedHost.equals(sourceHost, ignoreCase = true)
+        throw IllegalStateException("WebAuthn not permitted for current origin: $sourceOrigin, allowed: ${originMatcher.rules.joinToString()}")
     }
 
     @MainThread
@@ -62,7 +54,7 @@ internal class OwnIdWebViewBridgeContext(
         }
 
         OwnIdInternalLogger.logD(this, "finishWithSuccess", "callbackPath: $callbackPath")
-        webView.evaluateJavascript("javascript:$callbackPath($result)", null)
+        sendResult(result)
 
         cancel()
     }
@@ -82,11 +74,26 @@ internal class OwnIdWebViewBridgeContext(
                 .put("type", type ?: error::class.java.simpleName)
                 .put("message", error.message)
         ).toString()
-        webView.evaluateJavascript("javascript:$callbackPath($result)", null)
+        sendResult(result)
 
         cancel()
     }
 
+    // Result is sent with reply channel when Web SDK supports it, or evaluated as a callback script
+    @MainThread
+    private fun sendResult(result: String) {
+        callLatency?.onFinished()
+        val evaluateCallback = { webView.evaluateJavascript("javascript:$callbackPath($result)") { onDelivered() } }
+        if (reply != null) reply.invoke(result, ::onDelivered, evaluateCallback) else evaluateCallback()
+    }
+
+    @MainThread
+    private fun onDelivered() {
+        val call = callLatency ?: return
+        // Timings are aggregated in [latency] and sent once when bridge is closed
+        if (call.onDelivered()) OwnIdInternalLogger.logD(this, "onDelivered", call.toJSONObject().toString())
+    }
+
     @MainThread
     internal fun sendMetric(flowType: OwnIdNativeFlowType, type: Metric.EventType, action: String, errorMessage: String? = null) {
         ownIdCore.eventsService.sendMetric(flowType, type, action, errorMessage = errorMessage)
@@ -21,6 +21,7 @@ import com.ownid.sdk.exception.OwnIdException
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.component.events.LogItem
 import com.ownid.sdk.internal.component.events.Metadata
+import com.ownid.sdk.internal.component.events.Metric
 import com.ownid.sdk.internal.feature.webbridge.handler.OwnIdWebViewBridgeFido
 import com.ownid.sdk.internal.feature.webbridge.handler.OwnIdWebViewBridgeFlow
 import com.ownid.sdk.internal.feature.webbridge.handler.OwnIdWebViewBridgeMetadata
@@ -35,6 +36,7 @@ import kotlinx.coroutines.job
 import kotlinx.coroutines.launch
 import org.json.JSONArray
 import org.json.JSONObject
+import java.util.Locale
 import kotlin.coroutines.coroutineContext
 
 @InternalOwnIdAPI
@@ -61,17 +63,23 @@ internal class OwnIdWebViewBridgeImpl(
         OwnIdWebViewBridge.Namespace.SOCIAL to OwnIdWebViewBridgeSocial
     )
 
-    private val namespaceHandlers: List<NamespaceHandler>
+    // Keyed by lowercase namespace name
+    private val namespaceHandlers: Map<String, NamespaceHandler>
 
     init {
         val exclude = excludeNamespaces ?: emptyList()
         namespaceHandlers = (includeNamespaces ?: supportedNamespacesMap.keys)
             .filterNot { exclude.contains(it) }
             .mapNotNull { supportedNamespacesMap[it] }
+            .associateBy { it.namespace.name.lowercase(Locale.ROOT) }
     }
 
     private val features =
-        JSONObject().apply { namespaceHandlers.forEach { put(it.namespace.name, JSONArray(it.actions)) } }.toString()
+        JSONObject().apply { namespaceHandlers.values.forEach { put(it.namespace.name, JSONArray(it.actions)) } }.toString()
+
+    private val loggedCommands: MutableSet<String> = HashSet()
+    private val replyChannel = OwnIdWebViewBridgeReplyChannel()
+    private val latency = OwnIdWebViewBridgeLatency()
 
     @Volatile
     private var bridgeJob: Job? = null
@@ -80,7 +88,7 @@ internal class OwnIdWebViewBridgeImpl(
     private var webView: WebView? = null
 
     @Volatile
-    private var allowedOriginRules: List<String> = emptyList()
+    private var originMatcher: OwnIdOriginMatcher = OwnIdOriginMatcher.EMPTY
 
     @MainThread
     public override fun injectInto(
@@ -105,19 +113,48 @@ internal class OwnIdWebViewBridgeImpl(
         }
     }
 
+    // Responses come as messages to the bridge JS object. If result is not JSON or callback is not found by its path,
+    // callback is evaluated as script
     private val ownIdNativeBridgeJS = """
-window.__ownidNativeBridge = {
-  getNamespaces: function getNamespaces() { return '""" + features + """'; },
-  invokeNative: function invokeNative(namespace, action, callbackPath, params, metadata) {
-    try {
-      window.__ownidNativeBridgeHandler.postMessage(JSON.stringify({ namespace, action, callbackPath, params, metadata }));
-    } catch (error) {
-      setTimeout(function () {
-        eval(callbackPath + '(false);');
-      });
-    }
+(function () {
+  var handler = window.__ownidNativeBridgeHandler;
+  var callbacks = {};
+  var lastCallId = 0;
+
+  function invokeCallback(callbackPath, result) {
+    var value;
+    try { value = JSON.parse(result); } catch (error) { eval(callbackPath + '(' + result + ');'); return; }
+    var names = callbackPath.split('.');
+    var owner = window;
+    for (var i = 0; i < names.length - 1 && owner != null; i++) owner = owner[names[i]];
+    var callback = owner == null ? undefined : owner[names[names.length - 1]];
+    if (typeof callback === 'function') callback.call(owner, value); else eval(callbackPath + '(' + result + ');');
   }
-};
+
+  if (handler) handler.onmessage = function (event) {
+    JSON.parse(event.data).forEach(function (response) {
+      var callbackPath = callbacks[response.id];
+      delete callbacks[response.id];
+      if (callbackPath) invokeCallback(callbackPath, response.result);
+    });
+  };
+
+  window.__ownidNativeBridge = {
+    getNamespaces: function getNamespaces() { return '""" + features + """'; },
+    invokeNative: function invokeNative(namespace, action, callbackPath, params, metadata) {
+      var id = ++lastCallId;
+      try {
+        callbacks[id] = callbackPath;
+        window.__ownidNativeBridgeHandler.postMessage(JSON.stringify({ id, sentAt: Date.now(), namespace, action, callbackPath, params, metadata }));
+      } catch (error) {
+        delete callbacks[id];
+        setTimeout(function () {
+          eval(callbackPath + '(false);');
+        });
+      }
+    }
+  };
+})();
 """
 
     private val webMessageListener = object : WebViewCompat.WebMessageListener {
@@ -125,20 +162,15 @@ window.__ownidNativeBridge = {
         override fun onPostMessage(
             view: WebView, message: WebMessageCompat, sourceOrigin: Uri, isMainFrame: Boolean, replyProxy: JavaScriptReplyProxy
         ) {
-            runCatching {
-                val data = JSONObject(requireNotNull(message.data))
-                val metadataJSON = JSONObject(data.getString("metadata"))
-                (OwnId.instance.ownIdCore as OwnIdCoreImpl).eventsService.sendLog(
-                    level = LogItem.Level.INFORMATION,
-                    className = this@OwnIdWebViewBridgeImpl::class.java.toString(),
-                    message = "WebViewBridge: received command [${data.optString("namespace")}:${data.optString("action")}]",
-                    context = metadataJSON.optString("context"),
-                    metadata = Metadata(webViewOrigin = sourceOrigin.toString(), widgetId = metadataJSON.optString("widgetId")),
-                    errorMessage = null
-                )
-            }.onFailure {
-                OwnIdInternalLogger.logD(this@OwnIdWebViewBridgeImpl, "onPostMessage", it.message)
+            val bridgeMessage = try {
+                OwnIdWebViewBridgeMessage.decode(message.data)
+            } catch (cause: Throwable) {
+                OwnIdInternalLogger.logW(this@OwnIdWebViewBridgeImpl, "onPostMessage", cause.message, cause)
+                return
             }
+            val callLatency = latency.start(bridgeMessage.command, bridgeMessage.sentAt)
+
+            if (loggedCommands.add(bridgeMessage.command)) sendCommandLog(bridgeMessage, sourceOrigin)
 
             val bridgeJob = this@OwnIdWebViewBridgeImpl.bridgeJob
             if (bridgeJob == null || bridgeJob.isCompleted) {
@@ -152,32 +184,50 @@ window.__ownidNativeBridge = {
                 return
             }
 
-            try {
-                val data = JSONObject(requireNotNull(message.data) { "Parameter required: 'message.data'" })
-                val callbackPath =
-                    requireNotNull(data.optString("callbackPath").ifBlank { null }) { "Parameter required: 'callbackPath'" }
-                val namespace = data.optString("namespace")
-                val action = data.optString("action")
-                val params = data.optString("params").ifBlank { null }
-
-                val msg = "[$namespace:$action] sourceOrigin: $sourceOrigin, isMainFrame: $isMainFrame"
-                OwnIdInternalLogger.logD(this@OwnIdWebViewBridgeImpl, "onPostMessage", msg)
+            val msg = "[${bridgeMessage.command}] sourceOrigin: $sourceOrigin, isMainFrame: $isMainFrame"
+            OwnIdInternalLogger.logD(this@OwnIdWebViewBridgeImpl, "onPostMessage", msg)
 
-                namespaceHandlers.firstOrNull { it.namespace.name.equals(namespace, ignoreCase = true) }?.run {
-                    val context = OwnIdWebViewBridgeContext(
-                        OwnId.instance.ownIdCore as OwnIdCoreImpl,
-                        webView, bridgeJob, allowedOriginRules, sourceOrigin, isMainFrame, callbackPath
-                    )
+            val handler = namespaceHandlers[bridgeMessage.namespace.lowercase(Locale.ROOT)] ?: run {
+                OwnIdInternalLogger.logW(this@OwnIdWebViewBridgeImpl, "onPostMessage", "No namespace found: '${bridgeMessage.namespace}'")
+                return
+            }
 
-                    handle(context, action, params)
+            try {
+                val reply = bridgeMessage.callId?.let { callId ->
+                    { result: String, onPosted: () -> Unit, fallback: () -> Unit ->
+                        replyChannel.post(replyProxy, callId, result, onPosted, fallback)
+                    }
+                }
+                val context = OwnIdWebViewBridgeContext(
+                    OwnId.instance.ownIdCore as OwnIdCoreImpl,
+                    webView, bridgeJob, originMatcher, sourceOrigin, isMainFrame, bridgeMessage.callbackPath, reply, latency, callLatency
+                )
 
-                } ?: OwnIdInternalLogger.logW(this@OwnIdWebViewBridgeImpl, "onPostMessage", "No namespace found: '$namespace'")
+                handler.handle(context, bridgeMessage.action, bridgeMessage.params)
             } catch (cause: Throwable) {
                 OwnIdInternalLogger.logW(this@OwnIdWebViewBridgeImpl, "onPostMessage", cause.message, cause)
             }
         }
     }
 
+    // Remote log is sent only for the first command of each kind in this bridge
+    @UiThread
+    private fun sendCommandLog(bridgeMessage: OwnIdWebViewBridgeMessage, sourceOrigin: Uri) {
+        runCatching {
+            val metadataJSON = JSONObject(requireNotNull(bridgeMessage.metadata) { "Parameter required: 'metadata'" })
+            (OwnId.instance.ownIdCore as OwnIdCoreImpl).eventsService.sendLog(
+                level = LogItem.Level.INFORMATION,
+                className = this::class.java.toString(),
+                message = "WebViewBridge: received command [${bridgeMessage.command}]",
+                context = metadataJSON.optString("context"),
+                metadata = Metadata(webViewOrigin = sourceOrigin.toString(), widgetId = metadataJSON.optString("widgetId")),
+                errorMessage = null
+            )
+        }.onFailure {
+            OwnIdInternalLogger.logD(this, "sendCommandLog", it.message)
+        }
+    }
+
     /**
      * Injects the OwnID WebView Bridge into the specified [WebView].
      *
@@ -240,7 +290,7 @@ window.__ownidNativeBridge = {
 
                             val message = "Configuration updated. Setting new origin rules: $validOriginRules"
                             OwnIdInternalLogger.logD(this@OwnIdWebViewBridgeImpl, "injectInto", message)
-                            this@OwnIdWebViewBridgeImpl.allowedOriginRules = validOriginRules.toList()
+                            this@OwnIdWebViewBridgeImpl.originMatcher = OwnIdOriginMatcher.compile(validOriginRules)
                         }
                     }
                 }
@@ -271,7 +321,7 @@ window.__ownidNativeBridge = {
             WebViewCompat.addWebMessageListener(webView, "__ownidNativeBridgeHandler", validOriginRules, webMessageListener)
             WebViewCompat.addDocumentStartJavaScript(webView, ownIdNativeBridgeJS, validOriginRules)
 
-            this.allowedOriginRules = validOriginRules.toList()
+            this.originMatcher = OwnIdOriginMatcher.compile(validOriginRules)
 
             OwnIdInternalLogger.logD(this, "injectInto", "Namespaces attached: $features")
         } catch (cause: Throwable) {
@@ -287,17 +337,34 @@ window.__ownidNativeBridge = {
     @MainThread
     internal fun close() {
         OwnIdInternalLogger.logD(this, "close", "Invoked")
+        sendLatencyMetric()
         bridgeJob = null
         webView = null
-        allowedOriginRules = emptyList()
+        originMatcher = OwnIdOriginMatcher.EMPTY
+    }
+
+    // One metric with timings aggregated per command for the whole bridge session, instead of one per call
+    @MainThread
+    private fun sendLatencyMetric() {
+        val bridgeLatency = latency.drain() ?: return
+        runCatching {
+            (OwnId.instance.ownIdCore as OwnIdCoreImpl).eventsService.sendMetric(
+                Metric.Category.General, Metric.EventType.Track, "WebBridge latency",
+                metadata = Metadata(bridgeLatency = bridgeLatency)
+            )
+        }.onFailure {
+            OwnIdInternalLogger.logW(this, "sendLatencyMetric", it.message, it)
+        }
     }
 
     internal companion object {
+        private val SCHEME_REGEX = Regex("^[a-zA-Z][a-zA-Z0-9+.-]*:.*")
+
         internal fun String.asValidOriginOrNull(): String? {
             if (isBlank()) return null
             if (equals("*")) return "*"
             val trimmed = trim()
-            val urlWithScheme = trimmed.takeIf { it.matches(Regex("^[a-zA-Z][a-zA-Z0-9+.-]*:.*")) } ?: "https://$trimmed"
+            val urlWithScheme = trimmed.takeIf { it.matches(SCHEME_REGEX) } ?: "https://$trimmed"
             return runCatching {
                 val uri = Uri.parse(urlWithScheme)
                 val scheme = uri.scheme ?: return null
@@ -0,0 +1,122 @@
+package com.ownid.sdk.internal.feature.webbridge
+
+import android.os.SystemClock
+import androidx.annotation.MainThread
+import androidx.annotation.RestrictTo
+import com.ownid.sdk.InternalOwnIdAPI
+import org.json.JSONObject
+
+/**
+ * Latency of OwnID WebView Bridge calls per `namespace:action` command. Each call is split into:
+ * * queue - from `invokeNative` in Web SDK until the message is received by the bridge (only if Web SDK sends `sentAt`),
+ * * handler - from the message receiving until the handler finishes the call,
+ * * delivery - from the handler result until it is sent to Web SDK.
+ *
+ * Used on main thread only.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdWebViewBridgeLatency {
+
+    /**
+     * Timings of a single bridge call.
+     */
+    internal inner class Call(
+        @JvmField internal val command: String,
+        @JvmField internal val queueMillis: Long?,
+        private val receivedAt: Long = SystemClock.elapsedRealtime()
+    ) {
+        @JvmField internal var handlerMillis: Long = -1
+        @JvmField internal var deliveryMillis: Long = -1
+
+        private var finishedAt: Long = -1
+
+        @MainThread
+        @JvmSynthetic
+        internal fun onFinished() {
+            if (finishedAt >= 0) return
+            finishedAt = SystemClock.elapsedRealtime()
+            handlerMillis = finishedAt - receivedAt
+        }
+
+        /**
+         * Returns `true` when timings are recorded for the first time.
+         */
+        @MainThread
+        @JvmSynthetic
+        internal fun onDelivered(): Boolean {
+            if (finishedAt < 0 || deliveryMillis >= 0) return false
+            deliveryMillis = SystemClock.elapsedRealtime() - finishedAt
+            record(this)
+            return true
+        }
+
+        @JvmSynthetic
+        internal fun toJSONObject(): JSONObject = JSONObject()
+            .put("command", command)
+            .apply { if (queueMillis != null) put("queue", queueMillis) }
+            .put("handler", handlerMillis)
+            .put("delivery", deliveryMillis)
+    }
+
+    private class Stats {
+        var count: Int = 0
+        var queueCount: Int = 0
+        var queueTotal: Long = 0
+        var queueMax: Long = 0
+        var handlerTotal: Long = 0
+        var handlerMax: Long = 0
+        var deliveryTotal: Long = 0
+        var deliveryMax: Long = 0
+
+        fun toJSONObject(): JSONObject = JSONObject()
+            .put("count", count)
+            .apply {
+                if (queueCount > 0) put("queue", JSONObject().put("avg", queueTotal / queueCount).put("max", queueMax))
+            }
+            .put("handler", JSONObject().put("avg", handlerTotal / count).put("max", handlerMax))
+            .put("delivery", JSONObject().put("avg", deliveryTotal / count).put("max", deliveryMax))
+    }
+
+    private val stats: MutableMap<String, Stats> = LinkedHashMap()
+
+    /**
+     * Starts timing of a call received now. [sentAt] is Web SDK wall clock time of the call.
+     */
+    @MainThread
+    @JvmSynthetic
+    internal fun start(command: String, sentAt: Long?): Call =
+        Call(command, sentAt?.let { (System.currentTimeMillis() - it).coerceAtLeast(0) })
+
+    /**
+     * Aggregated timings in milliseconds per command: `{"FIDO:get":{"count":1,"queue":{"avg":2,"max":2},"handler":{...},"delivery":{...}}}`.
+     */
+    @MainThread
+    @JvmSynthetic
+    internal fun toJSONObject(): JSONObject = JSONObject().apply { stats.forEach { (command, commandStats) -> put(command, commandStats.toJSONObject()) } }
+
+    /**
+     * Returns aggregated timings, same as [toJSONObject], and starts new aggregation. Returns `null` if no calls were recorded.
+     */
+    @MainThread
+    @JvmSynthetic
+    internal fun drain(): JSONObject? {
+        if (stats.isEmpty()) return null
+        return toJSONObject().also { stats.clear() }
+    }
+
+    private fun record(call: Call) {
+        stats.getOrPut(call.command) { Stats() }.apply {
+            count++
+            if (call.queueMillis != null) {
+                queueCount++
+                queueTotal += call.queueMillis
+                queueMax = maxOf(queueMax, call.queueMillis)
+            }
+            handlerTotal += call.handlerMillis
+            handlerMax = maxOf(handlerMax, call.handlerMillis)
+            deliveryTotal += call.deliveryMillis
+            deliveryMax = maxOf(deliveryMax, call.deliveryMillis)
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ownid.sdk.internal.feature.webbridge
+
+import androidx.annotation.RestrictTo
+import com.ownid.sdk.InternalOwnIdAPI
+import org.json.JSONException
+import org.json.JSONObject
+
+/**
+ * Command sent by Web SDK to OwnID WebView Bridge. Message data is parsed once, [metadata] is kept as JSON string
+ * and parsed only when it is needed. [callId] is set by bridge JS to match the response sent with [OwnIdWebViewBridgeReplyChannel],
+ * [sentAt] is JS wall clock time of the call used for [OwnIdWebViewBridgeLatency].
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdWebViewBridgeMessage private constructor(
+    @JvmField internal val callId: Int?,
+    @JvmField internal val sentAt: Long?,
+    @JvmField internal val namespace: String,
+    @JvmField internal val action: String,
+    @JvmField internal val callbackPath: String,
+    @JvmField internal val params: String?,
+    @JvmField internal val metadata: String?
+) {
+
+    internal val command: String
+        get() = "$namespace:$action"
+
+    internal companion object {
+        @JvmSynthetic
+        @Throws(JSONException::class, IllegalArgumentException::class)
+        internal fun decode(data: String?): OwnIdWebViewBridgeMessage {
+            val json = JSONObject(requireNotNull(data) { "Parameter required: 'message.data'" })
+            return OwnIdWebViewBridgeMessage(
+                callId = if (json.has("id")) json.getInt("id") else null,
+                sentAt = if (json.has("sentAt")) json.getLong("sentAt") else null,
+                namespace = json.optString("namespace"),
+                action = json.optString("action"),
+                callbackPath = requireNotNull(json.optString("callbackPath").ifBlank { null }) { "Parameter required: 'callbackPath'" },
+                params = json.optString("params").ifBlank { null },
+                metadata = json.optString("metadata").ifBlank { null }
+            )
+        }
+    }
+}
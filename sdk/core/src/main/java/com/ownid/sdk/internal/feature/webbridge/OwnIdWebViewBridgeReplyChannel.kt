@@ -0,0 +1,56 @@
+package com.ownid.sdk.internal.feature.webbridge
+
+import android.view.Choreographer
+import androidx.annotation.MainThread
+import androidx.annotation.RestrictTo
+import androidx.webkit.JavaScriptReplyProxy
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import org.json.JSONObject
+
+/**
+ * Sends OwnID WebView Bridge responses to Web SDK as messages through [JavaScriptReplyProxy] of the bridge JS object,
+ * instead of evaluating a new script for each response.
+ *
+ * Responses are matched to callbacks by call id on JS side. Responses posted before the next frame are sent in one message:
+ * `[{"id":1,"result":"<result JS value>"}]`. If a message cannot be sent, its responses fall back to the given action.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdWebViewBridgeReplyChannel {
+
+    private class Response(val callId: Int, val result: String, val onPosted: () -> Unit, val fallback: () -> Unit)
+
+    private val pending: MutableMap<JavaScriptReplyProxy, MutableList<Response>> = LinkedHashMap()
+    private var isFlushScheduled: Boolean = false
+
+    private val flushCallback = Choreographer.FrameCallback { flush() }
+
+    @MainThread
+    @JvmSynthetic
+    internal fun post(replyProxy: JavaScriptReplyProxy, callId: Int, result: String, onPosted: () -> Unit, fallback: () -> Unit) {
+        pending.getOrPut(replyProxy) { ArrayList(2) }.add(Response(callId, result, onPosted, fallback))
+        if (isFlushScheduled) return
+        isFlushScheduled = true
+        Choreographer.getInstance().postFrameCallback(flushCallback)
+    }
+
+    @MainThread
+    private fun flush() {
+        isFlushScheduled = false
+        val batches = pending.toList()
+        pending.clear()
+
+        batches.forEach { (replyProxy, responses) ->
+            val message = responses.joinToString(separator = ",", prefix = "[", postfix = "]") {
+                "{\"id\":${it.callId},\"result\":${JSONObject.quote(it.result)}}"
+            }
+            runCatching { replyProxy.postMessage(message) }.onSuccess {
+                responses.forEach { response -> response.onPosted.invoke() }
+            }.onFailure {
+                OwnIdInternalLogger.logW(this, "flush", "Failed to post ${responses.size} responses: ${it.message}", it)
+                responses.forEach { response -> response.fallback.invoke() }
+            }
+        }
+    }
+}
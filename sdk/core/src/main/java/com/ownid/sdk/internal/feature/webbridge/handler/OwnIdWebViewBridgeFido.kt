@@ -6,7 +6,6 @@ import androidx.annotation.RestrictTo
 import androidx.annotation.UiThread
 import androidx.credentials.CreatePublicKeyCredentialRequest
 import androidx.credentials.CreatePublicKeyCredentialResponse
-import androidx.credentials.CredentialManager
 import androidx.credentials.GetCredentialRequest
 import androidx.credentials.GetPublicKeyCredentialOption
 import androidx.credentials.PublicKeyCredential
@@ -123,6 +122,7 @@ internal object OwnIdWebViewBridgeFido : OwnIdWebViewBridgeImpl.NamespaceHandler
         ensureAllowedOrigin()
 
         val isAvailable = ownIdCore.configuration.isFidoPossible()
+        if (isAvailable) ownIdCore.credentialService.warmUp()
         finishWithSuccess(isAvailable.toString())
     }
 
@@ -136,7 +136,7 @@ internal object OwnIdWebViewBridgeFido : OwnIdWebViewBridgeImpl.NamespaceHandler
             ensureAllowedOrigin()
 
             val request = CreatePublicKeyCredentialRequest(createOptions, preferImmediatelyAvailableCredentials = true)
-            val result = CredentialManager.create(webView.context).createCredential(webView.context, request)
+            val result = ownIdCore.credentialService.credentialManager.createCredential(webView.context, request)
 
             if (result is CreatePublicKeyCredentialResponse) {
                 val result2 = if (isOwnIdFlow) result.toJSONObject().toString() else result.registrationResponseJson
@@ -170,7 +170,7 @@ internal object OwnIdWebViewBridgeFido : OwnIdWebViewBridgeImpl.NamespaceHandler
             val request = GetCredentialRequest(
                 listOf(GetPublicKeyCredentialOption(getOptions)), preferImmediatelyAvailableCredentials = true
             )
-            val result = CredentialManager.create(webView.context).getCredential(webView.context, request)
+            val result = ownIdCore.credentialService.getCredential(webView.context, request)
 
             when (val credential = result.credential) {
                 is PublicKeyCredential -> finishWithSuccess(credential.toJSONObject().toString())
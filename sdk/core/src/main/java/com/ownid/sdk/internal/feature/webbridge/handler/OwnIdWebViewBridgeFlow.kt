@@ -27,6 +27,7 @@ import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onCompletion
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.launch
+import java.util.Locale
 import java.util.concurrent.atomic.AtomicReference
 import kotlin.coroutines.cancellation.CancellationException
 
@@ -41,31 +42,34 @@ internal object OwnIdWebViewBridgeFlow : OwnIdWebViewBridgeImpl.NamespaceHandler
         val actionWrapperMap: Map<String, OwnIdFlowWrapper<JsonSerializable>>,
         val eventBus: OwnIdFlowEventBus.EventBus
     ) {
-        @Throws(IllegalArgumentException::class, NoSuchElementException::class)
-        internal fun getFlowEvent(action: String?, params: String?, webViewCallback: (String?) -> Unit): OwnIdFlowEvent {
-            val wrapper = actionWrapperMap.firstNotNullOfOrNull { (key, value) ->
-                if (key.equals(action, ignoreCase = true)) value else null
-            } ?: throw IllegalArgumentException("OwnIdWebViewBridgeFlow: Unsupported action: $action")
+        // Keyed by lowercase WebSDK action name
+        private val flowActions: Map<String, Pair<OwnIdFlowAction, OwnIdFlowWrapper<JsonSerializable>>> =
+            actionWrapperMap.entries.mapNotNull { (action, wrapper) ->
+                OwnIdFlowAction.fromWebAction(action)?.let { action.lowercase(Locale.ROOT) to (it to wrapper) }
+            }.toMap()
 
-            val flowAction = OwnIdFlowAction.values().first { it.webAction.equals(action, ignoreCase = true) }
+        @Throws(IllegalArgumentException::class)
+        internal fun getFlowEvent(action: String?, params: String?, webViewCallback: (String?) -> Unit): OwnIdFlowEvent {
+            val (flowAction, wrapper) = action?.let { flowActions[it.lowercase(Locale.ROOT)] }
+                ?: throw IllegalArgumentException("OwnIdWebViewBridgeFlow: Unsupported action: $action")
 
             return flowAction.eventFactory.create(wrapper, params, webViewCallback)
         }
 
-        internal fun send(flowEvent: OwnIdFlowEvent) = eventBus.send(flowEvent)
+        internal fun send(flowEvent: OwnIdFlowEvent): Boolean = eventBus.send(flowEvent)
 
         internal fun addInvokeOnClose(action: () -> Unit) = eventBus.addInvokeOnClose(action)
 
         internal companion object {
-            @Suppress("UNCHECKED_CAST")
             internal fun create(
                 options: EliteOptions?,
                 wrappers: List<OwnIdFlowWrapper<JsonSerializable>>,
                 eventBus: OwnIdFlowEventBus.EventBus
             ): Config {
-                val actionWrapperMap = wrappers.associateBy { wrapper ->
-                    OwnIdFlowAction.values().firstOrNull { it.wrapperKlass == wrapper::class }?.webAction
-                }.filterKeys { it != null } as Map<String, OwnIdFlowWrapper<JsonSerializable>>
+                val actionWrapperMap = LinkedHashMap<String, OwnIdFlowWrapper<JsonSerializable>>(wrappers.size * 2)
+                wrappers.forEach { wrapper ->
+                    OwnIdFlowAction.fromWrapper(wrapper)?.let { actionWrapperMap[it.webAction] = wrapper }
+                }
 
                 return Config(options, actionWrapperMap.keys.toTypedArray(), actionWrapperMap, eventBus)
             }
@@ -93,7 +97,7 @@ internal object OwnIdWebViewBridgeFlow : OwnIdWebViewBridgeImpl.NamespaceHandler
                 }
 
                 OwnIdInternalLogger.logD(this@OwnIdWebViewBridgeFlow, "handle", flowEvent::class.java.simpleName)
-                currentConfig.send(flowEvent)
+                check(currentConfig.send(flowEvent)) { "OwnIdWebViewBridgeFlow: Event not accepted: $action" }
             } catch (cause: CancellationException) {
                 bridgeContext.finishWithError(this@OwnIdWebViewBridgeFlow, cause)
                 throw cause
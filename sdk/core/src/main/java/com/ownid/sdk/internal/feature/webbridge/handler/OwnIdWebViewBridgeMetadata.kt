@@ -15,9 +15,10 @@ import kotlin.coroutines.cancellation.CancellationException
 @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
 internal object OwnIdWebViewBridgeMetadata : OwnIdWebViewBridgeImpl.NamespaceHandler {
     private const val GET = "get"
+    private const val GET_LATENCY = "getLatency"
 
     override val namespace: OwnIdWebViewBridge.Namespace = OwnIdWebViewBridge.Namespace.METADATA
-    override val actions: Array<String> = arrayOf(GET)
+    override val actions: Array<String> = arrayOf(GET, GET_LATENCY)
 
     @UiThread
     override fun handle(bridgeContext: OwnIdWebViewBridgeContext, action: String?, params: String?) {
@@ -30,6 +31,13 @@ internal object OwnIdWebViewBridgeMetadata : OwnIdWebViewBridgeImpl.NamespaceHan
                     return@launch
                 }
 
+                if (GET_LATENCY.equals(action, ignoreCase = true)) {
+                    val latencyJson = bridgeContext.latency?.toJSONObject() ?: JSONObject()
+                    bridgeContext.finishWithSuccess(latencyJson.toString())
+
+                    return@launch
+                }
+
                 throw IllegalArgumentException("OwnIdWebViewBridgeMetadata: Unsupported action: '$action'")
             } catch (cause: CancellationException) {
                 bridgeContext.finishWithError(this@OwnIdWebViewBridgeMetadata, cause)
@@ -4,7 +4,6 @@ import android.annotation.SuppressLint
 import androidx.annotation.MainThread
 import androidx.annotation.RestrictTo
 import androidx.annotation.UiThread
-import androidx.credentials.CredentialManager
 import androidx.credentials.CustomCredential
 import androidx.credentials.GetCredentialRequest
 import androidx.credentials.exceptions.GetCredentialCancellationException
@@ -76,13 +75,13 @@ internal object OwnIdWebViewBridgeSocial : OwnIdWebViewBridgeImpl.NamespaceHandl
                 .addCredentialOption(signInWithGoogleOption)
                 .build()
 
-            val result = CredentialManager.create(webView.context).getCredential(webView.context, request)
+            val result = ownIdCore.credentialService.getCredential(webView.context, request)
 
             when (val credential = result.credential) {
                 is CustomCredential -> {
                     if (credential.type == GoogleIdTokenCredential.TYPE_GOOGLE_ID_TOKEN_CREDENTIAL) {
                         val idToken = GoogleIdTokenCredential.createFrom(credential.data).idToken
-                        finishWithSuccess("'$idToken'")
+                        finishWithSuccess(JSONObject.quote(idToken))
                     } else {
                         throw OwnIdException("Unsupported credential type: ${credential.type}")
                     }
@@ -5,6 +5,7 @@ import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.JsonSerializable
 import com.ownid.sdk.exception.OwnIdException
 import org.json.JSONObject
+import java.util.Locale
 import kotlin.reflect.KClass
 
 @InternalOwnIdAPI
@@ -187,4 +188,15 @@ internal enum class OwnIdFlowAction(
                 OnCloseEvent(wrapper = wrapper, payload = OnCloseEvent.Payload, webViewCallback = webViewCallback)
         }
     );
-}
\ No newline at end of file
+
+    internal companion object {
+        // Keyed by lowercase WebSDK action name
+        private val webActions: Map<String, OwnIdFlowAction> = values().associateBy { it.webAction.lowercase(Locale.ROOT) }
+
+        private val wrapperActions: Map<KClass<out Any>, OwnIdFlowAction> = values().associateBy { it.wrapperKlass }
+
+        internal fun fromWebAction(action: String?): OwnIdFlowAction? = action?.let { webActions[it.lowercase(Locale.ROOT)] }
+
+        internal fun fromWrapper(wrapper: OwnIdFlowWrapper<*>): OwnIdFlowAction? = wrapperActions[wrapper::class]
+    }
+}
@@ -8,8 +8,6 @@ import com.ownid.sdk.exception.OwnIdException
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.component.events.Metadata
 import com.ownid.sdk.internal.component.events.Metric
-import kotlinx.coroutines.NonCancellable
-import kotlinx.coroutines.withContext
 
 /**
  * Represents an event in the OwnID Elite.
@@ -77,11 +75,7 @@ internal class SessionCreateEvent(
     override val isTerminal: Boolean = OwnIdFlowAction.SESSION_CREATE.isTerminal,
     override val onReceiveSideEffect: suspend (ownIdCore: OwnIdCoreImpl) -> Unit = { ownIdCore ->
         ownIdCore.apply {
-            withContext(NonCancellable) {
-                runCatching { repository.saveLoginId(payload.loginId, payload.authMethod) }
-                val loginIdData = repository.getLoginIdData(payload.loginId)
-                runCatching { repository.saveLoginIdData(payload.loginId, loginIdData.copy(authMethod = payload.authMethod)) }
-            }
+            runCatching { repository.saveLoginId(payload.loginId, payload.authMethod) }
         }
     }
 ) : OwnIdFlowEvent {
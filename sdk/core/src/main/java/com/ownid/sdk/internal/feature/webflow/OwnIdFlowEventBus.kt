@@ -7,26 +7,46 @@ import kotlinx.coroutines.Job
 import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.consumeAsFlow
+import kotlinx.coroutines.flow.onEach
 import java.util.UUID
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
 
 @InternalOwnIdAPI
 internal object OwnIdFlowEventBus {
 
+    // Events are handled one by one, Web SDK waits for result of non-terminal events, so only a few can be pending.
+    // Terminal events are never rejected, so the flow always gets its onClose/onError/onFinish.
+    @VisibleForTesting
+    internal const val EVENTS_CAPACITY = 16
+
     internal class EventBus(
         internal val job: Job,
         internal val id: String = UUID.randomUUID().toString()
     ) {
         private val actionsChannel = Channel<OwnIdFlowEvent>(Channel.UNLIMITED)
+        private val pendingEvents = AtomicInteger(0)
 
-        internal fun send(flowEvent: OwnIdFlowEvent) {
+        /**
+         * Returns `false` if the event was not sent, as the bus is closed or, for non-terminal event,
+         * already has [EVENTS_CAPACITY] pending events.
+         */
+        internal fun send(flowEvent: OwnIdFlowEvent): Boolean {
+            if (flowEvent.isTerminal.not() && pendingEvents.get() >= EVENTS_CAPACITY) {
+                OwnIdInternalLogger.logW(this@EventBus, "EventBus.send", "Channel is full [${flowEvent::class.simpleName}]")
+                return false
+            }
+            pendingEvents.incrementAndGet()
             val result = actionsChannel.trySend(flowEvent)
-            if (result.isClosed) {
+            if (result.isFailure) {
+                pendingEvents.decrementAndGet()
                 OwnIdInternalLogger.logW(this@EventBus, "EventBus.send", "Channel is closed [${flowEvent::class.simpleName}]")
             }
+            return result.isSuccess
         }
 
-        internal fun consumeAsHotFlow(): Flow<OwnIdFlowEvent> = actionsChannel.consumeAsFlow()
+        internal fun consumeAsHotFlow(): Flow<OwnIdFlowEvent> =
+            actionsChannel.consumeAsFlow().onEach { pendingEvents.decrementAndGet() }
 
         internal fun close() {
             OwnIdInternalLogger.logD(this@EventBus, "EventBus.close", "Bus id: $id")
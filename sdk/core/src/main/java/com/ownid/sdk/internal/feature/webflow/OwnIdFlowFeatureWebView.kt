@@ -8,12 +8,12 @@ import android.graphics.Color
 import android.net.Uri
 import android.os.Build
 import android.os.Bundle
+import android.os.Looper
+import android.os.SystemClock
 import android.view.View
 import android.view.ViewGroup
 import android.view.ViewGroup.MarginLayoutParams
-import android.webkit.WebSettings
 import android.webkit.WebView
-import android.webkit.WebViewClient
 import android.widget.LinearLayout
 import androidx.activity.OnBackPressedCallback
 import androidx.annotation.ColorInt
@@ -34,6 +34,9 @@ import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.feature.OwnIdHiddenActivity
 import com.ownid.sdk.internal.feature.webbridge.OwnIdWebViewBridgeImpl
 import com.ownid.sdk.internal.feature.webbridge.handler.OwnIdWebViewBridgeFlow
+import com.ownid.sdk.internal.feature.webflow.OwnIdFlowWebViewPool.Companion.release
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.async
 import kotlinx.coroutines.ensureActive
 import kotlinx.coroutines.launch
 import kotlin.coroutines.cancellation.CancellationException
@@ -66,7 +69,7 @@ internal class OwnIdFlowFeatureWebView : OwnIdFlowFeature {
 <head>
   <meta charset="UTF-8">
   <title></title>
-  <link id="webapp-icon" rel="icon" type="image/png" href="https://cdn.prod.website-files.com/63e207687d9e033189f3c3f1/643fe358bb66c2a656709593_OwnID%20icon.png">
+  <link id="webapp-icon" rel="icon" href="data:,">
   <meta name="viewport" content="width=device-width, initial-scale=1.0">
   <style>
    .spinner {--ownid-spinner-overlay-bg-color: #fff;--ownid-spinner-bg-color: rgba(133, 133, 133, .3);--ownid-spinner-bg-opasity: 1;--ownid-spinner-color: #858585;--ownid-spinner-size: 40px;position: absolute;z-index: 1;width: 100%;height: 100%;background-color: var(--ownid-spinner-overlay-bg-color);top: 0;left: 0;display: flex;justify-content: center;align-items: center;}.spinner svg {position: absolute;width: var(--ownid-spinner-size);height: var(--ownid-spinner-size);overflow: visible;}.spinner .bg {stroke: var(--ownid-spinner-bg-color);opacity: var(--ownid-spinner-bg-opasity);}.spinner .sp {stroke-linecap: round;stroke: var(--ownid-spinner-color);animation: animation 2s cubic-bezier(0.61, 0.24, 0.44, 0.79) infinite;}.spinner .bg, .spinner .sp {fill: none;stroke-width: 15px;}.spinner .sp-svg {animation: rotate 2s cubic-bezier(0.61, 0.24, 0.44, 0.79) infinite;}@keyframes animation {0% {stroke-dasharray: 1 270;stroke-dashoffset: 70;}50% {stroke-dasharray: 80 270;stroke-dashoffset: 220;}100% {stroke-dasharray: 1 270;stroke-dashoffset: 70;}}@keyframes rotate {100% {transform: rotate(720deg);}}
@@ -93,7 +96,10 @@ internal class OwnIdFlowFeatureWebView : OwnIdFlowFeature {
 </html>"""
 
         internal fun getDefaultHTML(configuration: Configuration): String = DEFAULT_WEBVIEW_HTML_TEMPLATE
-            .replace("OWNID-CDN-URL", configuration.cdnUrl.newBuilder().addPathSegment(configuration.appId).build().toString())
+            .replace("OWNID-CDN-URL", getWebSdkUrl(configuration))
+
+        internal fun getWebSdkUrl(configuration: Configuration): String =
+            configuration.cdnUrl.newBuilder().addPathSegment(configuration.appId).build().toString()
 
         internal fun Uri.isJSLoadError(): Boolean = isOwnIdScheme() && ON_JS_LOAD_ERROR.equals(host, ignoreCase = true)
 
@@ -122,29 +128,24 @@ internal class OwnIdFlowFeatureWebView : OwnIdFlowFeature {
 
         activity.lifecycle.coroutineScope.launch {
             try {
+                val startTime = SystemClock.elapsedRealtime()
                 val ownIdCore = OwnId.instance.ownIdCore as OwnIdCoreImpl
-
-                ownIdCore.configurationService.ensureConfigurationSet()
-                ensureActive()
                 val configuration = ownIdCore.configuration
 
-                val webView = WebView(activity).apply {
-                    tag = JsConstants.KEY_WEB_VIEW_TAG
-
-                    settings.apply {
-                        @SuppressLint("SetJavaScriptEnabled")
-                        javaScriptEnabled = true
-                        domStorageEnabled = true
-                        allowFileAccess = false
-                        allowContentAccess = false
-                        layoutAlgorithm = WebSettings.LayoutAlgorithm.TEXT_AUTOSIZING
-                        loadWithOverviewMode = true
-                        useWideViewPort = true
-                        userAgentString = configuration.userAgent
-                    }
+                // Server configuration is fetched while WebView is created and laid out
+                var configurationTime = 0L
+                val configurationResult = async(start = CoroutineStart.UNDISPATCHED) {
+                    runCatching { ownIdCore.configurationService.ensureConfigurationSet() }
+                        .also { configurationTime = SystemClock.elapsedRealtime() - startTime }
+                }
 
-                    webViewClient = OwnIdFlowWebViewClient(this) { error -> OwnIdWebViewBridgeFlow.sendErrorEvent(error) }
+                val pooledWebView = ownIdCore.webViewPool.acquire(activity)
+                val webView = (pooledWebView ?: OwnIdFlowWebViewPool.createWebView(activity, configuration.userAgent)).apply {
+                    webViewClient = OwnIdFlowWebViewClient(this, pooledWebView != null, ownIdCore.flowResourceLoader) { error ->
+                        OwnIdWebViewBridgeFlow.sendErrorEvent(error)
+                    }
                 }
+                val webViewTime = SystemClock.elapsedRealtime() - startTime
 
                 activity.setContentView(
                     webView = webView,
@@ -163,6 +164,10 @@ internal class OwnIdFlowFeatureWebView : OwnIdFlowFeature {
                     }
                 }
                 activity.onBackPressedDispatcher.addCallback(onBackPressedCallback)
+                val layoutTime = SystemClock.elapsedRealtime() - startTime
+
+                configurationResult.await().getOrThrow()
+                ensureActive()
 
                 val eliteOptions = OwnIdWebViewBridgeFlow.options
                 val webViewSettings = configuration.server.webViewSettings
@@ -171,6 +176,11 @@ internal class OwnIdFlowFeatureWebView : OwnIdFlowFeature {
 
                 OwnIdWebViewBridgeImpl(null, null).injectInto(webView, setOf(baseUrl), true)
                 webView.loadDataWithBaseURL(baseUrl, html, "text/html", null, null)
+
+                val loadTime = SystemClock.elapsedRealtime() - startTime
+                val timings = "configuration: $configurationTime ms, webView: $webViewTime ms (pooled: ${pooledWebView != null}), " +
+                        "layout: $layoutTime ms, load started: $loadTime ms"
+                OwnIdInternalLogger.logI(this@OwnIdFlowFeatureWebView, "onCreate", "Startup timings from start: $timings")
             } catch (cause: Throwable) {
                 OwnIdInternalLogger.logW(this@OwnIdFlowFeatureWebView, "onCreate", cause.message, cause)
 
@@ -191,9 +201,11 @@ internal class OwnIdFlowFeatureWebView : OwnIdFlowFeature {
 
         if (::onBackPressedCallback.isInitialized) onBackPressedCallback.remove()
 
-        activity.findViewById<ViewGroup>(android.R.id.content)?.findViewWithTag<WebView>(JsConstants.KEY_WEB_VIEW_TAG)?.apply {
-            loadUrl("about:blank")
-            webViewClient = object : WebViewClient() {}
+        activity.findViewById<ViewGroup>(android.R.id.content)?.findViewWithTag<WebView>(JsConstants.KEY_WEB_VIEW_TAG)?.release()
+
+        val ownIdCore = runCatching { OwnId.instance.ownIdCore as OwnIdCoreImpl }.getOrNull() ?: return
+        if (ownIdCore.configuration.prewarmWebView && activity.isChangingConfigurations.not()) {
+            Looper.myQueue().addIdleHandler { ownIdCore.webViewPool.prewarm(); false }
         }
     }
 
@@ -0,0 +1,110 @@
+package com.ownid.sdk.internal.feature.webflow
+
+import android.content.Context
+import android.webkit.WebResourceRequest
+import android.webkit.WebResourceResponse
+import androidx.annotation.RestrictTo
+import androidx.annotation.WorkerThread
+import com.ownid.sdk.Configuration
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import com.ownid.sdk.internal.component.cache.OwnIdCacheBudget
+import com.ownid.sdk.internal.component.cache.OwnIdHttpCache
+import com.ownid.sdk.internal.component.cache.ownIdCache
+import okhttp3.CacheControl
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.HttpUrl
+import okhttp3.HttpUrl.Companion.toHttpUrlOrNull
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
+import java.io.File
+import java.io.IOException
+
+/**
+ * Loads OwnID Web SDK resources (everything under [Configuration.cdnUrl]) for flow WebView with OwnID [OkHttpClient],
+ * so they share connections with native requests and are kept in a disk cache.
+ *
+ * Cached resource is returned even if it is stale, and it is revalidated in background for the next flow.
+ * Any failure returns `null`, so WebView loads the resource itself.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdFlowResourceLoader(context: Context, configuration: Configuration, okHttpClient: OkHttpClient) {
+
+    private val httpCache = OwnIdHttpCache(File(context.cacheDir, "ownid_web_sdk_v1"), OwnIdCacheBudget.budgetBytes)
+        .open(okHttpClient.dispatcher.executorService)
+    private val okHttpClient: OkHttpClient = okHttpClient.newBuilder().followRedirects(true).ownIdCache(httpCache).build()
+    private val cdnUrl: HttpUrl = configuration.cdnUrl
+    private val userAgent: String = configuration.userAgent
+
+    @WorkerThread
+    @JvmSynthetic
+    internal fun load(request: WebResourceRequest): WebResourceResponse? {
+        if ("GET".equals(request.method, ignoreCase = true).not()) return null
+        val url = request.url.toString().toHttpUrlOrNull()?.takeIf { it.isWebSdkResource() } ?: return null
+
+        val baseRequest = Request.Builder()
+            .url(url)
+            .header("User-Agent", userAgent)
+            .apply { request.requestHeaders["Accept"]?.let { header("Accept", it) } }
+            .build()
+
+        return runCatching {
+            val cacheResponse = okHttpClient.newCall(baseRequest.newBuilder().cacheControl(CacheControl.FORCE_CACHE).build()).execute()
+            if (cacheResponse.isSuccessful) {
+                OwnIdInternalLogger.logD(this, "load", "From cache: $url")
+                revalidate(baseRequest)
+                return@runCatching cacheResponse.toWebResourceResponse()
+            }
+            cacheResponse.close()
+
+            val networkResponse = okHttpClient.newCall(baseRequest).execute()
+            if (networkResponse.isSuccessful) return@runCatching networkResponse.toWebResourceResponse()
+            networkResponse.close()
+
+            OwnIdInternalLogger.logI(this, "load", "Server response ($url): ${networkResponse.code}")
+            null
+        }.getOrElse {
+            OwnIdInternalLogger.logI(this, "load", "Failed ($url): ${it.message}", it)
+            null
+        }
+    }
+
+    @JvmSynthetic
+    internal fun close() {
+        httpCache.close()
+    }
+
+    private fun HttpUrl.isWebSdkResource(): Boolean =
+        scheme == cdnUrl.scheme && host == cdnUrl.host && port == cdnUrl.port &&
+                pathSegments.size > cdnUrl.pathSegments.size && pathSegments.subList(0, cdnUrl.pathSegments.size) == cdnUrl.pathSegments
+
+    // Fresh cached resource is not requested again, stale one is revalidated with conditional request
+    private fun revalidate(request: Request) {
+        okHttpClient.newCall(request).enqueue(object : Callback {
+            override fun onFailure(call: Call, e: IOException) {
+                OwnIdInternalLogger.logD(this@OwnIdFlowResourceLoader, "revalidate", "Failed (${request.url}): ${e.message}")
+            }
+
+            override fun onResponse(call: Call, response: Response) {
+                response.use { it.body?.bytes() }
+            }
+        })
+    }
+
+    private fun Response.toWebResourceResponse(): WebResourceResponse {
+        val body = requireNotNull(body) { "No response body" }
+        val contentType = body.contentType()
+        val headers = headers.toMultimap().mapValues { (_, values) -> values.joinToString(", ") }
+        return WebResourceResponse(
+            contentType?.let { "${it.type}/${it.subtype}" } ?: "application/octet-stream",
+            contentType?.charset()?.name(),
+            code,
+            message.ifBlank { "OK" },
+            headers,
+            body.byteStream()
+        )
+    }
+}
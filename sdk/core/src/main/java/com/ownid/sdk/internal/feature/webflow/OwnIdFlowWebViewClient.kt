@@ -5,6 +5,7 @@ import android.os.Build
 import android.webkit.RenderProcessGoneDetail
 import android.webkit.WebResourceError
 import android.webkit.WebResourceRequest
+import android.webkit.WebResourceResponse
 import android.webkit.WebView
 import android.webkit.WebViewClient
 import androidx.annotation.RequiresApi
@@ -15,7 +16,21 @@ import com.ownid.sdk.internal.feature.webflow.OwnIdFlowFeatureWebView.JsConstant
 import com.ownid.sdk.internal.feature.webflow.OwnIdFlowFeatureWebView.JsConstants.isJSLoadError
 
 @InternalOwnIdAPI
-internal class OwnIdFlowWebViewClient(private val webView: WebView, private val onError: (OwnIdException) -> Unit) : WebViewClient() {
+internal class OwnIdFlowWebViewClient(
+    private val webView: WebView,
+    private var clearHistory: Boolean,
+    private val resourceLoader: OwnIdFlowResourceLoader?,
+    private val onError: (OwnIdException) -> Unit
+) : WebViewClient() {
+
+    override fun doUpdateVisitedHistory(view: WebView, url: String?, isReload: Boolean) {
+        super.doUpdateVisitedHistory(view, url, isReload)
+        // Pre-warmed WebView has preload page in its history
+        if (clearHistory) {
+            clearHistory = false
+            view.clearHistory()
+        }
+    }
 
     override fun shouldOverrideUrlLoading(view: WebView, request: WebResourceRequest): Boolean {
         when {
@@ -51,6 +66,9 @@ internal class OwnIdFlowWebViewClient(private val webView: WebView, private val
         return true
     }
 
+    override fun shouldInterceptRequest(view: WebView, request: WebResourceRequest): WebResourceResponse? =
+        resourceLoader?.load(request) ?: super.shouldInterceptRequest(view, request)
+
     override fun onReceivedError(view: WebView, request: WebResourceRequest, error: WebResourceError) {
         super.onReceivedError(view, request, error)
         OwnIdInternalLogger.logI(this, "onReceivedError", "[${error.errorCode}] ${error.description}: ${request.url}")
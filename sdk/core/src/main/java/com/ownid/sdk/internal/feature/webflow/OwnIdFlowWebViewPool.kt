@@ -0,0 +1,167 @@
+package com.ownid.sdk.internal.feature.webflow
+
+import android.annotation.SuppressLint
+import android.content.ComponentCallbacks2
+import android.content.Context
+import android.content.MutableContextWrapper
+import android.content.res.Configuration
+import android.os.Build
+import android.view.ViewGroup
+import android.webkit.RenderProcessGoneDetail
+import android.webkit.WebResourceRequest
+import android.webkit.WebResourceResponse
+import android.webkit.WebSettings
+import android.webkit.WebView
+import android.webkit.WebViewClient
+import androidx.annotation.MainThread
+import androidx.annotation.RequiresApi
+import androidx.annotation.RestrictTo
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnIdCoreImpl
+import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import com.ownid.sdk.internal.feature.webflow.OwnIdFlowFeatureWebView.JsConstants
+
+/**
+ * Keeps one WebView prepared for OwnID Elite flow. Enabled by [com.ownid.sdk.Configuration.prewarmWebView].
+ *
+ * [prewarm] creates WebView (starting WebView renderer process) and loads a page on flow base URL that prefetches
+ * OwnID Web SDK into [OwnIdFlowResourceLoader] cache. [acquire] hands the WebView to the flow activity, the bridge is injected there,
+ * as flow actions are known only when the flow starts. Idle WebView is destroyed on memory pressure.
+ */
+@InternalOwnIdAPI
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+internal class OwnIdFlowWebViewPool(private val ownIdCore: OwnIdCoreImpl) : ComponentCallbacks2 {
+
+    internal companion object {
+        private const val PREWARM_HTML_TEMPLATE =
+            """<!DOCTYPE html><html><head><link rel="prefetch" href="OWNID-CDN-URL"></head><body></body></html>"""
+
+        @JvmSynthetic
+        internal fun createWebView(context: Context, userAgent: String): WebView = WebView(context).apply {
+            tag = JsConstants.KEY_WEB_VIEW_TAG
+
+            settings.apply {
+                @SuppressLint("SetJavaScriptEnabled")
+                javaScriptEnabled = true
+                domStorageEnabled = true
+                allowFileAccess = false
+                allowContentAccess = false
+                layoutAlgorithm = WebSettings.LayoutAlgorithm.TEXT_AUTOSIZING
+                loadWithOverviewMode = true
+                useWideViewPort = true
+                userAgentString = userAgent
+            }
+        }
+
+        /**
+         * Detaches WebView from its parent and destroys it. WebView must not be used after that.
+         */
+        @MainThread
+        @JvmSynthetic
+        internal fun WebView.release() {
+            (parent as? ViewGroup)?.removeView(this)
+            stopLoading()
+            webViewClient = object : WebViewClient() {}
+            (context as? MutableContextWrapper)?.run { baseContext = applicationContext }
+            destroy()
+        }
+    }
+
+    private inner class PrewarmWebViewClient : WebViewClient() {
+        override fun shouldOverrideUrlLoading(view: WebView, request: WebResourceRequest): Boolean = true
+
+        override fun shouldInterceptRequest(view: WebView, request: WebResourceRequest): WebResourceResponse? =
+            ownIdCore.flowResourceLoader.load(request) ?: super.shouldInterceptRequest(view, request)
+
+        @RequiresApi(Build.VERSION_CODES.O)
+        override fun onRenderProcessGone(view: WebView?, detail: RenderProcessGoneDetail?): Boolean {
+            OwnIdInternalLogger.logI(this@OwnIdFlowWebViewPool, "onRenderProcessGone", "didCrash: ${detail?.didCrash()}")
+            evict()
+            return true
+        }
+    }
+
+    private var webView: WebView? = null
+    private var isClosed: Boolean = false
+
+    /**
+     * Creates and preloads WebView unless it is already available. Requires server configuration.
+     */
+    @MainThread
+    @JvmSynthetic
+    internal fun prewarm() {
+        if (isClosed || webView != null) return
+        val configuration = ownIdCore.configuration
+        if (configuration.isServerConfigurationSet.not()) return
+
+        OwnIdInternalLogger.logD(this, "prewarm", "Invoked")
+
+        val webViewSettings = configuration.server.webViewSettings
+        val baseUrl = webViewSettings?.baseUrl ?: JsConstants.DEFAULT_WEBVIEW_URL
+        val html = if (webViewSettings?.html == null) {
+            PREWARM_HTML_TEMPLATE.replace("OWNID-CDN-URL", JsConstants.getWebSdkUrl(configuration))
+        } else {
+            "<!DOCTYPE html><html></html>"
+        }
+
+        val contextWrapper = MutableContextWrapper(ownIdCore.applicationContext)
+        webView = runCatching { createWebView(contextWrapper, configuration.userAgent) }
+            .onFailure { OwnIdInternalLogger.logW(this, "prewarm", "WebView is not available: ${it.message}", it) }
+            .getOrNull()
+            ?.apply {
+                webViewClient = PrewarmWebViewClient()
+                loadDataWithBaseURL(baseUrl, html, "text/html", null, null)
+                onPause()
+            }
+            ?: return
+
+        ownIdCore.applicationContext.registerComponentCallbacks(this)
+    }
+
+    /**
+     * Returns prepared WebView bound to [context] or `null` if there is none. WebView is handed over only once.
+     * Its back history contains preload page, that must be cleared after flow page is loaded.
+     */
+    @MainThread
+    @JvmSynthetic
+    internal fun acquire(context: Context): WebView? {
+        val current = webView ?: return null
+        webView = null
+        ownIdCore.applicationContext.unregisterComponentCallbacks(this)
+
+        OwnIdInternalLogger.logD(this, "acquire", "Using pre-warmed WebView")
+        (current.context as MutableContextWrapper).baseContext = context
+        current.onResume()
+        return current
+    }
+
+    @MainThread
+    @JvmSynthetic
+    internal fun close() {
+        isClosed = true
+        evict()
+    }
+
+    override fun onTrimMemory(level: Int) {
+        val isRunningLow = level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW && level < ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN
+        if (isRunningLow || level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            OwnIdInternalLogger.logD(this, "onTrimMemory", "Level: $level")
+            evict()
+        }
+    }
+
+    override fun onLowMemory() {
+        OwnIdInternalLogger.logD(this, "onLowMemory", "Invoked")
+        evict()
+    }
+
+    override fun onConfigurationChanged(newConfig: Configuration) {}
+
+    @MainThread
+    private fun evict() {
+        val current = webView ?: return
+        webView = null
+        ownIdCore.applicationContext.unregisterComponentCallbacks(this)
+        current.release()
+    }
+}
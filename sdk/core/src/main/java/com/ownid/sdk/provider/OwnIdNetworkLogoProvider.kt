@@ -7,6 +7,9 @@ import android.graphics.drawable.Drawable
 import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.OwnIdProvider
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
+import com.ownid.sdk.internal.component.cache.OwnIdCacheBudget
+import com.ownid.sdk.internal.component.cache.OwnIdHttpCache
+import com.ownid.sdk.internal.component.cache.ownIdCache
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import okhttp3.*
@@ -21,8 +24,11 @@ public class OwnIdNetworkLogoProvider(context: Context) : OwnIdProvider.LogoProv
     private val okHttpClient = OkHttpClient.Builder()
         .followRedirects(true)
         .callTimeout(30, TimeUnit.SECONDS)
-        .cache(Cache(File(context.cacheDir, "ownid_logo_cache"), 4L * 1024L * 1024L))
         .build()
+        .let { client ->
+            val logoCache = OwnIdHttpCache(File(context.cacheDir, "ownid_logo_cache"), OwnIdCacheBudget.budgetBytes)
+            client.newBuilder().ownIdCache(logoCache.open(client.dispatcher.executorService)).build()
+        }
 
     override fun getLogo(context: Context, logoUrl: String?): StateFlow<Drawable?> {
         val drawableFlow = MutableStateFlow<Drawable?>(null)
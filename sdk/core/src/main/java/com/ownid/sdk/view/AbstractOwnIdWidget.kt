@@ -18,6 +18,7 @@ import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.component.events.Metadata
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleService
+import com.ownid.sdk.internal.component.locale.OwnIdLocaleUpdate
 import com.ownid.sdk.viewmodel.OwnIdFlowViewModel
 import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
@@ -43,7 +44,11 @@ public abstract class AbstractOwnIdWidget(
     private var loginIdEditTextView: EditText? = null
     private var loginIdEditTextViewId: Int = View.NO_ID
     private var loginIdChangeListener: Function0<Unit>? = null
-    private val textChangedRunnable = Runnable { loginIdChangeListener?.invoke() }
+    private var loginIdPrefetchListener: ((String) -> Unit)? = null
+    private val textChangedRunnable = Runnable {
+        loginIdChangeListener?.invoke()
+        loginIdPrefetchListener?.invoke(getLoginId())
+    }
     private val loginIdTextWatcher = object : TextWatcher {
         override fun beforeTextChanged(s: CharSequence?, start: Int, count: Int, after: Int) = Unit
         override fun onTextChanged(s: CharSequence?, start: Int, before: Int, count: Int) = Unit
@@ -129,11 +134,29 @@ public abstract class AbstractOwnIdWidget(
 
     protected fun setLoginIdChangeListener(listener: (() -> Unit)?) {
         loginIdChangeListener = listener
+        updateLoginIdTextWatcher()
+    }
 
-        if (listener == null) {
-            loginIdEditTextView?.removeTextChangedListener(loginIdTextWatcher)
-            if (loginIdEditTextViewId != View.NO_ID)
-                findEditText(rootView, loginIdEditTextViewId)?.removeTextChangedListener(loginIdTextWatcher)
+    /**
+     * Set a listener that gets Login ID when it stops changing. Used to prefetch OwnID flow.
+     */
+    @MainThread
+    @JvmSynthetic
+    internal fun setLoginIdPrefetchListener(listener: ((String) -> Unit)?) {
+        loginIdPrefetchListener = listener
+        updateLoginIdTextWatcher()
+        if (listener != null) {
+            removeCallbacks(textChangedRunnable)
+            postDelayed(textChangedRunnable, 500)
+        }
+    }
+
+    private fun updateLoginIdTextWatcher() {
+        loginIdEditTextView?.removeTextChangedListener(loginIdTextWatcher)
+        if (loginIdEditTextViewId != View.NO_ID)
+            findEditText(rootView, loginIdEditTextViewId)?.removeTextChangedListener(loginIdTextWatcher)
+
+        if (loginIdChangeListener == null && loginIdPrefetchListener == null) {
             removeCallbacks(textChangedRunnable)
             return
         }
@@ -157,6 +180,7 @@ public abstract class AbstractOwnIdWidget(
         val scope = requireNotNull(viewModel.viewLifecycleCoroutineScope)
 
         scope.coroutineContext.job.invokeOnCompletion {
+            setLoginIdPrefetchListener(null)
             getLocaleService()?.unregisterLocaleUpdateListener(this)
             ownIdViewModel = null
             loginIdProvider = null
@@ -183,7 +207,7 @@ public abstract class AbstractOwnIdWidget(
         super.onAttachedToWindow()
         if (isInEditMode.not()) {
             getLocaleService()?.registerLocaleUpdateListener(this)
-            onLocaleUpdated()
+            onLocaleUpdated(OwnIdLocaleUpdate.ALL)
         }
     }
 
@@ -192,9 +216,12 @@ public abstract class AbstractOwnIdWidget(
         if (isInEditMode.not()) getLocaleService()?.unregisterLocaleUpdateListener(this)
     }
 
-    override fun onLocaleUpdated() {
-        setStrings()
+    override fun onLocaleUpdated(localeUpdate: OwnIdLocaleUpdate) {
+        if (isAffectedBy(localeUpdate)) setStrings()
     }
 
+    @JvmSynthetic
+    internal open fun isAffectedBy(localeUpdate: OwnIdLocaleUpdate): Boolean = true
+
     protected val Number.toPx: Int get() = (this.toFloat() * this@AbstractOwnIdWidget.resources.displayMetrics.density).roundToInt()
 }
\ No newline at end of file
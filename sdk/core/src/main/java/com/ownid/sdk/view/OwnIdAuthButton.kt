@@ -18,6 +18,7 @@ import com.ownid.sdk.R
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.component.events.Metadata
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleKey
+import com.ownid.sdk.internal.component.locale.OwnIdLocaleUpdate
 
 
 /**
@@ -135,14 +136,19 @@ public open class OwnIdAuthButton @JvmOverloads constructor(
         this.isBusy = isBusy
     }
 
+    @JvmSynthetic
+    internal override fun isAffectedBy(localeUpdate: OwnIdLocaleUpdate): Boolean = localeUpdate.affects(CONTINUE)
+
     @CallSuper
     protected override fun setStrings() {
-        button.text = if (isInEditMode.not())
+        val text = if (isInEditMode.not())
             if (isBusy) ""
             else getLocaleService()?.getString(context, CONTINUE) ?: context.getString(R.string.com_ownid_sdk_widgets_button_auth_message)
         else
             context.getString(R.string.com_ownid_sdk_widgets_button_auth_message)
 
+        if (button.text?.toString() == text) return
+        button.text = text
         button.minEms = button.text.length
 
         if (isInLayout.not()) requestLayout()
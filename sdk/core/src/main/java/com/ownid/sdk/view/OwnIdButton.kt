@@ -21,6 +21,7 @@ import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.R
 import com.ownid.sdk.internal.component.events.Metadata
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleKey
+import com.ownid.sdk.internal.component.locale.OwnIdLocaleUpdate
 import com.ownid.sdk.view.popup.Popup
 import com.ownid.sdk.view.popup.tooltip.Tooltip
 import com.ownid.sdk.view.popup.tooltip.TooltipView
@@ -309,17 +310,26 @@ public open class OwnIdButton @JvmOverloads constructor(
         if (isVisible.not()) hideTooltip()
     }
 
+    @JvmSynthetic
+    internal override fun isAffectedBy(localeUpdate: OwnIdLocaleUpdate): Boolean = localeUpdate.affects(SKIP_PASSWORD, OR)
+
     @CallSuper
     protected override fun setStrings() {
+        val skipPassword: String
+        val or: String
         if (isInEditMode.not()) {
-            bOwnId.contentDescription = getLocaleService()?.getString(context, SKIP_PASSWORD)
+            skipPassword = getLocaleService()?.getString(context, SKIP_PASSWORD)
                 ?: context.getString(R.string.com_ownid_sdk_widgets_sbsButton_skipPassword)
-            tvOr.text = getLocaleService()?.getString(context, OR)
+            or = getLocaleService()?.getString(context, OR)
                 ?: context.getString(R.string.com_ownid_sdk_widgets_sbsButton_or)
         } else {
-            bOwnId.contentDescription = context.getString(R.string.com_ownid_sdk_widgets_sbsButton_skipPassword)
-            tvOr.text = context.getString(R.string.com_ownid_sdk_widgets_sbsButton_or)
+            skipPassword = context.getString(R.string.com_ownid_sdk_widgets_sbsButton_skipPassword)
+            or = context.getString(R.string.com_ownid_sdk_widgets_sbsButton_or)
         }
+
+        if (bOwnId.contentDescription?.toString() != skipPassword) bOwnId.contentDescription = skipPassword
+        if (tvOr.text?.toString() == or) return
+        tvOr.text = or
         if (isInLayout.not()) requestLayout()
     }
 
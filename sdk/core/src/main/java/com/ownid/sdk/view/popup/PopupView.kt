@@ -13,6 +13,7 @@ import androidx.constraintlayout.widget.ConstraintSet
 import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.R
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleService
+import com.ownid.sdk.internal.component.locale.OwnIdLocaleUpdate
 
 @InternalOwnIdAPI
 @SuppressLint("ViewConstructor")
@@ -152,7 +153,7 @@ public abstract class PopupView(
         }
 
         if (isInEditMode.not()) localeService.registerLocaleUpdateListener(this)
-        onLocaleUpdated()
+        onLocaleUpdated(OwnIdLocaleUpdate.ALL)
     }
 
     override fun onDetachedFromWindow() {
@@ -160,11 +161,15 @@ public abstract class PopupView(
         if (isInEditMode.not()) localeService.unregisterLocaleUpdateListener(this)
     }
 
-    override fun onLocaleUpdated() {
+    override fun onLocaleUpdated(localeUpdate: OwnIdLocaleUpdate) {
+        if (isAffectedBy(localeUpdate).not()) return
         setStrings()
         reLayout()
     }
 
+    @JvmSynthetic
+    internal open fun isAffectedBy(localeUpdate: OwnIdLocaleUpdate): Boolean = true
+
     private fun reLayout() {
         if (isInLayout.not()) requestLayout()
         invalidate()
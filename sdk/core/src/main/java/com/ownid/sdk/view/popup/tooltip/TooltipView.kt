@@ -9,6 +9,7 @@ import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.R
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleKey
 import com.ownid.sdk.internal.component.locale.OwnIdLocaleService
+import com.ownid.sdk.internal.component.locale.OwnIdLocaleUpdate
 import com.ownid.sdk.view.popup.Popup
 import com.ownid.sdk.view.popup.PopupView
 
@@ -52,6 +53,9 @@ public class TooltipView(
         }
     }
 
+    @JvmSynthetic
+    internal override fun isAffectedBy(localeUpdate: OwnIdLocaleUpdate): Boolean = localeUpdate.affects(textKey)
+
     public fun setTextSize(sizeSp: Float) {
         textView.setTextSize(TypedValue.COMPLEX_UNIT_SP, sizeSp)
     }
@@ -17,7 +17,7 @@ import com.ownid.sdk.internal.adjustEnrollmentOptions
 import com.ownid.sdk.internal.await
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.enrollmentOptionsHasCredential
-import com.ownid.sdk.internal.feature.OwnIdActivity
+import com.ownid.sdk.internal.feature.OwnIdResultRegistry
 import com.ownid.sdk.internal.feature.enrollment.OwnIdEnrollmentFeature
 import com.ownid.sdk.internal.feature.enrollment.OwnIdEnrollmentNetworkHelper
 import kotlinx.coroutines.CancellationException
@@ -50,12 +50,11 @@ public class OwnIdEnrollmentViewModel(ownIdInstance: OwnIdInstance) : OwnIdBaseV
     public val enrollmentResultFlow: StateFlow<Result<String>?> = _enrollmentResultFlow.asStateFlow()
 
     @InternalOwnIdAPI
-    @Suppress("DEPRECATION", "UNCHECKED_CAST")
     override fun onActivityResult(result: ActivityResult) {
         OwnIdInternalLogger.logD(this, "onActivityResult", result.toString())
         runCatching {
             if (result.resultCode != Activity.RESULT_OK) throw OwnIdException("Enrolment activity canceled [${result.resultCode}]")
-            (result.data?.getSerializableExtra(OwnIdActivity.KEY_RESULT) as Result<String>).getOrThrow()
+            OwnIdResultRegistry.getResult<String>(result.data).getOrThrow()
         }.let { endEnrolment(it) }
     }
 
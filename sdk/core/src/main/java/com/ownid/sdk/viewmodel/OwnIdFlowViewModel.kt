@@ -21,14 +21,13 @@ import com.ownid.sdk.exception.OwnIdUserError
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.component.events.Metadata
 import com.ownid.sdk.internal.component.events.Metric
-import com.ownid.sdk.internal.feature.OwnIdActivity
+import com.ownid.sdk.internal.feature.OwnIdResultRegistry
 import com.ownid.sdk.internal.feature.nativeflow.LifecycleCompletableCoroutineScope
 import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowError
 import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowFeature
 import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowLoginId
 import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowType
 import com.ownid.sdk.view.AbstractOwnIdWidget
-import kotlinx.coroutines.NonCancellable
 import kotlinx.coroutines.cancel
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
@@ -36,8 +35,6 @@ import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.runBlocking
-import kotlinx.coroutines.withContext
 
 /**
  * Base ViewModel class for OwnID flow ViewModels.
@@ -108,12 +105,11 @@ public abstract class OwnIdFlowViewModel(ownIdInstance: OwnIdInstance) : OwnIdBa
     internal var viewLifecycleCoroutineScope: LifecycleCompletableCoroutineScope? = null
 
     @InternalOwnIdAPI
-    @Suppress("DEPRECATION", "UNCHECKED_CAST")
     override fun onActivityResult(result: ActivityResult) {
         OwnIdInternalLogger.logD(this, "onActivityResult", result.toString())
         runCatching {
             if (result.resultCode != Activity.RESULT_OK) throw OwnIdFlowCanceled(OwnIdFlowCanceled.RESULT_PENDING + ":${result.resultCode}")
-            (result.data?.getSerializableExtra(OwnIdActivity.KEY_RESULT) as Result<OwnIdResponse>).getOrThrow()
+            OwnIdResultRegistry.getResult<OwnIdResponse>(result.data).getOrThrow()
         }.let { endFlow(it) }
     }
 
@@ -138,6 +134,7 @@ public abstract class OwnIdFlowViewModel(ownIdInstance: OwnIdInstance) : OwnIdBa
         if (view is AbstractOwnIdWidget) {
             view.setLoginIdProvider(loginIdProvider)
             view.setViewModel(this)
+            if (ownIdCore.configuration.prefetchFlow) view.setLoginIdPrefetchListener { prefetchFlow(it, loginType) }
         }
 
         val metadata = if (view is AbstractOwnIdWidget) view.getMetadata().copy(loginType = loginType)
@@ -173,6 +170,23 @@ public abstract class OwnIdFlowViewModel(ownIdInstance: OwnIdInstance) : OwnIdBa
         startFlow(view.context, loginIdString, loginType)
     }
 
+    @MainThread
+    @InternalOwnIdAPI
+    private fun prefetchFlow(loginIdString: String, loginType: OwnIdLoginType?) {
+        if (_busyFlow.value || isReadyToRegister || ownIdCore.configuration.isServerConfigurationSet.not()) return
+
+        viewModelScope.launch {
+            val workingLoginId = when (flowType) {
+                OwnIdNativeFlowType.REGISTER -> if (ownIdResponseUndo?.loginId == loginIdString) return@launch else loginIdString
+                OwnIdNativeFlowType.LOGIN -> loginIdString.ifBlank { ownIdCore.repository.getLoginId().orEmpty() }
+            }
+
+            if (_busyFlow.value || OwnIdNativeFlowLoginId.fromString(workingLoginId, ownIdCore.configuration).isValid().not()) return@launch
+
+            ownIdCore.nativeFlowPrefetch.prefetch(flowType, loginType, workingLoginId)
+        }
+    }
+
     @MainThread
     @InternalOwnIdAPI
     protected fun startFlow(context: Context, loginIdString: String, loginType: OwnIdLoginType?) {
@@ -183,30 +197,30 @@ public abstract class OwnIdFlowViewModel(ownIdInstance: OwnIdInstance) : OwnIdBa
 
         publishBusy(true)
 
-        var workingLoginId = loginIdString
-
-        when (flowType) {
-            OwnIdNativeFlowType.REGISTER -> ownIdResponseUndo?.let {
-                if (it.loginId == loginIdString) {
-                    endFlow(Result.success(it))
-                    return
-                }
-            }
-
-            OwnIdNativeFlowType.LOGIN -> workingLoginId = loginIdString.ifBlank {
-                runBlocking { ownIdCore.repository.getLoginId() ?: "" }
+        if (flowType == OwnIdNativeFlowType.REGISTER) ownIdResponseUndo?.let {
+            if (it.loginId == loginIdString) {
+                endFlow(Result.success(it))
+                return
             }
         }
 
         ownIdResponseUndo = null
         _ownIdResponseFlow.value = null
 
-        ownIdCore.configurationService.ensureConfigurationSet {
-            mapCatching {
-                ownIdCore.localeService.updateCurrentOwnIdLocale(context)
-                val intent = OwnIdNativeFlowFeature.createIntent(context, ownIdCore.instanceName, flowType, loginType, workingLoginId)
-                launchActivity(intent)
-            }.onFailure { endFlow(Result.failure(OwnIdException("OwnIdBaseViewModel.startFlow: ${it.message}", it))) }
+        // Does not suspend once last login ID is loaded from storage
+        viewModelScope.launch {
+            val workingLoginId = when (flowType) {
+                OwnIdNativeFlowType.REGISTER -> loginIdString
+                OwnIdNativeFlowType.LOGIN -> loginIdString.ifBlank { ownIdCore.repository.getLoginId().orEmpty() }
+            }
+
+            ownIdCore.configurationService.ensureConfigurationSet {
+                mapCatching {
+                    ownIdCore.localeService.updateCurrentOwnIdLocale(context)
+                    val intent = OwnIdNativeFlowFeature.createIntent(context, ownIdCore.instanceName, flowType, loginType, workingLoginId)
+                    launchActivity(intent)
+                }.onFailure { endFlow(Result.failure(OwnIdException("OwnIdBaseViewModel.startFlow: ${it.message}", it))) }
+            }
         }
     }
 
@@ -284,18 +298,14 @@ public abstract class OwnIdFlowViewModel(ownIdInstance: OwnIdInstance) : OwnIdBa
         errorMessage: String? = null,
         errorCode: String? = null
     ) {
-        val returningUser = runBlocking { ownIdCore.repository.getLoginId() }?.isNotBlank() ?: false
-        val meta = (metadata ?: Metadata()).copy(returningUser = returningUser)
-        ownIdCore.eventsService.sendMetric(flowType, type, action, meta, errorMessage = errorMessage, errorCode = errorCode)
+        ownIdCore.repository.withLoginId { loginId ->
+            val meta = (metadata ?: Metadata()).copy(returningUser = loginId.isNullOrBlank().not())
+            ownIdCore.eventsService.sendMetric(flowType, type, action, meta, errorMessage = errorMessage, errorCode = errorCode)
+        }
     }
 
     @InternalOwnIdAPI
     protected suspend fun saveLoginId(loginId: String, authType: String) {
-        withContext(NonCancellable) {
-            val authMethod = AuthMethod.fromString(authType)
-            runCatching { ownIdCore.repository.saveLoginId(loginId, authMethod) }
-            val loginIdData = ownIdCore.repository.getLoginIdData(loginId)
-            runCatching { ownIdCore.repository.saveLoginIdData(loginId, loginIdData.copy(authMethod = authMethod)) }
-        }
+        runCatching { ownIdCore.repository.saveLoginId(loginId, AuthMethod.fromString(authType)) }
     }
 }
\ No newline at end of file
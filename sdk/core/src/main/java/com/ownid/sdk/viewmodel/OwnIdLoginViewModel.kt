@@ -10,6 +10,7 @@ import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.ViewModelProvider
 import androidx.lifecycle.findViewTreeLifecycleOwner
+import androidx.lifecycle.viewModelScope
 import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.OwnIdInstance
 import com.ownid.sdk.OwnIdIntegration
@@ -28,7 +29,7 @@ import com.ownid.sdk.internal.component.events.Metric
 import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowType
 import com.ownid.sdk.view.OwnIdAuthButton
 import com.ownid.sdk.view.OwnIdButton
-import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.launch
 
 /**
  * ViewModel class for OwnID Login flow.
@@ -175,6 +176,7 @@ public class OwnIdLoginViewModel(ownIdInstance: OwnIdInstance) : OwnIdFlowViewMo
      * - If `onlyReturningUser` is false, the authentication flow will start for the given `loginId`. If no `loginId` is provided, a prompt is displayed to get it and continue.
      *
      * - If `onlyReturningUser` is true, the authentication flow starts only for a previously logged in user (the `loginId` parameter is ignored). If no such user exists, the flow will not start.
+     * If previously logged in user is not loaded from storage yet, it is loaded in background and `true` is returned; the flow will not start if no such user exists.
      *
      * The result of the flow is delivered via [integrationEvents] livedata.
      *
@@ -189,8 +191,22 @@ public class OwnIdLoginViewModel(ownIdInstance: OwnIdInstance) : OwnIdFlowViewMo
         OwnIdInternalLogger.logD(this, "auth", "Invoked")
 
         if (onlyReturningUser) {
-            val returningUserLoginId = runBlocking { ownIdCore.repository.getLoginId().orEmpty() }.ifBlank { return false }
-            startFlow(context, returningUserLoginId, OwnIdLoginType.Standard)
+            val repository = ownIdCore.repository
+            if (repository.isLoginIdLoaded) {
+                val returningUserLoginId = repository.loginId.value.orEmpty().ifBlank { return false }
+                startFlow(context, returningUserLoginId, OwnIdLoginType.Standard)
+                return true
+            }
+
+            // Stored login ID is not loaded yet (cold start), resolve it without blocking main thread
+            viewModelScope.launch {
+                val returningUserLoginId = repository.getLoginId()
+                if (returningUserLoginId.isNullOrBlank()) {
+                    OwnIdInternalLogger.logD(this@OwnIdLoginViewModel, "auth", "No returning user")
+                    return@launch
+                }
+                startFlow(context, returningUserLoginId, OwnIdLoginType.Standard)
+            }
             return true
         } else {
             startFlow(context, loginId, OwnIdLoginType.Standard)
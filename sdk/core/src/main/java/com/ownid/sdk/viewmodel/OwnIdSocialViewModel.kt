@@ -16,12 +16,11 @@ import com.ownid.sdk.exception.OwnIdException
 import com.ownid.sdk.internal.component.OwnIdInternalLogger
 import com.ownid.sdk.internal.component.events.Metadata
 import com.ownid.sdk.internal.component.events.Metric
-import com.ownid.sdk.internal.feature.OwnIdActivity
+import com.ownid.sdk.internal.feature.OwnIdResultRegistry
 import com.ownid.sdk.internal.feature.social.OwnIdSocialFeature
 import com.ownid.sdk.internal.feature.social.OwnIdSocialNetworkHelper
 import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.NonCancellable
 import kotlinx.coroutines.ensureActive
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
@@ -80,12 +79,11 @@ public class OwnIdSocialViewModel(ownIdInstance: OwnIdInstance) : OwnIdBaseViewM
     private var challengeId: String? = null
 
     @InternalOwnIdAPI
-    @Suppress("DEPRECATION", "UNCHECKED_CAST")
     override fun onActivityResult(result: ActivityResult) {
         OwnIdInternalLogger.logD(this, "onActivityResult", result.toString())
         runCatching {
             if (result.resultCode != Activity.RESULT_OK) throw OwnIdCancellationException("Social activity canceled [${result.resultCode}]")
-            (result.data?.getSerializableExtra(OwnIdActivity.KEY_RESULT) as Result<Pair<String, String>>).getOrThrow()
+            OwnIdResultRegistry.getResult<Pair<String, String>>(result.data).getOrThrow()
         }.let { endSignIn(it) }
     }
 
@@ -226,11 +224,6 @@ public class OwnIdSocialViewModel(ownIdInstance: OwnIdInstance) : OwnIdBaseViewM
     }
 
     private suspend fun saveLoginId(loginId: String, authType: String) {
-        withContext(NonCancellable) {
-            val authMethod = AuthMethod.fromString(authType)
-            runCatching { ownIdCore.repository.saveLoginId(loginId, authMethod) }
-            val loginIdData = ownIdCore.repository.getLoginIdData(loginId)
-            runCatching { ownIdCore.repository.saveLoginIdData(loginId, loginIdData.copy(authMethod = authMethod)) }
-        }
+        runCatching { ownIdCore.repository.saveLoginId(loginId, AuthMethod.fromString(authType)) }
     }
 }
\ No newline at end of file
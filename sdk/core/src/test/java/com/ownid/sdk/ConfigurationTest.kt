@@ -42,7 +42,7 @@ public class ConfigurationTest {
 
         val slotFileName = slot<String>()
         every { Configuration.getFileFromAssets(any(), capture(slotFileName)) } returns TestDataCore.validConfigurationJsonByteArray
-        every { Configuration.getVersionsFromAssets(any()) } returns TestDataCore.validConfigurationAssets
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
 
         val configuration = Configuration.createFromAssetFile(contextMockk, configurationAssetFileName, product)
 
@@ -72,7 +72,7 @@ public class ConfigurationTest {
 
         val slotFileName = slot<String>()
         every { Configuration.getFileFromAssets(any(), capture(slotFileName)) } returns TestDataCore.validConfigurationJsonByteArrayEU
-        every { Configuration.getVersionsFromAssets(any()) } returns TestDataCore.validConfigurationAssets
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
 
         val configuration = Configuration.createFromAssetFile(contextMockk, configurationAssetFileName, product)
 
@@ -110,7 +110,7 @@ public class ConfigurationTest {
 
         val slotFileName = slot<String>()
         every { Configuration.getFileFromAssets(any(), capture(slotFileName)) } returns validConfiguration
-        every { Configuration.getVersionsFromAssets(any()) } returns TestDataCore.validConfigurationAssets
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
 
         val configuration = Configuration.createFromAssetFile(contextMockk, configurationAssetFileName, product)
 
@@ -161,7 +161,7 @@ public class ConfigurationTest {
 
         mockkObject(Configuration)
 
-        every { Configuration.getVersionsFromAssets(any()) } returns TestDataCore.validConfigurationAssets
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
 
         val configuration = Configuration.createFromJson(contextMockk, TestDataCore.validConfigurationJson, product)
 
@@ -246,7 +246,7 @@ public class ConfigurationTest {
 
         mockkObject(Configuration)
 
-        every { Configuration.getVersionsFromAssets(any()) } returns TestDataCore.validConfigurationAssets
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
 
         val exception = assertThrows(JSONException::class.java) {
             Configuration.createFromJson(contextMockk, """{ "app_Id": "ybmrs2pxdeazta" }""", product)
@@ -264,7 +264,7 @@ public class ConfigurationTest {
 
         mockkObject(Configuration)
 
-        every { Configuration.getVersionsFromAssets(any()) } returns TestDataCore.validConfigurationAssets
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
 
         val exception = assertThrows(IllegalArgumentException::class.java) {
             Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta_-" }""", product)
@@ -282,7 +282,7 @@ public class ConfigurationTest {
 
         mockkObject(Configuration)
 
-        every { Configuration.getVersionsFromAssets(any()) } returns TestDataCore.validConfigurationAssets
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
 
         val configuration = Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta", "envi": "dev" }""", product)
 
@@ -300,7 +300,7 @@ public class ConfigurationTest {
 
         mockkObject(Configuration)
 
-        every { Configuration.getVersionsFromAssets(any()) } returns TestDataCore.validConfigurationAssets
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
 
         val configuration = Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta", "env": "devs" }""", product)
 
@@ -309,6 +309,86 @@ public class ConfigurationTest {
         Truth.assertThat(configuration.region).isEqualTo("")
     }
 
+    @Test
+    public fun configurationCreateCacheSize() {
+        val contextMockk = mockk<Context>()
+        every { contextMockk.packageName } returns TestDataCore.validPackageName
+        every { contextMockk.cacheDir } returns TestDataCore.validCacheDir
+        every { contextMockk.applicationContext } returns contextMockk
+
+        mockkObject(Configuration)
+
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
+
+        val defaultConfiguration = Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta" }""", product)
+        Truth.assertThat(defaultConfiguration.cacheSize).isEqualTo(Configuration.DEFAULT_CACHE_SIZE)
+
+        val configuration = Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta", "cacheSizeMb": 3 }""", product)
+        Truth.assertThat(configuration.cacheSize).isEqualTo(3L * 1024L * 1024L)
+
+        assertThrows(IllegalArgumentException::class.java) {
+            Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta", "cacheSizeMb": 0 }""", product)
+        }
+    }
+
+    @Test
+    public fun configurationCreateMaxLoginIds() {
+        val contextMockk = mockk<Context>()
+        every { contextMockk.packageName } returns TestDataCore.validPackageName
+        every { contextMockk.cacheDir } returns TestDataCore.validCacheDir
+        every { contextMockk.applicationContext } returns contextMockk
+
+        mockkObject(Configuration)
+
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
+
+        val defaultConfiguration = Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta" }""", product)
+        Truth.assertThat(defaultConfiguration.maxLoginIds).isEqualTo(Configuration.DEFAULT_MAX_LOGIN_IDS)
+
+        val configuration = Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta", "maxLoginIds": 5 }""", product)
+        Truth.assertThat(configuration.maxLoginIds).isEqualTo(5)
+
+        assertThrows(IllegalArgumentException::class.java) {
+            Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta", "maxLoginIds": 0 }""", product)
+        }
+    }
+
+    @Test
+    public fun configurationCreatePrefetchFlow() {
+        val contextMockk = mockk<Context>()
+        every { contextMockk.packageName } returns TestDataCore.validPackageName
+        every { contextMockk.cacheDir } returns TestDataCore.validCacheDir
+        every { contextMockk.applicationContext } returns contextMockk
+
+        mockkObject(Configuration)
+
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
+
+        val defaultConfiguration = Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta" }""", product)
+        Truth.assertThat(defaultConfiguration.prefetchFlow).isFalse()
+
+        val configuration = Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta", "prefetchFlow": true }""", product)
+        Truth.assertThat(configuration.prefetchFlow).isTrue()
+    }
+
+    @Test
+    public fun configurationCreatePrewarmWebView() {
+        val contextMockk = mockk<Context>()
+        every { contextMockk.packageName } returns TestDataCore.validPackageName
+        every { contextMockk.cacheDir } returns TestDataCore.validCacheDir
+        every { contextMockk.applicationContext } returns contextMockk
+
+        mockkObject(Configuration)
+
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
+
+        val defaultConfiguration = Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta" }""", product)
+        Truth.assertThat(defaultConfiguration.prewarmWebView).isFalse()
+
+        val configuration = Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta", "prewarmWebView": true }""", product)
+        Truth.assertThat(configuration.prewarmWebView).isTrue()
+    }
+
     @Test
     public fun configurationCreateBadRedirectUrlKey() {
         val contextMockk = mockk<Context>()
@@ -318,7 +398,7 @@ public class ConfigurationTest {
 
         mockkObject(Configuration)
 
-        every { Configuration.getVersionsFromAssets(any()) } returns TestDataCore.validConfigurationAssets
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
 
         val configuration = Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta", "redirectUri": "dev" }""", product)
 
@@ -337,7 +417,7 @@ public class ConfigurationTest {
 
         mockkObject(Configuration)
 
-        every { Configuration.getVersionsFromAssets(any()) } returns TestDataCore.validConfigurationAssets
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
 
         val exception = assertThrows(IllegalArgumentException::class.java) {
             Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta", "redirectUrl": "/dev/df" }""", product)
@@ -355,7 +435,7 @@ public class ConfigurationTest {
 
         mockkObject(Configuration)
 
-        every { Configuration.getVersionsFromAssets(any()) } returns TestDataCore.validConfigurationAssets
+        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
 
         val configuration = Configuration.createFromJson(contextMockk, """{ "appId": "ybmrs2pxdeazta" }""", product)
 
@@ -386,7 +466,7 @@ public class ConfigurationTest {
 //
 //        mockkObject(Configuration)
 //
-//        every { Configuration.getVersionsFromAssets(any()) } returns TestDataCore.validConfigurationAssets
+//        every { Configuration.getModuleVersions() } returns TestDataCore.validConfigurationAssets
 //
 //        val configuration = Configuration.createFromJson(contextMockk, TestDataCore.validConfigurationJson, product)
 //
@@ -0,0 +1,159 @@
+package com.ownid.sdk
+
+import androidx.test.core.app.ApplicationProvider
+import com.google.common.truth.Truth
+import io.mockk.every
+import io.mockk.justRun
+import io.mockk.mockk
+import io.mockk.mockkObject
+import io.mockk.unmockkObject
+import io.mockk.verify
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.resetMain
+import kotlinx.coroutines.test.setMain
+import org.awaitility.kotlin.await
+import org.awaitility.kotlin.untilAsserted
+import org.junit.After
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@OptIn(InternalOwnIdAPI::class, ExperimentalCoroutinesApi::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdTest {
+    private val instanceName = InstanceName("AsyncTestInstance")
+
+    @Before
+    public fun setup() {
+        // Main part of async creation runs inline on creation thread
+        Dispatchers.setMain(UnconfinedTestDispatcher())
+        mockkObject(OwnIdCoreImpl.Companion)
+    }
+
+    @After
+    public fun tearDown() {
+        OwnId.closeInstance(instanceName)
+        unmockkObject(OwnIdCoreImpl.Companion)
+        Dispatchers.resetMain()
+    }
+
+    private fun mockCore(): OwnIdCoreImpl = mockk(relaxed = true) {
+        every { this@mockk.instanceName } returns this@OwnIdTest.instanceName
+    }
+
+    private fun mockInstance(ownIdCore: OwnIdCore): OwnIdInstance = mockk {
+        every { this@mockk.ownIdCore } returns ownIdCore
+    }
+
+    @Test
+    public fun `createAsync publishes created instance`() {
+        val ownIdCore = mockCore()
+        every { OwnIdCoreImpl.create(any(), instanceName, any()) } returns ownIdCore
+
+        val handle = OwnId.createAsync(ApplicationProvider.getApplicationContext(), "Test", instanceName, { TestDataCore.validConfig }) { mockInstance(it) }
+        val instance = runBlocking { handle.await() }
+
+        Truth.assertThat(instance.ownIdCore).isSameInstanceAs(ownIdCore)
+        Truth.assertThat(OwnId.getInstanceOrNull<OwnIdInstance>(instanceName)).isSameInstanceAs(instance)
+        Truth.assertThat(handle.isCompleted).isTrue()
+        verify(exactly = 1) { ownIdCore.start(any()) }
+        verify(exactly = 0) { ownIdCore.close() }
+    }
+
+    @Test
+    public fun `createAsync closes new core if instance was created meanwhile`() {
+        val ownIdCore = mockCore()
+        every { OwnIdCoreImpl.create(any(), instanceName, any()) } returns ownIdCore
+        val configurationRequested = CountDownLatch(1)
+        val existingCreated = CountDownLatch(1)
+
+        val handle = OwnId.createAsync(ApplicationProvider.getApplicationContext(), "Test", instanceName, {
+            configurationRequested.countDown()
+            existingCreated.await(5, TimeUnit.SECONDS)
+            TestDataCore.validConfig
+        }) { mockInstance(it) }
+
+        Truth.assertThat(configurationRequested.await(5, TimeUnit.SECONDS)).isTrue()
+        val existing = mockInstance(mockk<OwnIdCore> { every { this@mockk.instanceName } returns this@OwnIdTest.instanceName; justRun { close() } })
+        OwnId.putInstance(existing)
+        existingCreated.countDown()
+
+        Truth.assertThat(runBlocking { handle.await() }).isSameInstanceAs(existing)
+        Truth.assertThat(OwnId.getInstanceOrNull<OwnIdInstance>(instanceName)).isSameInstanceAs(existing)
+        verify(exactly = 0) { ownIdCore.start(any()) }
+        verify(exactly = 1) { ownIdCore.close() }
+    }
+
+    @Test
+    public fun `createAsync returns pending handle for the same name`() {
+        val release = CountDownLatch(1)
+        every { OwnIdCoreImpl.create(any(), instanceName, any()) } returns mockCore()
+
+        val handle = OwnId.createAsync(ApplicationProvider.getApplicationContext(), "Test", instanceName, {
+            release.await(5, TimeUnit.SECONDS)
+            TestDataCore.validConfig
+        }) { mockInstance(it) }
+        val secondHandle = OwnId.createAsync(ApplicationProvider.getApplicationContext(), "Test", instanceName, { TestDataCore.validConfig }) { mockInstance(it) }
+        release.countDown()
+
+        Truth.assertThat(secondHandle).isSameInstanceAs(handle)
+        runBlocking { handle.await() }
+        verify(exactly = 1) { OwnIdCoreImpl.create(any(), instanceName, any()) }
+    }
+
+    @Test
+    public fun `createAsync cancel closes created core and does not publish it`() {
+        val ownIdCore = mockCore()
+        every { OwnIdCoreImpl.create(any(), instanceName, any()) } returns ownIdCore
+        val configurationRequested = CountDownLatch(1)
+        val canceled = CountDownLatch(1)
+
+        val handle = OwnId.createAsync(ApplicationProvider.getApplicationContext(), "Test", instanceName, {
+            configurationRequested.countDown()
+            canceled.await(5, TimeUnit.SECONDS)
+            TestDataCore.validConfig
+        }) { mockInstance(it) }
+
+        Truth.assertThat(configurationRequested.await(5, TimeUnit.SECONDS)).isTrue()
+        handle.cancel()
+        canceled.countDown()
+
+        Assert.assertThrows(CancellationException::class.java) { runBlocking { handle.await() } }
+        await.atMost(5, TimeUnit.SECONDS) untilAsserted { verify(exactly = 1) { ownIdCore.close() } }
+        verify(exactly = 0) { ownIdCore.start(any()) }
+        Truth.assertThat(OwnId.getInstanceOrNull<OwnIdInstance>(instanceName)).isNull()
+
+        val newHandle = OwnId.createAsync(ApplicationProvider.getApplicationContext(), "Test", instanceName, { TestDataCore.validConfig }) { mockInstance(it) }
+        Truth.assertThat(newHandle).isNotSameInstanceAs(handle)
+        runBlocking { newHandle.await() }
+    }
+
+    @Test
+    public fun `closeInstance closes core and removes instance`() {
+        val ownIdCore = mockk<OwnIdCore> {
+            every { instanceName } returns TestDataCore.validInstanceName
+            justRun { close() }
+        }
+        val ownIdInstance = mockk<OwnIdInstance> {
+            every { this@mockk.ownIdCore } returns ownIdCore
+        }
+        OwnId.putInstance(ownIdInstance)
+
+        Truth.assertThat(OwnId.closeInstance(TestDataCore.validInstanceName)).isTrue()
+        Truth.assertThat(OwnId.getInstances()).doesNotContain(ownIdInstance)
+        verify(exactly = 1) { ownIdCore.close() }
+
+        Truth.assertThat(OwnId.closeInstance(TestDataCore.validInstanceName)).isFalse()
+        verify(exactly = 1) { ownIdCore.close() }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ownid.sdk.internal
+
+import android.content.Intent
+import android.os.Parcel
+import com.google.common.truth.Truth
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnIdFlowInfo
+import com.ownid.sdk.OwnIdPayload
+import com.ownid.sdk.OwnIdResponse
+import com.ownid.sdk.exception.OwnIdFlowCanceled
+import com.ownid.sdk.internal.feature.OwnIdParcelableResult
+import com.ownid.sdk.internal.feature.OwnIdResultRegistry
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdResultRegistryTest {
+
+    private val response = OwnIdResponse(
+        "context",
+        "user@ownid.com",
+        OwnIdFlowInfo(OwnIdFlowInfo.Event.Login, "passkey", null),
+        OwnIdPayload(OwnIdPayload.Type.Login, "data", "metadata"),
+        "en"
+    )
+
+    @Test
+    public fun `result is delivered in process without copy`() {
+        val result = Result.success(response)
+        val intent = OwnIdResultRegistry.createResultIntent(result)
+
+        Truth.assertThat(OwnIdResultRegistry.getResult<OwnIdResponse>(intent).getOrThrow()).isSameInstanceAs(response)
+    }
+
+    @Test
+    public fun `parcelable copy is used when in-memory result is gone`() {
+        val intent = OwnIdResultRegistry.createResultIntent(Result.success(response))
+        OwnIdResultRegistry.getResult<OwnIdResponse>(intent)
+
+        Truth.assertThat(OwnIdResultRegistry.getResult<OwnIdResponse>(intent).getOrThrow()).isEqualTo(response)
+    }
+
+    @Test
+    public fun `parcelable result survives parcel`() {
+        fun <T> Result<T>.parcel(): Result<*> {
+            val parcel = Parcel.obtain()
+            OwnIdParcelableResult(this).writeToParcel(parcel, 0)
+            parcel.setDataPosition(0)
+            return OwnIdParcelableResult.CREATOR.createFromParcel(parcel).result.also { parcel.recycle() }
+        }
+
+        Truth.assertThat(Result.success(response).parcel().getOrThrow()).isEqualTo(response)
+        Truth.assertThat(Result.success<String?>(null).parcel().getOrThrow()).isNull()
+        Truth.assertThat(Result.success("https://redirect").parcel().getOrThrow()).isEqualTo("https://redirect")
+        Truth.assertThat(Result.success("a" to "b").parcel().getOrThrow()).isEqualTo("a" to "b")
+        Truth.assertThat(Result.failure<String>(OwnIdFlowCanceled("test")).parcel().exceptionOrNull())
+            .isInstanceOf(OwnIdFlowCanceled::class.java)
+    }
+
+    @Test
+    public fun `missing result is failure`() {
+        Truth.assertThat(OwnIdResultRegistry.getResult<String>(null).isFailure).isTrue()
+        Truth.assertThat(OwnIdResultRegistry.getResult<String>(Intent()).isFailure).isTrue()
+    }
+}
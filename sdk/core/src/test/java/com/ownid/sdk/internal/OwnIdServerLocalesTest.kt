@@ -0,0 +1,51 @@
+package com.ownid.sdk.internal
+
+import com.google.common.truth.Truth
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.component.locale.OwnIdLocale
+import com.ownid.sdk.internal.component.locale.OwnIdServerLocales
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdServerLocalesTest {
+
+    private val serverLocales = OwnIdServerLocales(listOf("en", "es", "es-MX", "fr"))
+
+    @Test
+    public fun `selectLocale prefers language and country match`() {
+        Truth.assertThat(serverLocales.selectLocale("es-MX,en").serverLanguageTag).isEqualTo("es-MX")
+    }
+
+    @Test
+    public fun `selectLocale falls back to language match`() {
+        Truth.assertThat(serverLocales.selectLocale("es-AR,en").serverLanguageTag).isEqualTo("es")
+    }
+
+    @Test
+    public fun `selectLocale checks tags in order`() {
+        Truth.assertThat(serverLocales.selectLocale("de-DE,fr-CA,en").serverLanguageTag).isEqualTo("fr")
+    }
+
+    @Test
+    public fun `selectLocale returns default when nothing matches`() {
+        Truth.assertThat(serverLocales.selectLocale("de-DE,ja")).isSameInstanceAs(OwnIdLocale.DEFAULT)
+    }
+
+    @Test
+    public fun `selectLocale returns memoised result for same tags`() {
+        val first = serverLocales.selectLocale("es-MX")
+        Truth.assertThat(serverLocales.selectLocale("es-MX")).isSameInstanceAs(first)
+    }
+
+    @Test
+    public fun `containsLocale matches by server language tag`() {
+        Truth.assertThat(serverLocales.containsLocale(OwnIdLocale.forLanguageTag("es-MX"))).isTrue()
+        Truth.assertThat(serverLocales.containsLocale(OwnIdLocale.DEFAULT)).isTrue()
+        Truth.assertThat(serverLocales.containsLocale(OwnIdLocale.forLanguageTag("de"))).isFalse()
+    }
+}
@@ -0,0 +1,51 @@
+package com.ownid.sdk.internal.component
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import com.google.common.truth.Truth
+import com.ownid.sdk.Configuration
+import com.ownid.sdk.InternalOwnIdAPI
+import io.mockk.every
+import io.mockk.mockkObject
+import io.mockk.unmockkObject
+import io.mockk.verify
+import org.json.JSONObject
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import java.io.File
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdStartupSnapshotTest {
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+
+    @Before
+    public fun setup() {
+        mockkObject(Configuration)
+        every { Configuration.getCertificateHashes(any()) } returns setOf("AABB")
+    }
+
+    @After
+    public fun tearDown() {
+        unmockkObject(Configuration)
+    }
+
+    @Test
+    public fun `snapshot is computed once and persisted`() {
+        val first = OwnIdStartupSnapshot.get(context)
+        val second = OwnIdStartupSnapshot.get(context)
+
+        Truth.assertThat(second).isSameInstanceAs(first)
+        Truth.assertThat(first.certificateHashes).containsExactly("AABB")
+        verify(atMost = 1) { Configuration.getCertificateHashes(any()) }
+
+        val persisted = JSONObject(File(context.noBackupFilesDir, "ownid_startup_snapshot.json").readText())
+        Truth.assertThat(persisted.getJSONArray("certificateHashes").getString(0)).isEqualTo("AABB")
+    }
+}
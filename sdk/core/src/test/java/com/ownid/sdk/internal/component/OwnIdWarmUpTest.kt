@@ -0,0 +1,144 @@
+package com.ownid.sdk.internal.component
+
+import androidx.test.core.app.ApplicationProvider
+import com.google.common.truth.Truth
+import com.ownid.sdk.Configuration
+import com.ownid.sdk.InstanceName
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnId
+import com.ownid.sdk.OwnIdCallback
+import com.ownid.sdk.OwnIdCoreImpl
+import com.ownid.sdk.OwnIdInitializer
+import com.ownid.sdk.OwnIdInstance
+import com.ownid.sdk.TestDataCore
+import com.ownid.sdk.exception.OwnIdException
+import io.mockk.every
+import io.mockk.just
+import io.mockk.mockk
+import io.mockk.mockkObject
+import io.mockk.runs
+import io.mockk.slot
+import io.mockk.unmockkObject
+import io.mockk.verify
+import io.mockk.verifyOrder
+import okhttp3.OkHttpClient
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdWarmUpTest {
+
+    private val instanceName = InstanceName("WarmUpTestInstance")
+    private val configuration = Configuration(
+        TestDataCore.validAppId,
+        "${TestDataCore.validEnv}.",
+        TestDataCore.validRegion,
+        TestDataCore.validRedirectUrl,
+        TestDataCore.validVersion,
+        TestDataCore.validUserAgent,
+        TestDataCore.validPackageName,
+        TestDataCore.validHashSet,
+        prewarmWebView = true
+    )
+    private val okHttpClient: OkHttpClient = mockk(relaxed = true)
+    private val configurationCallback = slot<OwnIdCallback<Unit>>()
+    private val ownIdCore: OwnIdCoreImpl = mockk(relaxed = true) {
+        every { instanceName } returns this@OwnIdWarmUpTest.instanceName
+        every { configuration } returns this@OwnIdWarmUpTest.configuration
+        every { applicationContext } returns ApplicationProvider.getApplicationContext()
+        every { okHttpClient } returns this@OwnIdWarmUpTest.okHttpClient
+        every { configurationService.ensureConfigurationSet(capture(configurationCallback)) } just runs
+    }
+
+    private lateinit var idleHandler: OwnIdWarmUp.WarmUpIdleHandler
+
+    @Before
+    public fun setup() {
+        OwnIdWarmUp.scheduled.add(instanceName)
+        idleHandler = OwnIdWarmUp.WarmUpIdleHandler(ownIdCore)
+    }
+
+    @After
+    public fun tearDown() {
+        OwnIdWarmUp.onInstanceClosed(instanceName)
+    }
+
+    @Test
+    public fun `phases run one per idle pass after server configuration is set`() {
+        Truth.assertThat(idleHandler.queueIdle()).isTrue()
+        verify(exactly = 1) { ownIdCore.configurationService.ensureConfigurationSet(any()) }
+
+        // Locales wait for server configuration
+        Truth.assertThat(idleHandler.queueIdle()).isTrue()
+        Truth.assertThat(idleHandler.queueIdle()).isTrue()
+        verify(exactly = 0) { ownIdCore.localeService.prefetchLocales(any()) }
+
+        configuration.setServerConfiguration(TestDataCore.validServerConfig)
+        configurationCallback.captured.invoke(Result.success(Unit))
+
+        Truth.assertThat(idleHandler.queueIdle()).isTrue()
+        verify(exactly = 1) { ownIdCore.localeService.prefetchLocales(any()) }
+        verify(exactly = 0) { okHttpClient.newCall(any()) }
+
+        Truth.assertThat(idleHandler.queueIdle()).isTrue()
+        verify(exactly = 1) { okHttpClient.newCall(any()) }
+        verify(exactly = 0) { ownIdCore.webViewPool.prewarm() }
+
+        Truth.assertThat(idleHandler.queueIdle()).isFalse()
+
+        verifyOrder {
+            ownIdCore.configurationService.ensureConfigurationSet(any())
+            ownIdCore.localeService.prefetchLocales(any())
+            okHttpClient.newCall(any())
+            ownIdCore.webViewPool.prewarm()
+        }
+    }
+
+    @Test
+    public fun `locales and WebView are skipped when configuration fails`() {
+        Truth.assertThat(idleHandler.queueIdle()).isTrue()
+        configurationCallback.captured.invoke(Result.failure(OwnIdException("Configuration failed")))
+
+        Truth.assertThat(idleHandler.queueIdle()).isTrue()
+        Truth.assertThat(idleHandler.queueIdle()).isTrue()
+        Truth.assertThat(idleHandler.queueIdle()).isFalse()
+
+        verify(exactly = 0) { ownIdCore.localeService.prefetchLocales(any()) }
+        verify(exactly = 1) { okHttpClient.newCall(any()) }
+        verify(exactly = 0) { ownIdCore.webViewPool.prewarm() }
+    }
+
+    @Test
+    public fun `warm up stops once instance is closed`() {
+        Truth.assertThat(idleHandler.queueIdle()).isTrue()
+
+        OwnIdWarmUp.onInstanceClosed(instanceName)
+
+        Truth.assertThat(idleHandler.queueIdle()).isFalse()
+        verify(exactly = 1) { ownIdCore.configurationService.ensureConfigurationSet(any()) }
+        verify(exactly = 0) { ownIdCore.localeService.prefetchLocales(any()) }
+        verify(exactly = 0) { okHttpClient.newCall(any()) }
+    }
+
+    @Test
+    public fun `initializer enables warm up for existing instances`() {
+        val instance = mockk<OwnIdInstance> { every { ownIdCore } returns this@OwnIdWarmUpTest.ownIdCore }
+        mockkObject(OwnId, OwnIdWarmUp)
+        try {
+            every { OwnId.getInstances() } returns listOf(instance)
+            every { OwnIdWarmUp.enable(any()) } just runs
+
+            OwnIdInitializer().create(ApplicationProvider.getApplicationContext())
+
+            verify(exactly = 1) { OwnIdWarmUp.enable(listOf(ownIdCore)) }
+        } finally {
+            unmockkObject(OwnId, OwnIdWarmUp)
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ownid.sdk.internal.component.cache
+
+import com.google.common.truth.Truth
+import com.ownid.sdk.Configuration
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnIdDiagnostics
+import org.awaitility.kotlin.await
+import org.awaitility.kotlin.until
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import java.util.Collections
+import java.util.concurrent.TimeUnit
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdCacheBudgetTest {
+
+    @get:Rule
+    public val temporaryFolder: TemporaryFolder = TemporaryFolder()
+
+    private class TestCache(override val cacheName: String, entryTimes: List<Long>) : OwnIdCache {
+        val entries: MutableList<Long> = Collections.synchronizedList(entryTimes.toMutableList())
+
+        override fun getCacheStats(): OwnIdDiagnostics.CacheStats = OwnIdDiagnostics.CacheStats(cacheName, 0, 0, 0, size(), 0, 0)
+        override fun size(): Long = entries.size * 10L
+        override fun oldestEntryTimeMillis(): Long = entries.minOrNull() ?: -1
+        override fun evictOldestEntry(): Boolean = entries.minOrNull()?.let { entries.remove(it) } ?: false
+    }
+
+    private val first = TestCache("first", listOf(1, 4, 5))
+    private val second = TestCache("second", listOf(2, 3, 6))
+
+    @Before
+    public fun setup() {
+        OwnIdCacheRegistry.register(first)
+        OwnIdCacheRegistry.register(second)
+    }
+
+    @After
+    public fun tearDown() {
+        OwnIdCacheRegistry.unregister(first)
+        OwnIdCacheRegistry.unregister(second)
+        OwnIdCacheBudget.configure(temporaryFolder.root, Configuration.DEFAULT_CACHE_SIZE)
+    }
+
+    @Test
+    public fun `trimToBudget evicts least recently used entries across caches`() {
+        OwnIdCacheBudget.configure(temporaryFolder.root, 30)
+
+        await.atMost(5, TimeUnit.SECONDS) until { first.size() + second.size() <= 30 }
+
+        Truth.assertThat(first.entries).containsExactly(4L, 5L)
+        Truth.assertThat(second.entries).containsExactly(6L)
+    }
+}
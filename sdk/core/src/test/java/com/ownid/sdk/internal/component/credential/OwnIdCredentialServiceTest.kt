@@ -0,0 +1,136 @@
+package com.ownid.sdk.internal.component.credential
+
+import android.content.Context
+import androidx.credentials.CredentialManager
+import androidx.credentials.GetCredentialRequest
+import androidx.credentials.GetCredentialResponse
+import androidx.credentials.GetPasswordOption
+import androidx.credentials.PasswordCredential
+import androidx.credentials.PrepareGetCredentialResponse
+import androidx.credentials.exceptions.GetCredentialUnknownException
+import androidx.test.core.app.ApplicationProvider
+import com.google.common.truth.Truth
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.component.events.Metadata
+import com.ownid.sdk.internal.component.events.Metric
+import com.ownid.sdk.internal.component.events.OwnIdInternalEventsService
+import io.mockk.coEvery
+import io.mockk.coVerify
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.mockkObject
+import io.mockk.slot
+import io.mockk.unmockkObject
+import io.mockk.verify
+import kotlinx.coroutines.test.TestResult
+import kotlinx.coroutines.test.runTest
+import org.awaitility.kotlin.await
+import org.awaitility.kotlin.untilAsserted
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdCredentialServiceTest {
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+    private val credentialManager: CredentialManager = mockk()
+    private val eventsService: OwnIdInternalEventsService = mockk(relaxed = true)
+    private val request = GetCredentialRequest(listOf(GetPasswordOption()))
+    private val response = GetCredentialResponse(PasswordCredential("user@ownid.com", "password"))
+
+    private lateinit var credentialService: OwnIdCredentialService
+
+    @Before
+    public fun setup() {
+        mockkObject(CredentialManager.Companion)
+        every { CredentialManager.create(any()) } returns credentialManager
+        credentialService = OwnIdCredentialService(context, eventsService)
+    }
+
+    @After
+    public fun tearDown() {
+        credentialService.close()
+        unmockkObject(CredentialManager.Companion)
+    }
+
+    @Test
+    public fun `credentialManager is created once and shared`() {
+        credentialService.warmUp()
+
+        await untilAsserted { verify(exactly = 1) { CredentialManager.create(any()) } }
+        Truth.assertThat(credentialService.credentialManager).isSameInstanceAs(credentialManager)
+        Truth.assertThat(credentialService.credentialManager).isSameInstanceAs(credentialManager)
+
+        credentialService.warmUp()
+        verify(exactly = 1) { CredentialManager.create(any()) }
+    }
+
+    @Test
+    public fun `getCredential falls back to plain request before API 34`(): TestResult = runTest {
+        coEvery { credentialManager.getCredential(context, request) } returns response
+
+        credentialService.prepareGetCredential(request)
+
+        Truth.assertThat(credentialService.getCredential(context, request)).isSameInstanceAs(response)
+        coVerify(exactly = 0) { credentialManager.prepareGetCredential(any()) }
+        coVerify(exactly = 1) { credentialManager.getCredential(context, request) }
+    }
+
+    @Test
+    @Config(sdk = [34])
+    public fun `getCredential uses prepared request on API 34`(): TestResult = runTest {
+        val handle: PrepareGetCredentialResponse.PendingGetCredentialHandle = mockk()
+        val prepareResponse: PrepareGetCredentialResponse = mockk { every { pendingGetCredentialHandle } returns handle }
+        coEvery { credentialManager.prepareGetCredential(request) } returns prepareResponse
+        coEvery { credentialManager.getCredential(context, handle) } returns response
+
+        credentialService.prepareGetCredential(request)
+
+        Truth.assertThat(credentialService.getCredential(context, request)).isSameInstanceAs(response)
+        coVerify(exactly = 1) { credentialManager.getCredential(context, handle) }
+        coVerify(exactly = 0) { credentialManager.getCredential(context, any<GetCredentialRequest>()) }
+
+        val metadata = slot<Metadata>()
+        verify(exactly = 1) {
+            eventsService.sendMetric(Metric.Category.General, Metric.EventType.Track, "Credential prompt latency", metadata = capture(metadata))
+        }
+        Truth.assertThat(metadata.captured.toJSONObject().getJSONObject("credentialLatency").has("saved")).isTrue()
+    }
+
+    @Test
+    @Config(sdk = [34])
+    public fun `prepared request is used only once and only for same request on API 34`(): TestResult = runTest {
+        val otherRequest = GetCredentialRequest(listOf(GetPasswordOption()))
+        coEvery { credentialManager.prepareGetCredential(request) } returns mockk(relaxed = true)
+        coEvery { credentialManager.getCredential(context, any<GetCredentialRequest>()) } returns response
+        coEvery { credentialManager.getCredential(context, any<PrepareGetCredentialResponse.PendingGetCredentialHandle>()) } returns response
+
+        credentialService.prepareGetCredential(request)
+        credentialService.getCredential(context, otherRequest)
+        coVerify(exactly = 1) { credentialManager.getCredential(context, otherRequest) }
+
+        credentialService.getCredential(context, request)
+        credentialService.getCredential(context, request)
+        coVerify(exactly = 1) { credentialManager.getCredential(context, any<PrepareGetCredentialResponse.PendingGetCredentialHandle>()) }
+        coVerify(exactly = 1) { credentialManager.getCredential(context, request) }
+    }
+
+    @Test
+    @Config(sdk = [34])
+    public fun `getCredential falls back to plain request when prepare fails on API 34`(): TestResult = runTest {
+        coEvery { credentialManager.prepareGetCredential(request) } throws GetCredentialUnknownException("Prepare failed")
+        coEvery { credentialManager.getCredential(context, request) } returns response
+
+        credentialService.prepareGetCredential(request)
+
+        Truth.assertThat(credentialService.getCredential(context, request)).isSameInstanceAs(response)
+        coVerify(exactly = 1) { credentialManager.getCredential(context, request) }
+        verify(exactly = 0) { eventsService.sendMetric(any<Metric.Category>(), any(), any(), any(), any(), any(), any()) }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ownid.sdk.internal.component.events
+
+import com.google.common.truth.Truth
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.TestDataCore
+import io.mockk.mockk
+import okhttp3.OkHttpClient
+import org.awaitility.kotlin.await
+import org.awaitility.kotlin.until
+import org.json.JSONObject
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicReference
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdInternalEventsServiceTest {
+
+    @Test
+    public fun `sendMetric - device security status is resolved on events thread`() {
+        val resolvedOn = AtomicReference<Thread>()
+        val deviceSecurityStatus = lazy {
+            resolvedOn.set(Thread.currentThread())
+            JSONObject()
+        }
+        val eventsService = OwnIdInternalEventsService(
+            TestDataCore.validConfig, "correlationId", deviceSecurityStatus, mockk<OkHttpClient>(relaxed = true)
+        )
+
+        eventsService.sendMetric(Metric.Category.General, Metric.EventType.Track, "Test")
+
+        await.atMost(5, TimeUnit.SECONDS) until { resolvedOn.get() != null }
+        Truth.assertThat(resolvedOn.get()).isNotSameInstanceAs(Thread.currentThread())
+        eventsService.close()
+    }
+}
@@ -0,0 +1,148 @@
+package com.ownid.sdk.internal.component.locale
+
+import com.google.common.truth.Truth
+import com.ownid.sdk.InternalOwnIdAPI
+import org.awaitility.kotlin.await
+import org.awaitility.kotlin.until
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import java.io.File
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class DiskLruCacheTest {
+
+    @get:Rule
+    public val temporaryFolder: TemporaryFolder = TemporaryFolder()
+
+    private lateinit var directory: File
+    private lateinit var cache: DiskLruCache
+
+    @Before
+    public fun setup() {
+        directory = temporaryFolder.newFolder("cache")
+        cache = DiskLruCache.open(directory, 1, 1, 1024L * 1024L)
+    }
+
+    @After
+    public fun tearDown() {
+        cache.close()
+    }
+
+    private fun DiskLruCache.put(key: String, value: String) = edit(key)!!.apply { set(0, value) }.commit()
+
+    private fun DiskLruCache.read(key: String): String? = get(key)?.use { it.getString(0) }
+
+    @Test
+    public fun `get returns committed value`() {
+        cache.put("key", "value")
+        Truth.assertThat(cache.read("key")).isEqualTo("value")
+        Truth.assertThat(cache.read("missing")).isNull()
+    }
+
+    @Test
+    public fun `CachedString is not saved after cache is closed`() {
+        CachedString(1L, "value").put("key", cache)
+        cache.close()
+
+        CachedString(2L, "newValue").put("key", cache)
+
+        Truth.assertThat(CachedString.get("key", cache)).isNull()
+    }
+
+    @Test
+    public fun `trim runs in background and evicts least recently used entry`() {
+        cache.put("a", "aaaaaaaaaa")
+        cache.put("b", "bbbbbbbbbb")
+        cache.put("c", "cccccccccc")
+        cache.read("a")
+
+        cache.setMaxSize(25)
+
+        await.atMost(5, TimeUnit.SECONDS) until { cache.size() <= 25 }
+        Truth.assertThat(cache.read("a")).isNotNull()
+        Truth.assertThat(cache.read("b")).isNull()
+        Truth.assertThat(cache.read("c")).isNotNull()
+    }
+
+    @Test
+    public fun `access order survives reopen`() {
+        cache.put("a", "aaaaaaaaaa")
+        cache.put("b", "bbbbbbbbbb")
+        cache.put("c", "cccccccccc")
+        cache.read("a")
+        cache.close()
+
+        cache = DiskLruCache.open(directory, 1, 1, 25)
+
+        await.atMost(5, TimeUnit.SECONDS) until { cache.size() <= 25 }
+        Truth.assertThat(cache.read("a")).isNotNull()
+        Truth.assertThat(cache.read("b")).isNull()
+    }
+
+    @Test
+    public fun `concurrent readers see consistent values while writer commits`() {
+        val keys = List(16) { "key$it" }
+        keys.forEach { cache.put(it, "$it-0") }
+
+        val readers = 8
+        val readsPerReader = 2_000
+        val executor = Executors.newFixedThreadPool(readers + 1)
+        val start = CountDownLatch(1)
+        val done = CountDownLatch(readers)
+        val failures = AtomicInteger()
+
+        executor.execute {
+            start.await()
+            repeat(200) { version -> keys.forEach { cache.put(it, "$it-$version") } }
+        }
+        repeat(readers) { reader ->
+            executor.execute {
+                start.await()
+                repeat(readsPerReader) { index ->
+                    val key = keys[(index + reader) % keys.size]
+                    val value = cache.read(key)
+                    if (value == null || value.startsWith("$key-").not()) failures.incrementAndGet()
+                }
+                done.countDown()
+            }
+        }
+
+        start.countDown()
+        Truth.assertThat(done.await(30, TimeUnit.SECONDS)).isTrue()
+        executor.shutdown()
+        Truth.assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue()
+
+        Truth.assertThat(failures.get()).isEqualTo(0)
+        Truth.assertThat(cache.hitCount()).isEqualTo(readers * readsPerReader.toLong())
+        Truth.assertThat(cache.missCount()).isEqualTo(0)
+        keys.forEach { Truth.assertThat(cache.read(it)).isEqualTo("$it-199") }
+    }
+
+    @Test
+    public fun `reads schedule cleanup only when pending reads reach threshold`() {
+        cache.put("a", "aaaaaaaaaa")
+        await.atMost(5, TimeUnit.SECONDS) until { cache.executorService.taskCount == cache.executorService.completedTaskCount }
+        val taskCount = cache.executorService.taskCount
+
+        repeat(DiskLruCache.PENDING_READS_CLEANUP_THRESHOLD - 1) { cache.read("a") }
+        Truth.assertThat(cache.executorService.taskCount).isEqualTo(taskCount)
+
+        cache.read("a")
+        await.atMost(5, TimeUnit.SECONDS) until { cache.executorService.completedTaskCount == taskCount + 1 }
+        cache.flush()
+        Truth.assertThat(File(directory, DiskLruCache.JOURNAL_FILE).readLines().count { it == "READ a" })
+            .isEqualTo(DiskLruCache.PENDING_READS_CLEANUP_THRESHOLD)
+    }
+}
@@ -0,0 +1,56 @@
+package com.ownid.sdk.internal.component.repository
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import com.google.common.truth.Truth
+import com.ownid.sdk.AuthMethod
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.OwnIdLoginIdData
+import kotlinx.coroutines.test.TestResult
+import kotlinx.coroutines.test.runTest
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import java.io.File
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdLoginIdStoreTest {
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+
+    @Test
+    public fun `data is persisted and read by new store`(): TestResult = runTest {
+        val file = File(context.filesDir, "login_id_store_persist")
+        val store = OwnIdLoginIdStore(file, 5)
+
+        store.update("user1@ownid.com", setLastLoginId = true) { it.copy(authMethod = AuthMethod.Passkey) }
+        store.update("user2@ownid.com", setLastLoginId = false) { OwnIdLoginIdData(AuthMethod.Otp, 42L) }
+
+        val newStore = OwnIdLoginIdStore(file, 5)
+        Truth.assertThat(newStore.getLastLoginId()).isEqualTo("user1@ownid.com")
+        Truth.assertThat(newStore.getLoginIdData("user1@ownid.com")).isEqualTo(OwnIdLoginIdData(AuthMethod.Passkey))
+        Truth.assertThat(newStore.getLoginIdData("user2@ownid.com")).isEqualTo(OwnIdLoginIdData(AuthMethod.Otp, 42L))
+        Truth.assertThat(newStore.getLoginIdData("user3@ownid.com")).isNull()
+    }
+
+    @Test
+    public fun `least recently used login id is evicted`(): TestResult = runTest {
+        val file = File(context.filesDir, "login_id_store_evict")
+        val store = OwnIdLoginIdStore(file, 2)
+
+        store.update("user1@ownid.com", setLastLoginId = false) { it.copy(authMethod = AuthMethod.Password) }
+        store.update("user2@ownid.com", setLastLoginId = false) { it.copy(authMethod = AuthMethod.Password) }
+        store.getLoginIdData("user1@ownid.com")
+        store.update("user3@ownid.com", setLastLoginId = false) { it.copy(authMethod = AuthMethod.Password) }
+
+        Truth.assertThat(store.getLoginIdData("user2@ownid.com")).isNull()
+
+        val newStore = OwnIdLoginIdStore(file, 2)
+        Truth.assertThat(newStore.getLoginIdData("user1@ownid.com")).isNotNull()
+        Truth.assertThat(newStore.getLoginIdData("user2@ownid.com")).isNull()
+        Truth.assertThat(newStore.getLoginIdData("user3@ownid.com")).isNotNull()
+    }
+}
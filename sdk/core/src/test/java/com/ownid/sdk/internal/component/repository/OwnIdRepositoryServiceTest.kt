@@ -0,0 +1,125 @@
+package com.ownid.sdk.internal.component.repository
+
+import android.content.Context
+import androidx.datastore.preferences.core.stringPreferencesKey
+import androidx.test.core.app.ApplicationProvider
+import com.google.common.truth.Truth
+import com.ownid.sdk.AuthMethod
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.OwnIdLoginIdData
+import com.ownid.sdk.internal.toBase64UrlSafeNoPadding
+import com.ownid.sdk.internal.toSHA256Bytes
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.test.TestResult
+import kotlinx.coroutines.test.runTest
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdRepositoryServiceTest {
+
+    private val context: Context = ApplicationProvider.getApplicationContext()
+
+    @Test
+    public fun `saveLoginId updates in-memory login id`(): TestResult = runTest {
+        val repository = OwnIdRepositoryService.create(context, "repositoryTestAppId")
+
+        Truth.assertThat(repository.getLoginId()).isNull()
+
+        repository.saveLoginId("user@ownid.com", AuthMethod.Password)
+
+        Truth.assertThat(repository.loginId.value).isEqualTo("user@ownid.com")
+        Truth.assertThat(repository.getLoginId()).isEqualTo("user@ownid.com")
+        Truth.assertThat(repository.getLoginIdData("user@ownid.com").authMethod).isEqualTo(AuthMethod.Password)
+
+        repository.close()
+    }
+
+    @Test
+    public fun `stored login id is used by returning user checks on cold start`(): TestResult = runTest {
+        OwnIdRepositoryService.create(context, "repositoryTestAppId3").apply {
+            saveLoginId("user@ownid.com", AuthMethod.Password)
+            close()
+        }
+
+        val repository = OwnIdRepositoryService.create(context, "repositoryTestAppId3")
+        val received = CompletableDeferred<String?>()
+        repository.withLoginId { received.complete(it) }
+
+        Truth.assertThat(received.await()).isEqualTo("user@ownid.com")
+        Truth.assertThat(repository.isLoginIdLoaded).isTrue()
+        Truth.assertThat(repository.loginId.value).isEqualTo("user@ownid.com")
+
+        repository.close()
+    }
+
+    private val legacyData = mapOf(
+        "user1@ownid.com" to OwnIdLoginIdData(AuthMethod.Password, 1L),
+        "user2@ownid.com" to OwnIdLoginIdData(AuthMethod.Passkey, 2L),
+        "user3@ownid.com" to OwnIdLoginIdData(null, 3L)
+    )
+
+    private suspend fun seedLegacyStorage(appId: String, lastLoginId: String) {
+        OwnIdStorage(context, appId).apply {
+            update { preferences ->
+                preferences[stringPreferencesKey("com.ownid.sdk.storage.KEY_LOGIN_ID")] = lastLoginId
+                legacyData.forEach { (loginId, data) ->
+                    val hash = loginId.encodeToByteArray().toSHA256Bytes().toBase64UrlSafeNoPadding()
+                    preferences[stringPreferencesKey("com.ownid.sdk.storage.KEY_LOGIN_ID_DATA_$hash")] = data.toJsonString()
+                }
+                preferences[stringPreferencesKey("otherKey")] = "otherValue"
+            }
+            close()
+        }
+    }
+
+    @Test
+    public fun `legacy storage is migrated and cleared`(): TestResult = runTest {
+        seedLegacyStorage("repositoryTestAppIdMigration", lastLoginId = "user2@ownid.com")
+
+        val repository = OwnIdRepositoryService.create(context, "repositoryTestAppIdMigration")
+
+        Truth.assertThat(repository.getLoginId()).isEqualTo("user2@ownid.com")
+        legacyData.forEach { (loginId, data) -> Truth.assertThat(repository.getLoginIdData(loginId)).isEqualTo(data) }
+        repository.close()
+
+        OwnIdStorage(context, "repositoryTestAppIdMigration").apply {
+            Truth.assertThat(getAll().asMap().keys.map { it.name }).containsExactly("otherKey")
+            close()
+        }
+    }
+
+    @Test
+    public fun `legacy last login id is migrated as most recent`(): TestResult = runTest {
+        seedLegacyStorage("repositoryTestAppIdMigrationOrder", lastLoginId = "user2@ownid.com")
+
+        val repository = OwnIdRepositoryService.create(context, "repositoryTestAppIdMigrationOrder", maxLoginIds = 3)
+        Truth.assertThat(repository.getLoginId()).isEqualTo("user2@ownid.com")
+
+        // Two new login IDs evict two least recent migrated ones
+        repository.saveLoginIdData("user4@ownid.com", OwnIdLoginIdData(AuthMethod.Password, 4L))
+        repository.saveLoginIdData("user5@ownid.com", OwnIdLoginIdData(AuthMethod.Password, 5L))
+
+        Truth.assertThat(repository.getLoginIdData("user2@ownid.com")).isEqualTo(legacyData["user2@ownid.com"])
+        Truth.assertThat(repository.getLoginIdData("user1@ownid.com")).isEqualTo(OwnIdLoginIdData())
+        Truth.assertThat(repository.getLoginIdData("user3@ownid.com")).isEqualTo(OwnIdLoginIdData())
+
+        repository.close()
+    }
+
+    @Test
+    public fun `saveLoginId keeps other login id data`(): TestResult = runTest {
+        val repository = OwnIdRepositoryService.create(context, "repositoryTestAppId2")
+
+        repository.saveLoginIdData("user@ownid.com", OwnIdLoginIdData(AuthMethod.Passkey, 42L))
+        repository.saveLoginId("user@ownid.com", AuthMethod.Password)
+
+        Truth.assertThat(repository.getLoginIdData("user@ownid.com")).isEqualTo(OwnIdLoginIdData(AuthMethod.Password, 42L))
+
+        repository.close()
+    }
+}
@@ -1,8 +1,8 @@
 package com.ownid.sdk.internal.nativeflow
 
-import android.os.Handler
 import com.google.common.truth.Truth
 import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnIdCallback
 import com.ownid.sdk.OwnIdCoreImpl
 import com.ownid.sdk.TestDataCore
 import com.ownid.sdk.exception.OwnIdException
@@ -13,7 +13,14 @@ import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowLoginId
 import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowType
 import io.mockk.every
 import io.mockk.mockk
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.cancelAndJoin
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
 import okhttp3.ConnectionSpec
+import okhttp3.HttpUrl
 import okhttp3.OkHttpClient
 import okhttp3.mockwebserver.MockResponse
 import okhttp3.mockwebserver.MockWebServer
@@ -43,8 +50,11 @@ public class AbstractStepTest {
         "{\"url\":\"https://passwordless.dev.ownid.com/sign?q=https%3a%2f%2fybmrs2pxdeazta.server.dev.ownid.com%2fownid%2flQH3_b5WFUSJvFCK8tX-8Q%2fstart\\u0026ll=3\\u0026l=en-US\",\"context\":\"lQH3_b5WFUSJvFCK8tX-8Q\",\"nonce\":\"3cd06e90-516b-4691-8f55-c34674bf629a\",\"expiration\":1200000}"
 
     private class AbstractStepTest(
-        ownIdNativeFlowData: OwnIdNativeFlowData, onNextStep: (com.ownid.sdk.internal.feature.nativeflow.AbstractStep) -> Unit, networkHandler: Handler?
-    ) : com.ownid.sdk.internal.feature.nativeflow.AbstractStep(ownIdNativeFlowData, onNextStep, networkHandler)
+        ownIdNativeFlowData: OwnIdNativeFlowData, onNextStep: (com.ownid.sdk.internal.feature.nativeflow.AbstractStep) -> Unit
+    ) : com.ownid.sdk.internal.feature.nativeflow.AbstractStep(ownIdNativeFlowData, onNextStep)
+
+    private fun AbstractStepTest.postRequest(url: HttpUrl, postData: String, callback: OwnIdCallback<String>) =
+        callback(runCatching { runBlocking { doPostRequest(url, postData) } })
 
     private fun onNextStep(abstractStep: com.ownid.sdk.internal.feature.nativeflow.AbstractStep) {}
 
@@ -91,7 +101,7 @@ public class AbstractStepTest {
             null,
             OwnIdNativeFlowLoginId.fromString("", testConfig)
         )
-        abstractStepTest = AbstractStepTest(ownIdNativeFlowData, ::onNextStep, null)
+        abstractStepTest = AbstractStepTest(ownIdNativeFlowData, ::onNextStep)
 
     }
 
@@ -112,7 +122,7 @@ public class AbstractStepTest {
 
         val responseReference = AtomicReference("")
 
-        abstractStepTest.doPostRequest(ownIdNativeFlowData, ownIdUrl, postJsonData) {
+        abstractStepTest.postRequest(ownIdUrl, postJsonData) {
             onFailure { throw it }
             onSuccess { responseReference.set(it) }
         }
@@ -142,8 +152,8 @@ public class AbstractStepTest {
         val responseReference = AtomicReference("")
 
         val ownIdNativeFlowData = OwnIdNativeFlowData(ownIdCoreMockk, OwnIdNativeFlowType.LOGIN, null, OwnIdNativeFlowLoginId.fromString("", testConfig))
-        val abstractStepTest = AbstractStepTest(ownIdNativeFlowData, ::onNextStep, null)
-        abstractStepTest.doPostRequest(ownIdNativeFlowData, ownIdUrl, postJsonData) {
+        val abstractStepTest = AbstractStepTest(ownIdNativeFlowData, ::onNextStep)
+        abstractStepTest.postRequest(ownIdUrl, postJsonData) {
             onFailure { throw it }
             onSuccess { responseReference.set(it) }
         }
@@ -171,7 +181,7 @@ public class AbstractStepTest {
 
         val responseReference = AtomicReference<Throwable?>(null)
 
-        abstractStepTest.doPostRequest(ownIdNativeFlowData, ownIdUrl, postJsonData) {
+        abstractStepTest.postRequest(ownIdUrl, postJsonData) {
             onFailure { responseReference.set(it) }
         }
 
@@ -193,7 +203,7 @@ public class AbstractStepTest {
 
         val responseReference = AtomicReference<Throwable?>(null)
 
-        abstractStepTest.doPostRequest(ownIdNativeFlowData, ownIdUrl, postJsonData) {
+        abstractStepTest.postRequest(ownIdUrl, postJsonData) {
             onFailure { responseReference.set(it) }
         }
 
@@ -217,7 +227,7 @@ public class AbstractStepTest {
 
         val responseReference = AtomicReference("")
 
-        abstractStepTest.doPostRequest(ownIdNativeFlowData, ownIdUrl, postJsonData) {
+        abstractStepTest.postRequest(ownIdUrl, postJsonData) {
             onSuccess { responseReference.set(it) }
             onFailure { throw it }
         }
@@ -248,7 +258,7 @@ public class AbstractStepTest {
         val responseReference = AtomicReference<Throwable?>(null)
 
 
-        abstractStepTest.doPostRequest(ownIdNativeFlowData, ownIdUrl, postJsonData) {
+        abstractStepTest.postRequest(ownIdUrl, postJsonData) {
             onFailure { responseReference.set(it) }
         }
 
@@ -258,4 +268,29 @@ public class AbstractStepTest {
         Truth.assertThat(responseReference.get()!!.message).startsWith("Request fail ")
         Truth.assertThat(responseReference.get()!!.cause).isInstanceOf(InterruptedIOException::class.java)
     }
+
+    @Test
+    public fun cancelRequest_callCanceled() {
+        val slowResponse = MockResponse()
+            .setResponseCode(HttpURLConnection.HTTP_OK)
+            .setBody(requestBody)
+            .setHeadersDelay(10, TimeUnit.SECONDS)
+
+        mockWebServer.enqueue(slowResponse)
+
+        val ownIdUrl = mockWebServer.url("/anytesturl")
+
+        val responseReference = AtomicReference<Result<String>?>(null)
+
+        runBlocking {
+            val job = launch(Dispatchers.IO, CoroutineStart.UNDISPATCHED) {
+                responseReference.set(runCatching { abstractStepTest.doPostRequest(ownIdUrl, postJsonData) })
+            }
+            mockWebServer.takeRequest()
+            withTimeout(1000) { job.cancelAndJoin() }
+        }
+
+        await until { okHttpClient.dispatcher.runningCallsCount() == 0 }
+        Truth.assertThat(responseReference.get()?.getOrNull()).isNull()
+    }
 }
@@ -0,0 +1,111 @@
+package com.ownid.sdk.internal.nativeflow
+
+import android.os.Looper
+import com.google.common.truth.Truth
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnIdCoreImpl
+import com.ownid.sdk.OwnIdLoginType
+import com.ownid.sdk.TestDataCore
+import com.ownid.sdk.internal.component.locale.OwnIdLocale
+import com.ownid.sdk.internal.component.locale.OwnIdLocaleService
+import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowPrefetch
+import com.ownid.sdk.internal.feature.nativeflow.OwnIdNativeFlowType
+import io.mockk.every
+import io.mockk.mockk
+import okhttp3.ConnectionSpec
+import okhttp3.OkHttpClient
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.awaitility.kotlin.await
+import org.awaitility.kotlin.until
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.Config
+import java.net.HttpURLConnection
+import java.util.concurrent.TimeUnit
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdNativeFlowPrefetchTest {
+
+    private val responseBody =
+        "{\"context\":\"lQH3_b5WFUSJvFCK8tX-8Q\",\"expiration\":1200000,\"finalStatusUrl\":\"https://ownid.com/status\",\"step\":{\"type\":\"success\"}}"
+
+    private val ownIdCoreMockk = mockk<OwnIdCoreImpl>()
+    private val ownIdLocaleServiceMockk = mockk<OwnIdLocaleService>()
+    private val okHttpClient = OkHttpClient.Builder()
+        .followRedirects(false)
+        .connectionSpecs(listOf(ConnectionSpec.CLEARTEXT))
+        .callTimeout(30, TimeUnit.SECONDS)
+        .build()
+
+    private lateinit var mockWebServer: MockWebServer
+    private lateinit var prefetch: OwnIdNativeFlowPrefetch
+
+    @Before
+    public fun setUp() {
+        mockWebServer = MockWebServer()
+        mockWebServer.start()
+
+        val testConfig = com.ownid.sdk.Configuration(
+            TestDataCore.validAppId,
+            "${TestDataCore.validEnv}.",
+            TestDataCore.validRegion,
+            TestDataCore.validRedirectUrl,
+            TestDataCore.validVersion,
+            TestDataCore.validUserAgent,
+            TestDataCore.validPackageName,
+            TestDataCore.validHashSet,
+            mockWebServer.url("/")
+        )
+        testConfig.setServerConfiguration(TestDataCore.validServerConfig)
+
+        every { ownIdCoreMockk.configuration } returns testConfig
+        every { ownIdCoreMockk.okHttpClient } returns okHttpClient
+        every { ownIdCoreMockk.localeService } returns ownIdLocaleServiceMockk
+        every { ownIdLocaleServiceMockk.currentOwnIdLocale } returns OwnIdLocale.DEFAULT
+
+        prefetch = OwnIdNativeFlowPrefetch(ownIdCoreMockk)
+    }
+
+    @After
+    public fun tearDown() {
+        prefetch.close()
+        mockWebServer.shutdown()
+    }
+
+    @Test
+    public fun `prefetched flow data is taken once`() {
+        mockWebServer.enqueue(MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody(responseBody))
+
+        prefetch.prefetch(OwnIdNativeFlowType.LOGIN, OwnIdLoginType.Standard, "user@ownid.com")
+        prefetch.prefetch(OwnIdNativeFlowType.LOGIN, OwnIdLoginType.Standard, "user@ownid.com")
+
+        val flowData = prefetch.take(OwnIdNativeFlowType.LOGIN, OwnIdLoginType.Standard, "user@ownid.com")
+        Truth.assertThat(flowData).isNotNull()
+        Truth.assertThat(flowData!!.loginId.value).isEqualTo("user@ownid.com")
+
+        val response = flowData.prefetchedInitResponse!!
+        await until {
+            shadowOf(Looper.getMainLooper()).idle()
+            response.isCompleted
+        }
+        Truth.assertThat(mockWebServer.requestCount).isEqualTo(1)
+        Truth.assertThat(prefetch.take(OwnIdNativeFlowType.LOGIN, OwnIdLoginType.Standard, "user@ownid.com")).isNull()
+    }
+
+    @Test
+    public fun `prefetched flow data is not used for other login id`() {
+        mockWebServer.enqueue(MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody(responseBody))
+
+        prefetch.prefetch(OwnIdNativeFlowType.LOGIN, OwnIdLoginType.Standard, "user@ownid.com")
+
+        Truth.assertThat(prefetch.take(OwnIdNativeFlowType.LOGIN, OwnIdLoginType.Standard, "other@ownid.com")).isNull()
+        Truth.assertThat(prefetch.take(OwnIdNativeFlowType.LOGIN, OwnIdLoginType.Standard, "user@ownid.com")).isNull()
+    }
+}
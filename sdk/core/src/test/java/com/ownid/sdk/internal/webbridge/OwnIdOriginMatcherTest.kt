@@ -0,0 +1,48 @@
+package com.ownid.sdk.internal.webbridge
+
+import android.net.Uri
+import com.google.common.truth.Truth
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.feature.webbridge.OwnIdOriginMatcher
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdOriginMatcherTest {
+
+    private fun OwnIdOriginMatcher.matches(origin: String): Boolean = matches(Uri.parse(origin))
+
+    @Test
+    public fun `exact host matches ignoring case and port`() {
+        val matcher = OwnIdOriginMatcher.compile(listOf("https://example.com"))
+
+        Truth.assertThat(matcher.matches("https://example.com")).isTrue()
+        Truth.assertThat(matcher.matches("https://EXAMPLE.com")).isTrue()
+        Truth.assertThat(matcher.matches("https://example.com:8443")).isTrue()
+        Truth.assertThat(matcher.matches("http://example.com")).isFalse()
+        Truth.assertThat(matcher.matches("https://www.example.com")).isFalse()
+    }
+
+    @Test
+    public fun `wildcard host matches subdomains on label boundary only`() {
+        val matcher = OwnIdOriginMatcher.compile(listOf("https://*.example.com"))
+
+        Truth.assertThat(matcher.matches("https://www.example.com")).isTrue()
+        Truth.assertThat(matcher.matches("https://a.b.Example.com")).isTrue()
+        Truth.assertThat(matcher.matches("https://example.com")).isFalse()
+        Truth.assertThat(matcher.matches("https://myexample.com")).isFalse()
+        Truth.assertThat(matcher.matches("https://example.com.evil.com")).isFalse()
+        Truth.assertThat(matcher.matches("http://www.example.com")).isFalse()
+    }
+
+    @Test
+    public fun `any origin rule and empty matcher`() {
+        Truth.assertThat(OwnIdOriginMatcher.compile(listOf("*")).matches("https://any.com")).isTrue()
+        Truth.assertThat(OwnIdOriginMatcher.EMPTY.matches("https://any.com")).isFalse()
+        Truth.assertThat(OwnIdOriginMatcher.compile(listOf("https://example.com")).matches("about:blank")).isFalse()
+    }
+}
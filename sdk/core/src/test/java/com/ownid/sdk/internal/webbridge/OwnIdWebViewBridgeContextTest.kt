@@ -7,6 +7,7 @@ import androidx.test.core.app.ApplicationProvider
 import com.google.common.truth.Truth
 import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.OwnIdWebViewBridge
+import com.ownid.sdk.internal.feature.webbridge.OwnIdOriginMatcher
 import com.ownid.sdk.internal.feature.webbridge.OwnIdWebViewBridgeContext
 import com.ownid.sdk.internal.feature.webbridge.OwnIdWebViewBridgeImpl
 import io.mockk.every
@@ -50,7 +51,7 @@ public class OwnIdWebViewBridgeContextTest {
     @Test(expected = IllegalStateException::class)
     public fun `ensureMainFrame - throws exception if not main frame`() {
         val context = OwnIdWebViewBridgeContext(
-            mockk(), mockk(), Job(), emptyList(), mockk(), false, "callback"
+            mockk(), mockk(), Job(), OwnIdOriginMatcher.EMPTY, mockk(), false, "callback"
         )
         context.ensureMainFrame()
     }
@@ -58,7 +59,7 @@ public class OwnIdWebViewBridgeContextTest {
     @Test
     public fun `ensureMainFrame - does not throw exception if main frame`() {
         val context = OwnIdWebViewBridgeContext(
-            mockk(), mockk(), Job(), emptyList(), mockk(), true, "callback"
+            mockk(), mockk(), Job(), OwnIdOriginMatcher.EMPTY, mockk(), true, "callback"
         )
         context.ensureMainFrame()
     }
@@ -66,7 +67,7 @@ public class OwnIdWebViewBridgeContextTest {
     @Test(expected = IllegalStateException::class)
     public fun `ensureAllowedOrigin - throws exception if origin not allowed`() {
         val context = OwnIdWebViewBridgeContext(
-            mockk(), mockk(), Job(), listOf("https://allowed.com"), Uri.parse("https://example.com"), true, "callback"
+            mockk(), mockk(), Job(), OwnIdOriginMatcher.compile(listOf("https://allowed.com")), Uri.parse("https://example.com"), true, "callback"
         )
         context.ensureAllowedOrigin()
     }
@@ -74,7 +75,7 @@ public class OwnIdWebViewBridgeContextTest {
     @Test
     public fun `ensureAllowedOrigin - does not throw exception if origin allowed`() {
         val context = OwnIdWebViewBridgeContext(
-            mockk(), mockk(), Job(), listOf("https://example.com"), Uri.parse("https://example.com"), true, "callback"
+            mockk(), mockk(), Job(), OwnIdOriginMatcher.compile(listOf("https://example.com")), Uri.parse("https://example.com"), true, "callback"
         )
         context.ensureAllowedOrigin()
     }
@@ -82,7 +83,7 @@ public class OwnIdWebViewBridgeContextTest {
     @Test
     public fun `ensureAllowedOrigin - does not throw exception if wildcard origin allowed`() {
         val context = OwnIdWebViewBridgeContext(
-            mockk(), mockk(), Job(), listOf("https://*.example.com"), Uri.parse("https://www.example.com"), true, "callback"
+            mockk(), mockk(), Job(), OwnIdOriginMatcher.compile(listOf("https://*.example.com")), Uri.parse("https://www.example.com"), true, "callback"
         )
         context.ensureAllowedOrigin()
     }
@@ -96,7 +97,7 @@ public class OwnIdWebViewBridgeContextTest {
             every { evaluateJavascript(capture(slotScript), any()) } returns Unit
         }
         val context = OwnIdWebViewBridgeContext(
-            mockk(), webView, Job(), emptyList(), mockk(), true, "callback"
+            mockk(), webView, Job(), OwnIdOriginMatcher.EMPTY, mockk(), true, "callback"
         )
         context.finishWithSuccess("""{"result": "success"}""")
 
@@ -107,6 +108,36 @@ public class OwnIdWebViewBridgeContextTest {
         Truth.assertThat(slotScript.captured).contains("javascript:callback({\"result\": \"success\"})")
     }
 
+    @Test
+    public fun `finishWithSuccess - sends result with reply channel when available`() {
+        val webView = mockk<WebView>()
+        val slotResult = slot<String>()
+        val context = OwnIdWebViewBridgeContext(
+            mockk(), webView, Job(), OwnIdOriginMatcher.EMPTY, mockk(), true, "callback",
+            reply = { result, _, _ -> slotResult.captured = result }
+        )
+        context.finishWithSuccess("""{"result": "success"}""")
+
+        Truth.assertThat(slotResult.captured).isEqualTo("""{"result": "success"}""")
+        verify(exactly = 0) { webView.evaluateJavascript(any(), any()) }
+    }
+
+    @Test
+    public fun `finishWithSuccess - evaluates JavaScript when reply channel falls back`() {
+        val slotScript = slot<String>()
+        val webView = mockk<WebView> {
+            every { evaluateJavascript(capture(slotScript), any()) } returns Unit
+        }
+        val context = OwnIdWebViewBridgeContext(
+            mockk(), webView, Job(), OwnIdOriginMatcher.EMPTY, mockk(), true, "callback",
+            reply = { _, _, fallback -> fallback.invoke() }
+        )
+        context.finishWithSuccess("""{"result": "success"}""")
+
+        verify(exactly = 1) { webView.evaluateJavascript(any(), any()) }
+        Truth.assertThat(slotScript.captured).isEqualTo("javascript:callback({\"result\": \"success\"})")
+    }
+
     @Test
     public fun `finishWithError - evaluates JavaScript with error`() {
         val slotScript = slot<String>()
@@ -116,7 +147,7 @@ public class OwnIdWebViewBridgeContextTest {
             every { evaluateJavascript(capture(slotScript), any()) } returns Unit
         }
         val context = OwnIdWebViewBridgeContext(
-            mockk(), webView, Job(), emptyList(), mockk(), true, "callback"
+            mockk(), webView, Job(), OwnIdOriginMatcher.EMPTY, mockk(), true, "callback"
         )
         val handler = mockk<OwnIdWebViewBridgeImpl.NamespaceHandler> {
             every { namespace } returns OwnIdWebViewBridge.Namespace.METADATA
@@ -139,7 +170,7 @@ public class OwnIdWebViewBridgeContextTest {
             every { evaluateJavascript(any(), any()) } returns Unit
         }
         val context = OwnIdWebViewBridgeContext(
-            mockk(), webView, Job(), emptyList(), mockk(), true, "callback"
+            mockk(), webView, Job(), OwnIdOriginMatcher.EMPTY, mockk(), true, "callback"
         )
         context.finishWithSuccess("""{"result": "success"}""")
         Truth.assertThat(context.isActive).isFalse()
@@ -152,7 +183,7 @@ public class OwnIdWebViewBridgeContextTest {
             every { evaluateJavascript(any(), any()) } returns Unit
         }
         val context = OwnIdWebViewBridgeContext(
-            mockk(), webView, Job(), emptyList(), mockk(), true, "callback"
+            mockk(), webView, Job(), OwnIdOriginMatcher.EMPTY, mockk(), true, "callback"
         )
         val handler = mockk<OwnIdWebViewBridgeImpl.NamespaceHandler>(){
             every { namespace } returns OwnIdWebViewBridge.Namespace.METADATA
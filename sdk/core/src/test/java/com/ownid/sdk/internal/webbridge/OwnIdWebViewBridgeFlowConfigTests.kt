@@ -6,10 +6,15 @@ import com.ownid.sdk.dsl.EliteOptions
 import com.ownid.sdk.internal.feature.webbridge.handler.OwnIdWebViewBridgeFlow
 import com.ownid.sdk.internal.feature.webflow.AccountProviderWrapper
 import com.ownid.sdk.internal.feature.webflow.AccountRegisterEvent
+import com.ownid.sdk.internal.feature.webflow.OnCloseEvent
+import com.ownid.sdk.internal.feature.webflow.OnCloseWrapper
+import com.ownid.sdk.internal.feature.webflow.OnFinishEvent
+import com.ownid.sdk.internal.feature.webflow.OnFinishWrapper
 import com.ownid.sdk.internal.feature.webflow.OwnIdFlowAction
 import com.ownid.sdk.internal.feature.webflow.OwnIdFlowEventBus
 import com.ownid.sdk.internal.feature.webflow.SessionProviderWrapper
 import io.mockk.mockk
+import org.json.JSONException
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
@@ -58,6 +63,37 @@ public class OwnIdWebViewBridgeFlowConfigTests {
         Truth.assertThat((event.payload as AccountRegisterEvent.Payload).ownIdData).isEqualTo("ownIdData")
     }
 
+    @Test
+    internal fun `getFlowEvent should decode onFinish payload`() {
+        val wrapper = mockk<OnFinishWrapper>()
+        val config = OwnIdWebViewBridgeFlow.Config.create(null, listOf(wrapper), eventBus)
+        val params = """{"loginId":"some@email.com","source":"mobile","authType":"passkey","authToken":"token"}"""
+
+        val payload = config.getFlowEvent("onFinish", params, mockk()).payload as OnFinishEvent.Payload
+
+        Truth.assertThat(payload.loginId).isEqualTo("some@email.com")
+        Truth.assertThat(payload.authToken).isEqualTo("token")
+        Truth.assertThat(payload.source).isEqualTo("mobile")
+        Truth.assertThat(payload.context).isNull()
+    }
+
+    @Test(expected = JSONException::class)
+    internal fun `getFlowEvent should require onFinish source`() {
+        val config = OwnIdWebViewBridgeFlow.Config.create(null, listOf(mockk<OnFinishWrapper>()), eventBus)
+        config.getFlowEvent("onFinish", """{"loginId":"some@email.com","authType":"passkey"}""", mockk())
+    }
+
+    @Test
+    internal fun `getFlowEvent should ignore action case`() {
+        val wrapper = mockk<OnCloseWrapper>()
+        val config = OwnIdWebViewBridgeFlow.Config.create(null, listOf(wrapper), eventBus)
+
+        val event = config.getFlowEvent("ONCLOSE", null, mockk())
+
+        Truth.assertThat(event).isInstanceOf(OnCloseEvent::class.java)
+        Truth.assertThat(event.wrapper).isEqualTo(wrapper)
+    }
+
     @Test
     internal fun `getFlowEvent should throw IllegalArgumentException for invalid action`() {
         val wrapper = mockk<AccountProviderWrapper>()
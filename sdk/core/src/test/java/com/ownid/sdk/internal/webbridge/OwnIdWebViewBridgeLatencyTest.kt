@@ -0,0 +1,78 @@
+package com.ownid.sdk.internal.webbridge
+
+import android.os.SystemClock
+import com.google.common.truth.Truth
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.feature.webbridge.OwnIdWebViewBridgeLatency
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdWebViewBridgeLatencyTest {
+
+    @Test
+    public fun `call - records handler and delivery time`() {
+        val latency = OwnIdWebViewBridgeLatency()
+        val call = latency.start("FIDO:create", System.currentTimeMillis())
+
+        SystemClock.sleep(120)
+        call.onFinished()
+        SystemClock.sleep(16)
+
+        Truth.assertThat(call.onDelivered()).isTrue()
+        Truth.assertThat(call.onDelivered()).isFalse()
+        Truth.assertThat(call.handlerMillis).isEqualTo(120)
+        Truth.assertThat(call.deliveryMillis).isEqualTo(16)
+        Truth.assertThat(call.queueMillis).isAtLeast(0)
+
+        val stats = latency.toJSONObject().getJSONObject("FIDO:create")
+        Truth.assertThat(stats.getInt("count")).isEqualTo(1)
+        Truth.assertThat(stats.getJSONObject("handler").getLong("max")).isEqualTo(120)
+        Truth.assertThat(stats.getJSONObject("delivery").getLong("avg")).isEqualTo(16)
+        Truth.assertThat(stats.has("queue")).isTrue()
+    }
+
+    @Test
+    public fun `call - not delivered before finished`() {
+        val latency = OwnIdWebViewBridgeLatency()
+        val call = latency.start("STORAGE:getLastUser", null)
+
+        Truth.assertThat(call.onDelivered()).isFalse()
+        Truth.assertThat(call.queueMillis).isNull()
+        Truth.assertThat(latency.toJSONObject().length()).isEqualTo(0)
+    }
+
+    @Test
+    public fun `stats - aggregated per command`() {
+        val latency = OwnIdWebViewBridgeLatency()
+        repeat(2) {
+            latency.start("FLOW:onClose", null).apply {
+                SystemClock.sleep(10L * (it + 1))
+                onFinished()
+                onDelivered()
+            }
+        }
+
+        val stats = latency.toJSONObject().getJSONObject("FLOW:onClose")
+        Truth.assertThat(stats.getInt("count")).isEqualTo(2)
+        Truth.assertThat(stats.getJSONObject("handler").getLong("avg")).isEqualTo(15)
+        Truth.assertThat(stats.getJSONObject("handler").getLong("max")).isEqualTo(20)
+        Truth.assertThat(stats.has("queue")).isFalse()
+    }
+
+    @Test
+    public fun `drain - returns aggregated stats once`() {
+        val latency = OwnIdWebViewBridgeLatency()
+        Truth.assertThat(latency.drain()).isNull()
+
+        repeat(3) { latency.start("FIDO:get", null).apply { onFinished(); onDelivered() } }
+
+        Truth.assertThat(latency.drain()!!.getJSONObject("FIDO:get").getInt("count")).isEqualTo(3)
+        Truth.assertThat(latency.drain()).isNull()
+        Truth.assertThat(latency.toJSONObject().length()).isEqualTo(0)
+    }
+}
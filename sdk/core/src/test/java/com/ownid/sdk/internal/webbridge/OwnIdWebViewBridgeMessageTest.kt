@@ -0,0 +1,56 @@
+package com.ownid.sdk.internal.webbridge
+
+import com.google.common.truth.Truth
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.feature.webbridge.OwnIdWebViewBridgeMessage
+import org.json.JSONException
+import org.junit.Assert
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdWebViewBridgeMessageTest {
+
+    @Test
+    public fun `decode - full message`() {
+        val data = """{"namespace":"FIDO","action":"get","callbackPath":"window.cb","params":"{\"a\":1}","metadata":"{\"context\":\"ctx\"}"}"""
+
+        val message = OwnIdWebViewBridgeMessage.decode(data)
+
+        Truth.assertThat(message.namespace).isEqualTo("FIDO")
+        Truth.assertThat(message.action).isEqualTo("get")
+        Truth.assertThat(message.command).isEqualTo("FIDO:get")
+        Truth.assertThat(message.callbackPath).isEqualTo("window.cb")
+        Truth.assertThat(message.params).isEqualTo("""{"a":1}""")
+        Truth.assertThat(message.metadata).isEqualTo("""{"context":"ctx"}""")
+    }
+
+    @Test
+    public fun `decode - blank optional values are null`() {
+        val message = OwnIdWebViewBridgeMessage.decode("""{"namespace":"FLOW","action":"onClose","callbackPath":"window.cb","params":""}""")
+
+        Truth.assertThat(message.params).isNull()
+        Truth.assertThat(message.metadata).isNull()
+        Truth.assertThat(message.callId).isNull()
+    }
+
+    @Test
+    public fun `decode - call id`() {
+        val message = OwnIdWebViewBridgeMessage.decode("""{"id":7,"namespace":"FLOW","action":"onClose","callbackPath":"window.cb"}""")
+
+        Truth.assertThat(message.callId).isEqualTo(7)
+    }
+
+    @Test
+    public fun `decode - missing callbackPath fails`() {
+        Assert.assertThrows(IllegalArgumentException::class.java) {
+            OwnIdWebViewBridgeMessage.decode("""{"namespace":"FLOW","action":"onClose"}""")
+        }
+        Assert.assertThrows(IllegalArgumentException::class.java) { OwnIdWebViewBridgeMessage.decode(null) }
+        Assert.assertThrows(JSONException::class.java) { OwnIdWebViewBridgeMessage.decode("not json") }
+    }
+}
@@ -5,6 +5,7 @@ import com.ownid.sdk.InternalOwnIdAPI
 import com.ownid.sdk.OwnIdCoreImpl
 import com.ownid.sdk.internal.feature.webbridge.OwnIdWebViewBridgeContext
 import com.ownid.sdk.internal.feature.webbridge.OwnIdWebViewBridgeImpl
+import com.ownid.sdk.internal.feature.webbridge.OwnIdWebViewBridgeLatency
 import com.ownid.sdk.internal.feature.webbridge.handler.OwnIdWebViewBridgeMetadata
 import io.mockk.every
 import io.mockk.mockk
@@ -18,6 +19,7 @@ import kotlinx.coroutines.test.advanceUntilIdle
 import kotlinx.coroutines.test.resetMain
 import kotlinx.coroutines.test.runTest
 import kotlinx.coroutines.test.setMain
+import org.json.JSONObject
 import org.junit.After
 import org.junit.Before
 import org.junit.Test
@@ -61,6 +63,25 @@ public class OwnIdWebViewBridgeMetadataTest {
         Truth.assertThat(slotResult.captured).isEqualTo("{\"correlationId\":\"testCorrelationId\"}")
     }
 
+    @Test
+    public fun `handle - GET_LATENCY action - success`(): TestResult = runTest {
+        val latency = OwnIdWebViewBridgeLatency()
+        latency.start("FIDO:get", null).apply { onFinished(); onDelivered() }
+
+        val slotResult = slot<String>()
+        val bridgeContext = mockk<OwnIdWebViewBridgeContext> {
+            every { this@mockk.latency } returns latency
+            every { coroutineContext } returns Job() + testDispatcher
+            every { finishWithSuccess(capture(slotResult)) } returns Unit
+        }
+
+        OwnIdWebViewBridgeMetadata.handle(bridgeContext, "getLatency", null)
+
+        advanceUntilIdle()
+
+        Truth.assertThat(JSONObject(slotResult.captured).getJSONObject("FIDO:get").getInt("count")).isEqualTo(1)
+    }
+
     @Test
     public fun `handle - unsupported action - throws exception`(): TestResult = runTest {
         val slotHandler = slot<OwnIdWebViewBridgeImpl.NamespaceHandler>()
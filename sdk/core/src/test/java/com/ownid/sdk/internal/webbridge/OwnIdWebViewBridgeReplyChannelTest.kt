@@ -0,0 +1,86 @@
+package com.ownid.sdk.internal.webbridge
+
+import androidx.webkit.JavaScriptReplyProxy
+import com.google.common.truth.Truth
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.feature.webbridge.OwnIdWebViewBridgeReplyChannel
+import io.mockk.every
+import io.mockk.justRun
+import io.mockk.mockk
+import io.mockk.slot
+import io.mockk.verify
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.robolectric.shadows.ShadowLooper
+import java.util.concurrent.TimeUnit
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdWebViewBridgeReplyChannelTest {
+
+    private val replyChannel = OwnIdWebViewBridgeReplyChannel()
+
+    private fun runNextFrame() = ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS)
+
+    @Test
+    public fun `post - sends responses posted before next frame in one message`() {
+        val message = slot<String>()
+        val replyProxy = mockk<JavaScriptReplyProxy> { justRun { postMessage(capture(message)) } }
+        val posted = mutableListOf<Int>()
+
+        replyChannel.post(replyProxy, 1, "\"first\"", { posted.add(1) }, { throw AssertionError("Unexpected fallback") })
+        replyChannel.post(replyProxy, 2, """{"result":"second"}""", { posted.add(2) }, { throw AssertionError("Unexpected fallback") })
+
+        verify(exactly = 0) { replyProxy.postMessage(any<String>()) }
+
+        runNextFrame()
+
+        verify(exactly = 1) { replyProxy.postMessage(any<String>()) }
+        Truth.assertThat(message.captured)
+            .isEqualTo("""[{"id":1,"result":"\"first\""},{"id":2,"result":"{\"result\":\"second\"}"}]""")
+        Truth.assertThat(posted).containsExactly(1, 2).inOrder()
+    }
+
+    @Test
+    public fun `post - sends responses of each reply proxy separately`() {
+        val firstReplyProxy = mockk<JavaScriptReplyProxy> { justRun { postMessage(any<String>()) } }
+        val secondReplyProxy = mockk<JavaScriptReplyProxy> { justRun { postMessage(any<String>()) } }
+
+        replyChannel.post(firstReplyProxy, 1, "1", {}, {})
+        replyChannel.post(secondReplyProxy, 1, "2", {}, {})
+        runNextFrame()
+
+        verify(exactly = 1) { firstReplyProxy.postMessage("""[{"id":1,"result":"1"}]""") }
+        verify(exactly = 1) { secondReplyProxy.postMessage("""[{"id":1,"result":"2"}]""") }
+    }
+
+    @Test
+    public fun `post - schedules new frame for responses posted after flush`() {
+        val replyProxy = mockk<JavaScriptReplyProxy> { justRun { postMessage(any<String>()) } }
+
+        replyChannel.post(replyProxy, 1, "1", {}, {})
+        runNextFrame()
+        replyChannel.post(replyProxy, 2, "2", {}, {})
+        runNextFrame()
+
+        verify(exactly = 1) { replyProxy.postMessage("""[{"id":1,"result":"1"}]""") }
+        verify(exactly = 1) { replyProxy.postMessage("""[{"id":2,"result":"2"}]""") }
+    }
+
+    @Test
+    public fun `post - calls fallbacks when message cannot be sent`() {
+        val replyProxy = mockk<JavaScriptReplyProxy> { every { postMessage(any<String>()) } throws IllegalStateException("Detached") }
+        val posted = mutableListOf<Int>()
+        val fallbacks = mutableListOf<Int>()
+
+        replyChannel.post(replyProxy, 1, "1", { posted.add(1) }, { fallbacks.add(1) })
+        replyChannel.post(replyProxy, 2, "2", { posted.add(2) }, { fallbacks.add(2) })
+        runNextFrame()
+
+        Truth.assertThat(posted).isEmpty()
+        Truth.assertThat(fallbacks).containsExactly(1, 2).inOrder()
+    }
+}
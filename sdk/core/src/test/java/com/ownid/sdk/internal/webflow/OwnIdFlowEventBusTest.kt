@@ -1,10 +1,17 @@
 package com.ownid.sdk.internal.webflow
 
+import android.os.Looper
 import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.internal.feature.webbridge.handler.OwnIdWebViewBridgeFlow
 import com.ownid.sdk.internal.feature.webflow.OnCloseEvent
 import com.ownid.sdk.internal.feature.webflow.OnCloseWrapper
+import com.ownid.sdk.internal.feature.webflow.OnNativeActionEvent
+import com.ownid.sdk.internal.feature.webflow.OnNativeActionWrapper
 import com.ownid.sdk.internal.feature.webflow.OwnIdFlowEventBus
+import io.mockk.mockk
+import kotlinx.coroutines.CompletableDeferred
 import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.drop
 import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.test.TestResult
 import kotlinx.coroutines.test.runTest
@@ -12,6 +19,7 @@ import org.junit.Assert
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows
 import org.robolectric.annotation.Config
 
 @OptIn(InternalOwnIdAPI::class)
@@ -35,6 +43,56 @@ public class OwnIdFlowEventBusTest {
         Assert.assertEquals(event, receivedEvent)
     }
 
+    private fun nativeActionEvent() = OnNativeActionEvent(OnNativeActionWrapper { _, _ -> }, OnNativeActionEvent.Payload("name"), {})
+
+    @Test
+    public fun `send should reject non-terminal events over capacity`(): TestResult = runTest {
+        val eventBus = OwnIdFlowEventBus.create(Job())
+        repeat(OwnIdFlowEventBus.EVENTS_CAPACITY) {
+            Assert.assertTrue(eventBus.send(nativeActionEvent()))
+        }
+        Assert.assertFalse(eventBus.send(nativeActionEvent()))
+
+        // Consumed event frees capacity
+        eventBus.consumeAsHotFlow().first()
+        Assert.assertTrue(eventBus.send(nativeActionEvent()))
+
+        eventBus.close()
+        Assert.assertFalse(eventBus.send(nativeActionEvent()))
+    }
+
+    @Test
+    public fun `send should accept terminal events when bus is full`(): TestResult = runTest {
+        val eventBus = OwnIdFlowEventBus.create(Job())
+        repeat(OwnIdFlowEventBus.EVENTS_CAPACITY) { eventBus.send(nativeActionEvent()) }
+        Assert.assertFalse(eventBus.send(nativeActionEvent()))
+
+        val closeEvent = OnCloseEvent(wrapper = OnCloseWrapper({}))
+        Assert.assertTrue(eventBus.send(closeEvent))
+        Assert.assertEquals(closeEvent, eventBus.consumeAsHotFlow().drop(OwnIdFlowEventBus.EVENTS_CAPACITY).first())
+        eventBus.close()
+    }
+
+    @Test
+    public fun `sendCloseEvent should be delivered when bus is full`() {
+        val closed = CompletableDeferred<Unit>()
+        val busIds = OwnIdFlowEventBus.eventBusMap.keys.toSet()
+        val flow = OwnIdWebViewBridgeFlow.setWrappers(
+            mockk(relaxed = true), null, listOf(OnNativeActionWrapper { _, _ -> }, OnCloseWrapper { closed.complete(Unit) })
+        )
+        val eventBus = OwnIdFlowEventBus.eventBusMap.filterKeys { it !in busIds }.values.single()
+
+        // Events are consumed on main thread, so bus stays full until main looper is idle
+        repeat(OwnIdFlowEventBus.EVENTS_CAPACITY) { eventBus.send(nativeActionEvent()) }
+        Assert.assertFalse(eventBus.send(nativeActionEvent()))
+
+        OwnIdWebViewBridgeFlow.sendCloseEvent()
+        Shadows.shadowOf(Looper.getMainLooper()).idle()
+
+        Assert.assertTrue(closed.isCompleted)
+        flow.close()
+    }
+
     @Test
     public fun `close should cancel the scope and remove the EventBus from the map`(): TestResult = runTest {
         val job = Job()
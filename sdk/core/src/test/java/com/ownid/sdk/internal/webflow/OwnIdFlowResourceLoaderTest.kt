@@ -0,0 +1,107 @@
+package com.ownid.sdk.internal.webflow
+
+import android.net.Uri
+import android.webkit.WebResourceRequest
+import com.google.common.truth.Truth
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.TestDataCore
+import com.ownid.sdk.internal.feature.webflow.OwnIdFlowResourceLoader
+import io.mockk.every
+import io.mockk.mockk
+import okhttp3.ConnectionSpec
+import okhttp3.OkHttpClient
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import java.net.HttpURLConnection
+import java.util.concurrent.TimeUnit
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdFlowResourceLoaderTest {
+
+    private val okHttpClient = OkHttpClient.Builder()
+        .followRedirects(false)
+        .connectionSpecs(listOf(ConnectionSpec.CLEARTEXT))
+        .callTimeout(30, TimeUnit.SECONDS)
+        .build()
+
+    private lateinit var mockWebServer: MockWebServer
+    private lateinit var loader: OwnIdFlowResourceLoader
+
+    @Before
+    public fun setUp() {
+        mockWebServer = MockWebServer()
+        mockWebServer.start()
+
+        val configuration = com.ownid.sdk.Configuration(
+            TestDataCore.validAppId,
+            TestDataCore.validEnv,
+            TestDataCore.validRegion,
+            TestDataCore.validRedirectUrl,
+            TestDataCore.validVersion,
+            TestDataCore.validUserAgent,
+            TestDataCore.validPackageName,
+            TestDataCore.validHashSet,
+            mockWebServer.url("/")
+        )
+        RuntimeEnvironment.getApplication().cacheDir.resolve("ownid_web_sdk_v1").deleteRecursively()
+        loader = OwnIdFlowResourceLoader(RuntimeEnvironment.getApplication(), configuration, okHttpClient)
+    }
+
+    @After
+    public fun tearDown() {
+        loader.close()
+        mockWebServer.shutdown()
+    }
+
+    private fun request(url: String, method: String = "GET"): WebResourceRequest = mockk {
+        every { this@mockk.url } returns Uri.parse(url)
+        every { this@mockk.method } returns method
+        every { requestHeaders } returns emptyMap()
+    }
+
+    @Test
+    public fun `web sdk is loaded from cache on repeat`() {
+        mockWebServer.enqueue(
+            MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setHeader("Content-Type", "text/javascript; charset=utf-8")
+                .setHeader("Cache-Control", "max-age=600")
+                .setBody("window.ownid = {};")
+        )
+        val url = mockWebServer.url("/sdk/${TestDataCore.validAppId}").toString()
+
+        val first = loader.load(request(url))!!
+        Truth.assertThat(first.mimeType).isEqualTo("text/javascript")
+        Truth.assertThat(first.encoding).isEqualTo("UTF-8")
+        Truth.assertThat(first.data.readBytes().decodeToString()).isEqualTo("window.ownid = {};")
+
+        val second = loader.load(request(url))!!
+        Truth.assertThat(second.data.readBytes().decodeToString()).isEqualTo("window.ownid = {};")
+        Truth.assertThat(mockWebServer.requestCount).isEqualTo(1)
+        Truth.assertThat(mockWebServer.takeRequest().getHeader("User-Agent")).isEqualTo(TestDataCore.validUserAgent)
+    }
+
+    @Test
+    public fun `other requests are not loaded`() {
+        Truth.assertThat(loader.load(request(mockWebServer.url("/api/status").toString()))).isNull()
+        Truth.assertThat(loader.load(request(mockWebServer.url("/sdk").toString()))).isNull()
+        Truth.assertThat(loader.load(request(mockWebServer.url("/sdk/${TestDataCore.validAppId}").toString(), "POST"))).isNull()
+        Truth.assertThat(loader.load(request("https://other.com/sdk/${TestDataCore.validAppId}"))).isNull()
+        Truth.assertThat(mockWebServer.requestCount).isEqualTo(0)
+    }
+
+    @Test
+    public fun `failed response is left to WebView`() {
+        mockWebServer.enqueue(MockResponse().setResponseCode(HttpURLConnection.HTTP_NOT_FOUND))
+
+        Truth.assertThat(loader.load(request(mockWebServer.url("/sdk/${TestDataCore.validAppId}").toString()))).isNull()
+    }
+}
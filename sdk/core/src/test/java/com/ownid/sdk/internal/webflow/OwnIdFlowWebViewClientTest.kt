@@ -39,7 +39,7 @@ public class OwnIdFlowWebViewClientTest {
     @Before
     public fun setUp() {
         webView = WebView(RuntimeEnvironment.getApplication())
-        webViewClient = OwnIdFlowWebViewClient(webView, onError)
+        webViewClient = OwnIdFlowWebViewClient(webView, false, null, onError)
     }
 
     @Test
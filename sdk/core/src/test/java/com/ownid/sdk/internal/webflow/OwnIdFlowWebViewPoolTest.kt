@@ -0,0 +1,85 @@
+package com.ownid.sdk.internal.webflow
+
+import android.content.ComponentCallbacks2
+import com.google.common.truth.Truth
+import com.ownid.sdk.InternalOwnIdAPI
+import com.ownid.sdk.OwnIdCoreImpl
+import com.ownid.sdk.TestDataCore
+import com.ownid.sdk.internal.feature.OwnIdHiddenActivity
+import com.ownid.sdk.internal.feature.webflow.OwnIdFlowWebViewPool
+import io.mockk.every
+import io.mockk.mockk
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+
+@OptIn(InternalOwnIdAPI::class)
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [33])
+public class OwnIdFlowWebViewPoolTest {
+
+    private val ownIdCoreMockk = mockk<OwnIdCoreImpl>()
+    private val configuration = com.ownid.sdk.Configuration(
+        TestDataCore.validAppId,
+        TestDataCore.validEnv,
+        TestDataCore.validRegion,
+        TestDataCore.validRedirectUrl,
+        TestDataCore.validVersion,
+        TestDataCore.validUserAgent,
+        TestDataCore.validPackageName,
+        TestDataCore.validHashSet,
+        prewarmWebView = true
+    )
+
+    private lateinit var pool: OwnIdFlowWebViewPool
+
+    @Before
+    public fun setUp() {
+        every { ownIdCoreMockk.configuration } returns configuration
+        every { ownIdCoreMockk.applicationContext } returns RuntimeEnvironment.getApplication()
+        pool = OwnIdFlowWebViewPool(ownIdCoreMockk)
+    }
+
+    @After
+    public fun tearDown() {
+        pool.close()
+    }
+
+    @Test
+    public fun `no WebView without server configuration`() {
+        pool.prewarm()
+
+        Truth.assertThat(pool.acquire(RuntimeEnvironment.getApplication())).isNull()
+    }
+
+    @Test
+    public fun `pre-warmed WebView is acquired once`() {
+        configuration.setServerConfiguration(TestDataCore.validServerConfig)
+        val activity = Robolectric.buildActivity(OwnIdHiddenActivity::class.java).create().get()
+
+        pool.prewarm()
+
+        val webView = pool.acquire(activity)
+        Truth.assertThat(webView).isNotNull()
+        Truth.assertThat(webView!!.settings.userAgentString).isEqualTo(TestDataCore.validUserAgent)
+        Truth.assertThat(pool.acquire(activity)).isNull()
+    }
+
+    @Test
+    public fun `pre-warmed WebView is evicted on memory pressure`() {
+        configuration.setServerConfiguration(TestDataCore.validServerConfig)
+
+        pool.prewarm()
+        pool.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN)
+        Truth.assertThat(pool.acquire(RuntimeEnvironment.getApplication())).isNotNull()
+
+        pool.prewarm()
+        pool.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND)
+        Truth.assertThat(pool.acquire(RuntimeEnvironment.getApplication())).isNull()
+    }
+}
@@ -17,7 +17,7 @@ android {
         minSdk = rootProject.extra["minSdkVersion"] as Int
         targetSdk = rootProject.extra["targetSdkVersion"] as Int
 
-        gradle.projectsEvaluated { project.tasks.preBuild.dependsOn("setVersionProperties") }
+        gradle.projectsEvaluated { project.tasks.preBuild.dependsOn("generateModuleInfo") }
     }
 
     compileOptions {
@@ -55,12 +55,27 @@ dependencies {
     testImplementation("io.mockk:mockk:1.13.10")
 }
 
-private val propertiesFileName = "src/main/assets/com/ownid/sdk/gigya.properties"
-tasks.clean { doFirst { File(projectDir, propertiesFileName).apply { if (exists() && isFile) delete() } } }
-tasks.register<WriteProperties>("setVersionProperties") {
-    destinationFile = File(propertiesFileName)
-    property("name", "OwnIDGigya")
-    property("version", rootProject.extra["gigyaVersion"] as String)
+private val moduleInfoDir = layout.buildDirectory.dir("generated/source/moduleInfo/main")
+android.sourceSets.getByName("main").java.srcDir(moduleInfoDir)
+tasks.register("generateModuleInfo") {
+    val moduleName = "OwnIDGigya"
+    val moduleVersion = rootProject.extra["gigyaVersion"] as String
+    inputs.property("name", moduleName)
+    inputs.property("version", moduleVersion)
+    outputs.dir(moduleInfoDir)
+    doLast {
+        moduleInfoDir.get().file("com/ownid/sdk/internal/module/OwnIdGigyaModule.kt").asFile.apply { parentFile.mkdirs() }.writeText(
+            """
+            |// Generated by generateModuleInfo task. Do not edit.
+            |package com.ownid.sdk.internal.module
+            |
+            |internal object OwnIdGigyaModule {
+            |    internal const val NAME: String = "$moduleName"
+            |    internal const val VERSION: String = "$moduleVersion"
+            |}
+            |""".trimMargin()
+        )
+    }
 }
 
 mavenPublishing {